@@ -0,0 +1,197 @@
+package com.flipfit.benchmark;
+
+import com.flipfit.bean.Slot;
+import com.flipfit.dao.SlotDAOImpl;
+import com.flipfit.utils.DBConnection;
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.apache.tomcat.jdbc.pool.PoolProperties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Embedded H2 database (MySQL mode) for the benchmarks.
+ *
+ * Each benchmark trial opens a fresh in-memory database, loads
+ * benchmark-schema.sql and hands the pool to DBConnection, so the JDBC
+ * DAOs and the transactional service paths run unchanged against it.
+ */
+public final class BenchmarkDatabase {
+
+    // Cities the fixtures spread gym centers over
+    static final String[] CITIES = {
+            "Bangalore", "Mumbai", "Delhi", "Chennai", "Hyderabad",
+            "Pune", "Kolkata", "Ahmedabad", "Jaipur", "Lucknow"
+    };
+
+    // Fixture slots run hourly from 05:00, the last one ending at 22:00
+    static final int FIRST_HOUR = 5;
+    static final int SLOTS_PER_DAY = 17;
+
+    private static final int INSERT_BATCH_SIZE = 1_000;
+
+    private static int databases;
+    private static int centers;
+
+    private final DataSource dataSource;
+
+    private BenchmarkDatabase(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Opens a new empty database with the benchmark schema and makes it
+     * the one DBConnection hands out.
+     */
+    static synchronized BenchmarkDatabase open() throws SQLException, IOException {
+        PoolProperties config = new PoolProperties();
+        config.setDriverClassName("org.h2.Driver");
+        config.setUrl("jdbc:h2:mem:flipfit" + (databases++)
+                + ";MODE=MySQL;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setInitialSize(4);
+        config.setMaxActive(64);
+        config.setMaxIdle(64);
+        config.setJmxEnabled(false);
+        config.setName("flipfit-benchmark");
+
+        BenchmarkDatabase db = new BenchmarkDatabase(new DataSource(config));
+        db.runScript("/benchmark-schema.sql");
+        DBConnection.useDataSource(db.dataSource);
+        return db;
+    }
+
+    void close() {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        } catch (SQLException e) {
+            // the database is gone either way
+        }
+        dataSource.close(true);
+    }
+
+    void execute(String sql) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    /**
+     * Inserts gym centers GYM0..GYM(count-1), spread round-robin over
+     * CITIES; every fourth one is still pending approval.
+     */
+    void insertCenters(int count) throws SQLException {
+        String query = "INSERT INTO gym_center (centerID, name, address, cityID, ownerID, totalCapacity, isActive) " +
+                       "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        try (Connection conn = dataSource.getConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+            for (int i = 0; i < count; i++) {
+                pstmt.setString(1, centerId(i));
+                pstmt.setString(2, "Gym " + i);
+                pstmt.setString(3, i + " Main Road");
+                pstmt.setString(4, CITIES[i % CITIES.length]);
+                pstmt.setString(5, "OWN" + (i % 100));
+                pstmt.setInt(6, 100);
+                pstmt.setString(7, i % 4 == 3 ? "false" : "true");
+                pstmt.addBatch();
+                if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                    pstmt.executeBatch();
+                }
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    /**
+     * Inserts one-hour slots for a center from the given date on (see
+     * hourlySlots) and returns them.
+     */
+    List<Slot> insertSlots(String centerId, LocalDate date, int count, int capacity) {
+        List<Slot> slots = hourlySlots(centerId, date, count, capacity);
+        if (!new SlotDAOImpl().addSlots(slots)) {
+            throw new IllegalStateException("Could not insert benchmark slots");
+        }
+        return slots;
+    }
+
+    /**
+     * Inserts confirmed bookings for one user, one per slot.
+     */
+    List<String> insertBookings(String userId, List<Slot> slots) throws SQLException {
+        String query = "INSERT INTO booking (bookingID, userID, slotID, bookingDate, status) VALUES (?, ?, ?, ?, 'CONFIRMED')";
+        List<String> ids = new ArrayList<>(slots.size());
+        try (Connection conn = dataSource.getConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            for (Slot slot : slots) {
+                String id = "BKG-" + userId + "-" + slot.getSlotId();
+                pstmt.setString(1, id);
+                pstmt.setString(2, userId);
+                pstmt.setString(3, slot.getSlotId());
+                pstmt.setTimestamp(4, now);
+                pstmt.addBatch();
+                ids.add(id);
+            }
+            pstmt.executeBatch();
+        }
+        return ids;
+    }
+
+    static String centerId(int i) {
+        return "GYM" + i;
+    }
+
+    /**
+     * A center ID no earlier trial in this JVM used, so slot IDs derived
+     * from it are not already tracked by the process-wide SlotCapacityLedger.
+     */
+    static synchronized String newCenterId() {
+        return "BENCH" + (centers++);
+    }
+
+    /**
+     * One-hour slots for a center, not saved anywhere: 05:00 to 22:00 on
+     * the given date, then the same hours on the following days.
+     */
+    static List<Slot> hourlySlots(String centerId, LocalDate date, int count, int capacity) {
+        List<Slot> slots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Slot slot = new Slot();
+            slot.setSlotId(centerId + "-SLT" + i);
+            slot.setCenterId(centerId);
+            slot.setSlotDate(date.plusDays(i / SLOTS_PER_DAY));
+            slot.setStartTime(LocalTime.of(FIRST_HOUR + i % SLOTS_PER_DAY, 0));
+            slot.setEndTime(slot.getStartTime().plusHours(1));
+            slot.setMaxCapacity(capacity);
+            slot.setCurrentBookings(0);
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    private void runScript(String resource) throws SQLException, IOException {
+        String script;
+        try (InputStream in = BenchmarkDatabase.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Missing " + resource + " on the classpath");
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            for (String statement : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!statement.isBlank()) {
+                    stmt.execute(statement);
+                }
+            }
+        }
+    }
+}
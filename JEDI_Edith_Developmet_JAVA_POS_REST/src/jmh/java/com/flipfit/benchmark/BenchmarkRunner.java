@@ -0,0 +1,33 @@
+package com.flipfit.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks and writes the results as JSON, for comparing a
+ * change against an earlier run.
+ *
+ * -Djmh.include picks benchmarks by regular expression (default: all) and
+ * -Djmh.result sets the JSON file (default: target/jmh-result.json). Any
+ * arguments are passed to JMH as on its own command line, e.g. -p slots=500.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(System.getProperty("jmh.include", ".*"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("jmh.result", "target/jmh-result.json"))
+                .build();
+        new Runner(options).run();
+    }
+}
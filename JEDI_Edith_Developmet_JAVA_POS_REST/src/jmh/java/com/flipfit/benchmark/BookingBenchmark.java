@@ -0,0 +1,99 @@
+package com.flipfit.benchmark;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.Slot;
+import com.flipfit.business.BookingServiceImpl;
+import com.flipfit.dao.BookingDAO;
+import com.flipfit.dao.BookingDAOImpl;
+import com.flipfit.dao.SlotDAO;
+import com.flipfit.dao.SlotDAOImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookingServiceImpl.createBooking and cancelBooking, each a guarded seat
+ * UPDATE plus a booking write in one transaction.
+ *
+ * backend=h2 runs the JDBC DAOs against the embedded database; memory swaps
+ * in map-backed DAOs (the transaction still opens and commits an H2
+ * connection), which isolates the service's own cost from the SQL.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingBenchmark {
+
+    // Enough seats that no slot fills up during a run
+    static final int SEATS = 10_000_000;
+    private static final int SLOTS = 100;
+    private static final int CUSTOMERS = 1_000;
+
+    @Param({"h2", "memory"})
+    public String backend;
+
+    BenchmarkDatabase db;
+    BookingServiceImpl service;
+    String[] slotIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.open();
+        SlotDAO slotDAO;
+        BookingDAO bookingDAO;
+        if ("memory".equals(backend)) {
+            InMemorySlotDAO slots = new InMemorySlotDAO();
+            slotDAO = slots;
+            bookingDAO = new InMemoryBookingDAO(slots);
+        } else {
+            slotDAO = new SlotDAOImpl();
+            bookingDAO = new BookingDAOImpl();
+        }
+
+        List<Slot> slots = BenchmarkDatabase.hourlySlots(BenchmarkDatabase.newCenterId(),
+                LocalDate.now().plusDays(1), SLOTS, SEATS);
+        slotDAO.addSlots(slots);
+        slotIds = new String[slots.size()];
+        for (int i = 0; i < slotIds.length; i++) {
+            slotIds[i] = slots.get(i).getSlotId();
+        }
+        service = new BookingServiceImpl(bookingDAO, slotDAO, (customerId, message) -> true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public Booking createBooking() {
+        int i = next++;
+        return service.createBooking("CUS" + (i % CUSTOMERS), slotIds[i % slotIds.length]);
+    }
+
+    @Benchmark
+    public boolean cancelBooking(CancellableBooking booking) {
+        return service.cancelBooking(booking.bookingId);
+    }
+
+    /**
+     * A fresh confirmed booking for every cancelBooking call. Booking it
+     * takes about as long as cancelling, so per-invocation setup adds
+     * little timing noise here.
+     */
+    @State(Scope.Thread)
+    public static class CancellableBooking {
+        String bookingId;
+
+        @Setup(Level.Invocation)
+        public void book(BookingBenchmark benchmark) {
+            bookingId = benchmark.createBooking().getBookingId();
+        }
+    }
+}
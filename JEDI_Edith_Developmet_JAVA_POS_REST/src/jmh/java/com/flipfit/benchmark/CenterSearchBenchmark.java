@@ -0,0 +1,63 @@
+package com.flipfit.benchmark;
+
+import com.flipfit.bean.GymCenter;
+import com.flipfit.business.GymServiceImpl;
+import com.flipfit.dao.GymCenterCache;
+import com.flipfit.dao.GymCenterDAO;
+import com.flipfit.dao.GymCenterDAOImpl;
+import com.flipfit.dao.GymOwnerDAOImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GymServiceImpl.searchCenters (active centers of one city) over 10k and
+ * 100k centers: the JDBC DAO with the (cityID, isActive) index, the same
+ * query with the gym_center indexes dropped, and GymCenterCache's
+ * in-memory city index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CenterSearchBenchmark {
+
+    @Param({"10000", "100000"})
+    public int centers;
+
+    @Param({"h2", "h2-unindexed", "cache"})
+    public String backend;
+
+    private BenchmarkDatabase db;
+    private GymServiceImpl service;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.open();
+        db.insertCenters(centers);
+        if ("h2-unindexed".equals(backend)) {
+            db.execute("DROP INDEX city_active");
+            db.execute("DROP INDEX gym_center_active");
+        }
+
+        GymCenterDAO centerDAO = new GymCenterDAOImpl();
+        if ("cache".equals(backend)) {
+            centerDAO = new GymCenterCache(centerDAO, TimeUnit.HOURS.toMillis(1), centers);
+        }
+        service = new GymServiceImpl(new GymOwnerDAOImpl(), centerDAO, new InMemorySlotDAO());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public List<GymCenter> searchCenters() {
+        return service.searchCenters(BenchmarkDatabase.CITIES[next++ % BenchmarkDatabase.CITIES.length], null);
+    }
+}
@@ -0,0 +1,60 @@
+package com.flipfit.benchmark;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.Slot;
+import com.flipfit.business.BookingServiceImpl;
+import com.flipfit.dao.BookingDAOImpl;
+import com.flipfit.dao.SlotDAOImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eight threads booking the same few slots on H2 at once, so every
+ * booking contends for the seat rows' locks. hotSlots=1 is a single
+ * popular class; 16 spreads the load the way a busy evening does.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ConcurrentBookingBenchmark {
+
+    @Param({"1", "16"})
+    public int hotSlots;
+
+    private BenchmarkDatabase db;
+    private BookingServiceImpl service;
+    private String[] slotIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.open();
+        SlotDAOImpl slotDAO = new SlotDAOImpl();
+        List<Slot> slots = BenchmarkDatabase.hourlySlots(BenchmarkDatabase.newCenterId(),
+                LocalDate.now().plusDays(1), hotSlots, BookingBenchmark.SEATS);
+        slotDAO.addSlots(slots);
+        slotIds = new String[slots.size()];
+        for (int i = 0; i < slotIds.length; i++) {
+            slotIds[i] = slots.get(i).getSlotId();
+        }
+        service = new BookingServiceImpl(new BookingDAOImpl(), slotDAO, (customerId, message) -> true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public Booking contendedBooking() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return service.createBooking("CUS" + random.nextInt(10_000), slotIds[random.nextInt(slotIds.length)]);
+    }
+}
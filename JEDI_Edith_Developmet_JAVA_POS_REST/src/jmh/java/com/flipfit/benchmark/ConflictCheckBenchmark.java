@@ -0,0 +1,91 @@
+package com.flipfit.benchmark;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.Slot;
+import com.flipfit.business.BookingServiceImpl;
+import com.flipfit.dao.BookingDAO;
+import com.flipfit.dao.BookingDAOImpl;
+import com.flipfit.dao.SlotDAO;
+import com.flipfit.dao.SlotDAOImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BookingServiceImpl.getConflictingBookings for a customer with a booking
+ * history of the given size. On H2 this is the single booking/slot join;
+ * the in-memory stand-in looks up the slot of every booking instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConflictCheckBenchmark {
+
+    private static final String CUSTOMER = "CUS-HISTORY";
+
+    @Param({"h2", "memory"})
+    public String backend;
+
+    @Param({"10", "100", "1000"})
+    public int bookings;
+
+    private BenchmarkDatabase db;
+    private BookingServiceImpl service;
+    private String overlapping; // clashes with one booking
+    private String free;        // clashes with none
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.open();
+        SlotDAO slotDAO;
+        BookingDAO bookingDAO;
+        if ("memory".equals(backend)) {
+            InMemorySlotDAO slots = new InMemorySlotDAO();
+            slotDAO = slots;
+            bookingDAO = new InMemoryBookingDAO(slots);
+        } else {
+            slotDAO = new SlotDAOImpl();
+            bookingDAO = new BookingDAOImpl();
+        }
+
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        List<Slot> booked = BenchmarkDatabase.hourlySlots(BenchmarkDatabase.newCenterId(), firstDay,
+                bookings, BookingBenchmark.SEATS);
+        List<Slot> other = BenchmarkDatabase.hourlySlots(BenchmarkDatabase.newCenterId(), firstDay,
+                1, BookingBenchmark.SEATS);
+        Slot late = BenchmarkDatabase.hourlySlots(BenchmarkDatabase.newCenterId(), firstDay.minusDays(1),
+                1, BookingBenchmark.SEATS).get(0);
+        slotDAO.addSlots(booked);
+        slotDAO.addSlots(other);
+        slotDAO.addSlots(List.of(late));
+
+        service = new BookingServiceImpl(bookingDAO, slotDAO, (customerId, message) -> true);
+        for (Slot slot : booked) {
+            service.createBooking(CUSTOMER, slot.getSlotId());
+        }
+        // same day and hour as the first booked slot, at another center
+        overlapping = other.get(0).getSlotId();
+        // the day before any booking
+        free = late.getSlotId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public List<Booking> conflictFound() {
+        return service.getConflictingBookings(CUSTOMER, overlapping);
+    }
+
+    @Benchmark
+    public List<Booking> noConflict() {
+        return service.getConflictingBookings(CUSTOMER, free);
+    }
+}
@@ -0,0 +1,232 @@
+package com.flipfit.benchmark;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.BookingStatus;
+import com.flipfit.bean.Slot;
+import com.flipfit.dao.BookingDAO;
+import com.flipfit.dao.SlotDAO;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * BookingDAO stand-in backed by maps, for measuring BookingServiceImpl
+ * without JDBC. Bookings are indexed by user, like the (userID, status,
+ * slotID) index; conflicting bookings are found by looking up each of the
+ * user's slots in the given SlotDAO.
+ */
+class InMemoryBookingDAO implements BookingDAO {
+
+    private final SlotDAO slotDAO;
+    private final Map<String, Booking> bookings = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> idsByUser = new ConcurrentHashMap<>();
+
+    InMemoryBookingDAO(SlotDAO slotDAO) {
+        this.slotDAO = slotDAO;
+    }
+
+    @Override
+    public boolean createBooking(Booking booking) {
+        if (bookings.putIfAbsent(booking.getBookingId(), copy(booking)) != null) {
+            return false;
+        }
+        List<String> ids = idsByUser.computeIfAbsent(booking.getUserId(), k -> new ArrayList<>());
+        synchronized (ids) {
+            ids.add(booking.getBookingId());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean createBooking(Connection conn, Booking booking) {
+        return createBooking(booking);
+    }
+
+    @Override
+    public Booking getBookingById(String bookingId) {
+        Booking booking = bookings.get(bookingId);
+        return booking == null ? null : copy(booking);
+    }
+
+    @Override
+    public List<Booking> getBookingsByUserId(String userId) {
+        List<String> ids = idsByUser.get(userId);
+        List<Booking> result = new ArrayList<>();
+        if (ids != null) {
+            synchronized (ids) {
+                for (String id : ids) {
+                    result.add(copy(bookings.get(id)));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Booking> getConflictingBookings(String userId, String slotId) {
+        Slot target = slotDAO.getSlotById(slotId);
+        List<Booking> result = new ArrayList<>();
+        if (target == null) {
+            return result;
+        }
+        for (Booking booking : getBookingsByUserId(userId)) {
+            if (BookingStatus.CANCELLED.equals(booking.getStatus())) {
+                continue;
+            }
+            Slot slot = slotDAO.getSlotById(booking.getSlotId());
+            if (slot != null && target.getSlotDate().equals(slot.getSlotDate())
+                    && slot.getStartTime().isBefore(target.getEndTime())
+                    && target.getStartTime().isBefore(slot.getEndTime())) {
+                result.add(booking);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Booking> getBookingsBySlotId(String slotId) {
+        List<Booking> result = new ArrayList<>();
+        for (Booking booking : bookings.values()) {
+            if (booking.getSlotId().equals(slotId)) {
+                result.add(copy(booking));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Booking> getBookingsByStatus(BookingStatus status) {
+        List<Booking> result = new ArrayList<>();
+        for (Booking booking : bookings.values()) {
+            if (status.equals(booking.getStatus())) {
+                result.add(copy(booking));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Booking> getAllBookings() {
+        List<Booking> result = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings.values()) {
+            result.add(copy(booking));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Booking> getBookingsPage(BookingStatus status, String afterBookingId, int limit) {
+        List<Booking> all = status == null ? getAllBookings() : getBookingsByStatus(status);
+        all.sort(Comparator.comparing(Booking::getBookingId));
+        List<Booking> page = new ArrayList<>(limit);
+        for (Booking booking : all) {
+            if (page.size() == limit) {
+                break;
+            }
+            if (afterBookingId == null || booking.getBookingId().compareTo(afterBookingId) > 0) {
+                page.add(booking);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public void forEachBooking(BookingStatus status, Consumer<Booking> action) {
+        (status == null ? getAllBookings() : getBookingsByStatus(status)).forEach(action);
+    }
+
+    @Override
+    public boolean updateBooking(Booking booking) {
+        return bookings.replace(booking.getBookingId(), copy(booking)) != null;
+    }
+
+    @Override
+    public boolean updateBookingStatus(String bookingId, BookingStatus status) {
+        Booking booking = bookings.get(bookingId);
+        if (booking == null) {
+            return false;
+        }
+        booking.setStatus(status);
+        return true;
+    }
+
+    @Override
+    public boolean updateBookingStatus(Connection conn, String bookingId, BookingStatus status) {
+        return updateBookingStatus(bookingId, status);
+    }
+
+    @Override
+    public boolean cancelBooking(String bookingId) {
+        return updateBookingStatus(bookingId, BookingStatus.CANCELLED);
+    }
+
+    @Override
+    public boolean cancelBooking(Connection conn, String bookingId) {
+        Booking booking = bookings.get(bookingId);
+        if (booking == null) {
+            return false;
+        }
+        synchronized (booking) {
+            if (BookingStatus.CANCELLED.equals(booking.getStatus())) {
+                return false;
+            }
+            booking.setStatus(BookingStatus.CANCELLED);
+            return true;
+        }
+    }
+
+    @Override
+    public List<Booking> getBookingsByIds(Connection conn, List<String> bookingIds) {
+        List<Booking> result = new ArrayList<>(bookingIds.size());
+        for (String id : bookingIds) {
+            Booking booking = bookings.get(id);
+            if (booking != null) {
+                result.add(copy(booking));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int cancelBookings(Connection conn, List<String> bookingIds) {
+        int cancelled = 0;
+        for (String id : bookingIds) {
+            Booking booking = bookings.get(id);
+            if (booking != null && !BookingStatus.CANCELLED.equals(booking.getStatus())) {
+                booking.setStatus(BookingStatus.CANCELLED);
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    @Override
+    public boolean deleteBooking(String bookingId) {
+        Booking removed = bookings.remove(bookingId);
+        if (removed == null) {
+            return false;
+        }
+        List<String> ids = idsByUser.get(removed.getUserId());
+        if (ids != null) {
+            synchronized (ids) {
+                ids.remove(bookingId);
+            }
+        }
+        return true;
+    }
+
+    private static Booking copy(Booking booking) {
+        Booking b = new Booking();
+        b.setBookingId(booking.getBookingId());
+        b.setUserId(booking.getUserId());
+        b.setSlotId(booking.getSlotId());
+        b.setBookingDate(booking.getBookingDate());
+        b.setStatus(booking.getStatus());
+        return b;
+    }
+}
@@ -0,0 +1,218 @@
+package com.flipfit.benchmark;
+
+import com.flipfit.bean.Slot;
+import com.flipfit.dao.SlotDAO;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * SlotDAO stand-in backed by a map, for measuring the service and cache
+ * layers without JDBC. Reads return copies, as a database would; seat
+ * changes ignore the connection and apply at once.
+ */
+class InMemorySlotDAO implements SlotDAO {
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean addSlot(Slot slot) {
+        return slots.putIfAbsent(slot.getSlotId(), copy(slot)) == null;
+    }
+
+    @Override
+    public boolean addSlots(List<Slot> toAdd) {
+        for (Slot slot : toAdd) {
+            slots.put(slot.getSlotId(), copy(slot));
+        }
+        return true;
+    }
+
+    @Override
+    public Slot getSlotById(String slotId) {
+        Slot slot = slots.get(slotId);
+        return slot == null ? null : copy(slot);
+    }
+
+    @Override
+    public List<Slot> getSlotsByCenterId(String centerId) {
+        List<Slot> result = new ArrayList<>();
+        for (Slot slot : slots.values()) {
+            if (slot.getCenterId().equals(centerId)) {
+                result.add(copy(slot));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int countSlotsByCenterId(String centerId) {
+        return getSlotsByCenterId(centerId).size();
+    }
+
+    @Override
+    public int countAvailableSlotsByCenterId(String centerId) {
+        int count = 0;
+        for (Slot slot : getSlotsByCenterId(centerId)) {
+            if (slot.getCurrentBookings() < slot.getMaxCapacity()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public List<Slot> getAvailableSlotsByDate(String centerId, LocalDate date) {
+        List<Slot> result = new ArrayList<>();
+        for (Slot slot : getSlotsByCenterId(centerId)) {
+            if (date.equals(slot.getSlotDate()) && slot.getCurrentBookings() < slot.getMaxCapacity()) {
+                result.add(slot);
+            }
+        }
+        result.sort(Comparator.comparing(Slot::getStartTime));
+        return result;
+    }
+
+    @Override
+    public boolean hasOverlappingSlot(String centerId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        LocalDate day = date == null ? LocalDate.now() : date;
+        for (Slot slot : slots.values()) {
+            if (slot.getCenterId().equals(centerId) && day.equals(slot.getSlotDate())
+                    && slot.getStartTime().isBefore(endTime) && slot.getEndTime().isAfter(startTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<Slot> getAllSlots() {
+        List<Slot> result = new ArrayList<>(slots.size());
+        for (Slot slot : slots.values()) {
+            result.add(copy(slot));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Slot> getSlotsPage(String afterSlotId, int limit) {
+        List<Slot> all = getAllSlots();
+        all.sort(Comparator.comparing(Slot::getSlotId));
+        List<Slot> page = new ArrayList<>(limit);
+        for (Slot slot : all) {
+            if (page.size() == limit) {
+                break;
+            }
+            if (afterSlotId == null || slot.getSlotId().compareTo(afterSlotId) > 0) {
+                page.add(slot);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public void forEachSlot(Consumer<Slot> action) {
+        getAllSlots().forEach(action);
+    }
+
+    @Override
+    public boolean updateSlot(Slot slot) {
+        return slots.replace(slot.getSlotId(), copy(slot)) != null;
+    }
+
+    @Override
+    public boolean updateSlotBookingCount(String slotId, int newBookingCount) {
+        Slot slot = slots.get(slotId);
+        if (slot == null) {
+            return false;
+        }
+        synchronized (slot) {
+            slot.setCurrentBookings(newBookingCount);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean updateSlotBookingCount(Connection conn, String slotId, int newBookingCount) {
+        return updateSlotBookingCount(slotId, newBookingCount);
+    }
+
+    @Override
+    public boolean reserveSeat(Connection conn, String slotId) {
+        Slot slot = slots.get(slotId);
+        if (slot == null) {
+            return false;
+        }
+        synchronized (slot) {
+            if (slot.getCurrentBookings() >= slot.getMaxCapacity()) {
+                return false;
+            }
+            slot.setCurrentBookings(slot.getCurrentBookings() + 1);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean releaseSeat(Connection conn, String slotId) {
+        Slot slot = slots.get(slotId);
+        if (slot == null) {
+            return false;
+        }
+        synchronized (slot) {
+            if (slot.getCurrentBookings() == 0) {
+                return false;
+            }
+            slot.setCurrentBookings(slot.getCurrentBookings() - 1);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean releaseSeats(Connection conn, Map<String, Integer> seatsBySlot) {
+        for (Map.Entry<String, Integer> e : seatsBySlot.entrySet()) {
+            Slot slot = slots.get(e.getKey());
+            if (slot != null) {
+                synchronized (slot) {
+                    slot.setCurrentBookings(Math.max(0, slot.getCurrentBookings() - e.getValue()));
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void applySeatChanges(Connection conn) {
+        // no in-memory state
+    }
+
+    @Override
+    public void discardSeatChanges(Connection conn) {
+        // no in-memory state
+    }
+
+    @Override
+    public boolean deleteSlot(String slotId) {
+        return slots.remove(slotId) != null;
+    }
+
+    private static Slot copy(Slot slot) {
+        Slot s = new Slot();
+        s.setSlotId(slot.getSlotId());
+        s.setCenterId(slot.getCenterId());
+        s.setSlotDate(slot.getSlotDate());
+        s.setStartTime(slot.getStartTime());
+        s.setEndTime(slot.getEndTime());
+        s.setMaxCapacity(slot.getMaxCapacity());
+        synchronized (slot) {
+            s.setCurrentBookings(slot.getCurrentBookings());
+        }
+        return s;
+    }
+}
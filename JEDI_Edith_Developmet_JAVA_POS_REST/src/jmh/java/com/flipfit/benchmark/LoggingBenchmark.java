@@ -0,0 +1,90 @@
+package com.flipfit.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost on the calling thread of a DAO log line: the old System.err/out
+ * println against the SLF4J logger with the async appender from
+ * logback.xml, for an error line and for a debug line with DEBUG off.
+ *
+ * Both write to a discarding stream so the terminal is not measured; the
+ * println stream is synchronized and auto-flushing like System.err, which
+ * is where concurrent request threads used to queue up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    private static final String ERROR_MESSAGE = "Communications link failure";
+
+    private PrintStream console;
+    private LoggerContext context;
+    private Logger log;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        console = new PrintStream(OutputStream.nullOutputStream(), true);
+
+        context = new LoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%-5level [%d{HH:mm:ss.SSS}] [%thread] %logger{0}: %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> out = new OutputStreamAppender<>();
+        out.setContext(context);
+        out.setEncoder(encoder);
+        out.setOutputStream(OutputStream.nullOutputStream());
+        out.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.addAppender(out);
+        async.start();
+
+        log = context.getLogger("com.flipfit.dao.BookingDAOImpl");
+        log.setLevel(ch.qos.logback.classic.Level.INFO);
+        log.addAppender(async);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void printlnError() {
+        console.println("[DAO] Error getting booking: " + ERROR_MESSAGE);
+    }
+
+    @Benchmark
+    public void asyncError() {
+        log.error("Error getting booking op=getBookingById table=booking error={}", ERROR_MESSAGE);
+    }
+
+    @Benchmark
+    public void printlnDebug() {
+        console.println("log2 " + 1);
+    }
+
+    @Benchmark
+    public void disabledDebug() {
+        log.debug("Inserted op=registerUser table=user rows={}", 1);
+    }
+}
@@ -0,0 +1,182 @@
+package com.flipfit.benchmark;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.BookingStatus;
+import com.flipfit.bean.Slot;
+import com.flipfit.business.BookingServiceImpl;
+import com.flipfit.dao.BookingDAOImpl;
+import com.flipfit.dao.SlotDAOImpl;
+import com.flipfit.utils.DBConnection;
+import com.flipfit.utils.SqlProfiler;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replacing a customer's clashing bookings with a new one on H2:
+ * createBookingWithReplace, which cancels and releases with one statement
+ * each, against the statement sequence it replaced, which read every old
+ * booking and its slot outside the transaction and wrote them one at a time.
+ *
+ * SQL statements per call, counted by SqlProfiler, are printed at the end
+ * of each trial next to the timings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReplaceBookingBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int replaced;
+
+    private BenchmarkDatabase db;
+    private BookingDAOImpl bookingDAO;
+    private SlotDAOImpl slotDAO;
+    private BookingServiceImpl service;
+    private String[] oldSlotIds;
+    private String targetSlotId;
+    private int customers;
+    private long statements;
+    private long calls;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.open();
+        bookingDAO = new BookingDAOImpl();
+        slotDAO = new SlotDAOImpl();
+        LocalDate day = LocalDate.now().plusDays(1);
+        List<Slot> old = BenchmarkDatabase.hourlySlots(BenchmarkDatabase.newCenterId(), day,
+                replaced, BookingBenchmark.SEATS);
+        Slot target = BenchmarkDatabase.hourlySlots(BenchmarkDatabase.newCenterId(), day,
+                1, BookingBenchmark.SEATS).get(0);
+        slotDAO.addSlots(old);
+        slotDAO.addSlots(List.of(target));
+
+        oldSlotIds = new String[old.size()];
+        for (int i = 0; i < oldSlotIds.length; i++) {
+            oldSlotIds[i] = old.get(i).getSlotId();
+        }
+        targetSlotId = target.getSlotId();
+        service = new BookingServiceImpl(bookingDAO, slotDAO, (customerId, message) -> true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (calls > 0) {
+            System.out.printf("%nSQL statements per call: %.1f (replaced=%d, %d calls)%n",
+                    (double) statements / calls, replaced, calls);
+        }
+        db.close();
+    }
+
+    @Benchmark
+    public Booking batched(OldBookings old) {
+        return service.createBookingWithReplace(old.customerId, targetSlotId, old.bookingIds);
+    }
+
+    /**
+     * The statements createBookingWithReplace ran before it was batched:
+     * per old booking a read of the booking and of its slot on their own
+     * connections, then a count update and a cancel on the transaction's;
+     * then the same for the new slot and the insert, and after the commit
+     * one more read per old booking to address its cancellation notice.
+     */
+    @Benchmark
+    public Booking loop(OldBookings old) throws SQLException {
+        Connection conn = DBConnection.getConnection();
+        try {
+            conn.setAutoCommit(false);
+            for (String oldId : old.bookingIds) {
+                Booking oldBooking = bookingDAO.getBookingById(oldId);
+                if (oldBooking == null) continue;
+                Slot oldSlot = slotDAO.getSlotById(oldBooking.getSlotId());
+                if (oldSlot != null && !slotDAO.updateSlotBookingCount(conn, oldSlot.getSlotId(),
+                        Math.max(0, oldSlot.getCurrentBookings() - 1))) {
+                    conn.rollback();
+                    return null;
+                }
+                if (!bookingDAO.cancelBooking(conn, oldId)) {
+                    conn.rollback();
+                    return null;
+                }
+            }
+
+            Slot newSlot = slotDAO.getSlotById(targetSlotId);
+            if (newSlot == null || newSlot.getCurrentBookings() >= newSlot.getMaxCapacity()
+                    || !slotDAO.updateSlotBookingCount(conn, targetSlotId, newSlot.getCurrentBookings() + 1)) {
+                conn.rollback();
+                return null;
+            }
+            Booking booking = new Booking();
+            booking.setBookingId(UUID.randomUUID().toString());
+            booking.setUserId(old.customerId);
+            booking.setSlotId(targetSlotId);
+            booking.setBookingDate(new Date());
+            booking.setStatus(BookingStatus.CONFIRMED);
+            if (!bookingDAO.createBooking(conn, booking)) {
+                conn.rollback();
+                return null;
+            }
+            conn.commit();
+
+            for (String oldId : old.bookingIds) {
+                bookingDAO.getBookingById(oldId);
+            }
+            return booking;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+            conn.close();
+        }
+    }
+
+    private static long executedStatements() {
+        long total = 0;
+        for (SqlProfiler.StatementStats stats : SqlProfiler.getInstance().top(Integer.MAX_VALUE,
+                Comparator.comparingLong(SqlProfiler.StatementStats::getExecutions))) {
+            total += stats.getExecutions();
+        }
+        return total;
+    }
+
+    /**
+     * A new customer holding one booking in each of the old slots, made
+     * before every call and not timed. Also counts the statements the call
+     * itself runs.
+     */
+    @State(Scope.Thread)
+    public static class OldBookings {
+        String customerId;
+        List<String> bookingIds;
+        private long statementsBefore;
+
+        @Setup(Level.Invocation)
+        public void book(ReplaceBookingBenchmark benchmark) {
+            customerId = "CUS-R" + (benchmark.customers++);
+            bookingIds = new ArrayList<>(benchmark.oldSlotIds.length);
+            for (String slotId : benchmark.oldSlotIds) {
+                bookingIds.add(benchmark.service.createBooking(customerId, slotId).getBookingId());
+            }
+            statementsBefore = executedStatements();
+        }
+
+        @TearDown(Level.Invocation)
+        public void count(ReplaceBookingBenchmark benchmark) {
+            benchmark.statements += executedStatements() - statementsBefore;
+            benchmark.calls++;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.flipfit.benchmark;
+
+import com.flipfit.bean.Slot;
+import com.flipfit.dao.SlotDAOImpl;
+import com.flipfit.dao.SlotIntervalIndex;
+import com.flipfit.dao.SlotScheduleCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checking a new slot against a center's existing ones, with 50, 500 and
+ * 5000 slots in the center.
+ *
+ * streamScan is the check GymServiceImpl.addSlot used to make: a stream
+ * over every slot of the center. intervalIndex is SlotIntervalIndex for
+ * the slot's date; scheduleCache is the full SlotScheduleCache.hasOverlappingSlot
+ * path over an in-memory DAO; h2 is SlotDAOImpl's indexed query. Half of
+ * the probes overlap an existing slot and half fall after closing time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlotOverlapBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"50", "500", "5000"})
+    public int slots;
+
+    private BenchmarkDatabase db;
+    private String centerId;
+    private List<Slot> all;
+    private Map<LocalDate, SlotIntervalIndex> indexByDate;
+    private SlotScheduleCache cache;
+    private SlotDAOImpl h2;
+
+    private LocalDate[] probeDates;
+    private LocalTime[] probeStarts;
+    private LocalTime[] probeEnds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.open();
+        centerId = BenchmarkDatabase.newCenterId();
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        all = db.insertSlots(centerId, firstDay, slots, 20);
+        h2 = new SlotDAOImpl();
+
+        Map<LocalDate, List<Slot>> byDate = new HashMap<>();
+        for (Slot slot : all) {
+            byDate.computeIfAbsent(slot.getSlotDate(), k -> new ArrayList<>()).add(slot);
+        }
+        indexByDate = new HashMap<>();
+        for (Map.Entry<LocalDate, List<Slot>> e : byDate.entrySet()) {
+            indexByDate.put(e.getKey(), SlotIntervalIndex.of(e.getValue()));
+        }
+
+        InMemorySlotDAO memory = new InMemorySlotDAO();
+        memory.addSlots(all);
+        cache = new SlotScheduleCache(memory, TimeUnit.HOURS.toMillis(1), 10);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        probeDates = new LocalDate[PROBES];
+        probeStarts = new LocalTime[PROBES];
+        probeEnds = new LocalTime[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            Slot existing = all.get(random.nextInt(all.size()));
+            probeDates[i] = existing.getSlotDate();
+            probeStarts[i] = i % 2 == 0
+                    ? existing.getStartTime().plusMinutes(30)
+                    : LocalTime.of(BenchmarkDatabase.FIRST_HOUR + BenchmarkDatabase.SLOTS_PER_DAY, 30);
+            probeEnds[i] = probeStarts[i].plusMinutes(30);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public boolean streamScan() {
+        int i = next++ & (PROBES - 1);
+        LocalDate date = probeDates[i];
+        LocalTime start = probeStarts[i];
+        LocalTime end = probeEnds[i];
+        return all.stream().anyMatch(s -> date.equals(s.getSlotDate())
+                && s.getStartTime().isBefore(end) && s.getEndTime().isAfter(start));
+    }
+
+    @Benchmark
+    public boolean intervalIndex() {
+        int i = next++ & (PROBES - 1);
+        SlotIntervalIndex index = indexByDate.getOrDefault(probeDates[i], SlotIntervalIndex.empty());
+        return index.overlaps(probeStarts[i], probeEnds[i]);
+    }
+
+    @Benchmark
+    public boolean scheduleCache() {
+        int i = next++ & (PROBES - 1);
+        return cache.hasOverlappingSlot(centerId, probeDates[i], probeStarts[i], probeEnds[i]);
+    }
+
+    @Benchmark
+    public boolean h2() {
+        int i = next++ & (PROBES - 1);
+        return h2.hasOverlappingSlot(centerId, probeDates[i], probeStarts[i], probeEnds[i]);
+    }
+
+    // One-off cost of indexing the whole center, paid when a schedule is (re)loaded
+    @Benchmark
+    public SlotIntervalIndex buildIndex() {
+        return SlotIntervalIndex.of(all);
+    }
+}
@@ -0,0 +1,110 @@
+package com.flipfit.benchmark;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.BookingStatus;
+import com.flipfit.bean.GymCenter;
+import com.flipfit.bean.GymOwner;
+import com.flipfit.bean.Role;
+import com.flipfit.bean.Slot;
+import com.flipfit.bean.User;
+import com.flipfit.validation.BookingValidator;
+import com.flipfit.validation.GymOwnerValidator;
+import com.flipfit.validation.GymValidator;
+import com.flipfit.validation.SlotValidator;
+import com.flipfit.validation.UserValidator;
+import com.flipfit.validation.ValidationResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalTime;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every Validator implementation on a valid and on an invalid input.
+ * Invalid inputs fail every rule the validator has, which is the slowest
+ * path since each error message is built.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorBenchmark {
+
+    @Param({"valid", "invalid"})
+    public String input;
+
+    private final UserValidator userValidator = new UserValidator();
+    private final GymOwnerValidator ownerValidator = new GymOwnerValidator();
+    private final GymValidator gymValidator = new GymValidator();
+    private final SlotValidator slotValidator = new SlotValidator();
+    private final BookingValidator bookingValidator = new BookingValidator();
+
+    private User user;
+    private GymOwner owner;
+    private GymCenter gym;
+    private Slot slot;
+    private Booking booking;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean valid = "valid".equals(input);
+
+        user = new User("CUS1", valid ? "Asha Rao" : "A", valid ? "asha.rao@gmail.com" : "asha.rao@",
+                valid ? "Secret123" : "secret", Role.GYM_CUSTOMER, valid ? "9876543210" : "12345",
+                valid ? "Bangalore" : "Atlantis");
+
+        owner = new GymOwner("OWN1", user.getName(), user.getEmail(), user.getPassword(),
+                user.getPhoneNumber(), user.getCity());
+        owner.setPanNumber(valid ? "ABCDE1234F" : "ABC1234");
+        owner.setGstNumber(valid ? "29ABCDE1234F1Z5" : "29ABCDE");
+
+        gym = new GymCenter();
+        gym.setCenterId("GYM1");
+        gym.setName(valid ? "Iron Paradise" : "");
+        gym.setAddress(valid ? "12 MG Road" : "");
+        gym.setCityId(valid ? "Bangalore" : "Atlantis");
+        gym.setOwnerId("OWN1");
+        gym.setTotalCapacity(valid ? 100 : -1);
+
+        slot = new Slot();
+        slot.setSlotId("SLT1");
+        slot.setCenterId(valid ? "GYM1" : "");
+        slot.setStartTime(LocalTime.of(6, 0));
+        slot.setEndTime(valid ? LocalTime.of(7, 0) : LocalTime.of(5, 30));
+        slot.setMaxCapacity(valid ? 20 : 0);
+
+        booking = new Booking();
+        booking.setBookingId("BKG1");
+        booking.setUserId(valid ? "CUS1" : "");
+        booking.setSlotId(valid ? "SLT1" : "");
+        booking.setBookingDate(valid ? new Date() : new Date(0));
+        booking.setStatus(valid ? BookingStatus.CONFIRMED : null);
+    }
+
+    @Benchmark
+    public ValidationResult user() {
+        return userValidator.validate(user);
+    }
+
+    @Benchmark
+    public ValidationResult gymOwner() {
+        return ownerValidator.validate(owner);
+    }
+
+    @Benchmark
+    public ValidationResult gym() {
+        return gymValidator.validate(gym);
+    }
+
+    @Benchmark
+    public ValidationResult slot() {
+        return slotValidator.validate(slot);
+    }
+
+    @Benchmark
+    public ValidationResult booking() {
+        return bookingValidator.validate(booking);
+    }
+}
@@ -0,0 +1,40 @@
+-- The tables and indexes of flipfit_schema.sql that the benchmarked paths
+-- touch, in a form H2 (MODE=MySQL) accepts. Foreign keys and the user table
+-- are left out so fixtures can be loaded table by table.
+
+CREATE TABLE gym_center (
+  centerID varchar(45) NOT NULL PRIMARY KEY,
+  name varchar(45) NOT NULL,
+  address varchar(45) NOT NULL,
+  cityID varchar(45) NOT NULL,
+  ownerID varchar(45) NOT NULL,
+  totalCapacity int NOT NULL,
+  isActive varchar(45) NOT NULL
+);
+CREATE INDEX gym_center_owner ON gym_center (ownerID);
+CREATE INDEX city_active ON gym_center (cityID, isActive);
+CREATE INDEX gym_center_active ON gym_center (isActive);
+
+CREATE TABLE slot (
+  slotID varchar(45) NOT NULL PRIMARY KEY,
+  centerID varchar(45) NOT NULL,
+  slotDate date NOT NULL,
+  startTime datetime NOT NULL,
+  endTime datetime NOT NULL,
+  maxCapacity int NOT NULL,
+  currentBookings int NOT NULL
+);
+CREATE INDEX center_date_start ON slot (centerID, slotDate, startTime);
+CREATE INDEX start_end ON slot (startTime, endTime);
+
+CREATE TABLE booking (
+  bookingID varchar(45) NOT NULL PRIMARY KEY,
+  userID varchar(45) NOT NULL,
+  slotID varchar(45) NOT NULL,
+  bookingDate datetime DEFAULT NULL,
+  status varchar(16) NOT NULL
+);
+CREATE INDEX booking_user ON booking (userID, status, slotID);
+CREATE INDEX booking_slot ON booking (slotID);
+CREATE INDEX booking_status ON booking (status);
+CREATE INDEX booking_date ON booking (bookingDate);
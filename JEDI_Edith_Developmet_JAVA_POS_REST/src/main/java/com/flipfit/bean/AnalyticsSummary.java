@@ -0,0 +1,117 @@
+package com.flipfit.bean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * System-wide counters, recomputed from the rollup tables on every refresh.
+ */
+public class AnalyticsSummary {
+    private int approvedGyms;
+    private int pendingGyms;
+    private long totalCustomers;
+    private LocalDate date;       // the day the "today" figures describe
+    private int slotsToday;
+    private int seatCapacityToday;
+    private int seatsBookedToday;
+    private int bookingsToday;
+    private int cancellationsToday;
+    private int waitlistedUpcoming; // today and later
+    private LocalDateTime refreshedAt;
+
+    public int getApprovedGyms() {
+        return approvedGyms;
+    }
+
+    public void setApprovedGyms(int approvedGyms) {
+        this.approvedGyms = approvedGyms;
+    }
+
+    public int getPendingGyms() {
+        return pendingGyms;
+    }
+
+    public void setPendingGyms(int pendingGyms) {
+        this.pendingGyms = pendingGyms;
+    }
+
+    public int getTotalGyms() {
+        return approvedGyms + pendingGyms;
+    }
+
+    public long getTotalCustomers() {
+        return totalCustomers;
+    }
+
+    public void setTotalCustomers(long totalCustomers) {
+        this.totalCustomers = totalCustomers;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public int getSlotsToday() {
+        return slotsToday;
+    }
+
+    public void setSlotsToday(int slotsToday) {
+        this.slotsToday = slotsToday;
+    }
+
+    public int getSeatCapacityToday() {
+        return seatCapacityToday;
+    }
+
+    public void setSeatCapacityToday(int seatCapacityToday) {
+        this.seatCapacityToday = seatCapacityToday;
+    }
+
+    public int getSeatsBookedToday() {
+        return seatsBookedToday;
+    }
+
+    public void setSeatsBookedToday(int seatsBookedToday) {
+        this.seatsBookedToday = seatsBookedToday;
+    }
+
+    public int getBookingsToday() {
+        return bookingsToday;
+    }
+
+    public void setBookingsToday(int bookingsToday) {
+        this.bookingsToday = bookingsToday;
+    }
+
+    public int getCancellationsToday() {
+        return cancellationsToday;
+    }
+
+    public void setCancellationsToday(int cancellationsToday) {
+        this.cancellationsToday = cancellationsToday;
+    }
+
+    public int getWaitlistedUpcoming() {
+        return waitlistedUpcoming;
+    }
+
+    public void setWaitlistedUpcoming(int waitlistedUpcoming) {
+        this.waitlistedUpcoming = waitlistedUpcoming;
+    }
+
+    public double getUtilisationToday() {
+        return seatCapacityToday == 0 ? 0 : (double) seatsBookedToday / seatCapacityToday;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+}
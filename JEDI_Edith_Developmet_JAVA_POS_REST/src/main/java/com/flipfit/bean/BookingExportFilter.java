@@ -0,0 +1,54 @@
+package com.flipfit.bean;
+
+import java.time.LocalDate;
+
+/**
+ * Which bookings go into a ledger export. Unset fields do not filter.
+ */
+public class BookingExportFilter {
+    private LocalDate from; // bookingDate on or after this day
+    private LocalDate to; // bookingDate on or before this day
+    private String centerId;
+    private BookingStatus status;
+    private boolean includeDetails; // add slot and gym center columns
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public String getCenterId() {
+        return centerId;
+    }
+
+    public void setCenterId(String centerId) {
+        this.centerId = centerId;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+
+    public boolean isIncludeDetails() {
+        return includeDetails;
+    }
+
+    public void setIncludeDetails(boolean includeDetails) {
+        this.includeDetails = includeDetails;
+    }
+}
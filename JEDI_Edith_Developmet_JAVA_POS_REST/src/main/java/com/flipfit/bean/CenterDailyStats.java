@@ -0,0 +1,88 @@
+package com.flipfit.bean;
+
+import java.time.LocalDate;
+
+/**
+ * Rolled-up activity of one gym center on one slot date.
+ */
+public class CenterDailyStats {
+    private String centerId;
+    private LocalDate date;
+    private int slots;
+    private int seatCapacity; // sum of maxCapacity
+    private int seatsBooked;  // sum of currentBookings
+    private int bookings;     // confirmed bookings
+    private int cancellations;
+    private int waitlisted;   // users still waiting
+
+    public String getCenterId() {
+        return centerId;
+    }
+
+    public void setCenterId(String centerId) {
+        this.centerId = centerId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    public void setSlots(int slots) {
+        this.slots = slots;
+    }
+
+    public int getSeatCapacity() {
+        return seatCapacity;
+    }
+
+    public void setSeatCapacity(int seatCapacity) {
+        this.seatCapacity = seatCapacity;
+    }
+
+    public int getSeatsBooked() {
+        return seatsBooked;
+    }
+
+    public void setSeatsBooked(int seatsBooked) {
+        this.seatsBooked = seatsBooked;
+    }
+
+    public int getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(int bookings) {
+        this.bookings = bookings;
+    }
+
+    public int getCancellations() {
+        return cancellations;
+    }
+
+    public void setCancellations(int cancellations) {
+        this.cancellations = cancellations;
+    }
+
+    public int getWaitlisted() {
+        return waitlisted;
+    }
+
+    public void setWaitlisted(int waitlisted) {
+        this.waitlisted = waitlisted;
+    }
+
+    /**
+     * Booked share of the day's seats, 0 when the center had no capacity.
+     */
+    public double getUtilisation() {
+        return seatCapacity == 0 ? 0 : (double) seatsBooked / seatCapacity;
+    }
+}
@@ -0,0 +1,77 @@
+package com.flipfit.bean;
+
+import java.util.List;
+
+/**
+ * Utilisation heatmap of one gym center: totals plus one cell per
+ * weekday and start hour that has slots.
+ */
+public class CenterUtilisation {
+    private String centerId;
+    private String centerName;
+    private int slots;
+    private int seatCapacity;
+    private int seatsBooked;
+    private int waitlisted;
+    private List<UtilisationCell> cells; // ordered by weekday, then hour
+
+    public String getCenterId() {
+        return centerId;
+    }
+
+    public void setCenterId(String centerId) {
+        this.centerId = centerId;
+    }
+
+    public String getCenterName() {
+        return centerName;
+    }
+
+    public void setCenterName(String centerName) {
+        this.centerName = centerName;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    public void setSlots(int slots) {
+        this.slots = slots;
+    }
+
+    public int getSeatCapacity() {
+        return seatCapacity;
+    }
+
+    public void setSeatCapacity(int seatCapacity) {
+        this.seatCapacity = seatCapacity;
+    }
+
+    public int getSeatsBooked() {
+        return seatsBooked;
+    }
+
+    public void setSeatsBooked(int seatsBooked) {
+        this.seatsBooked = seatsBooked;
+    }
+
+    public int getWaitlisted() {
+        return waitlisted;
+    }
+
+    public void setWaitlisted(int waitlisted) {
+        this.waitlisted = waitlisted;
+    }
+
+    public double getUtilisation() {
+        return seatCapacity == 0 ? 0 : (double) seatsBooked / seatCapacity;
+    }
+
+    public List<UtilisationCell> getCells() {
+        return cells;
+    }
+
+    public void setCells(List<UtilisationCell> cells) {
+        this.cells = cells;
+    }
+}
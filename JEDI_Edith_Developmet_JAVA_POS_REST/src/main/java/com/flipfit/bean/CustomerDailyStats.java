@@ -0,0 +1,27 @@
+package com.flipfit.bean;
+
+import java.time.LocalDate;
+
+/**
+ * Customers who registered on one day.
+ */
+public class CustomerDailyStats {
+    private LocalDate date;
+    private int newCustomers;
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public int getNewCustomers() {
+        return newCustomers;
+    }
+
+    public void setNewCustomers(int newCustomers) {
+        this.newCustomers = newCustomers;
+    }
+}
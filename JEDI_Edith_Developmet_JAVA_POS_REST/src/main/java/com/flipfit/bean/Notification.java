@@ -0,0 +1,61 @@
+package com.flipfit.bean;
+
+/**
+ * A message queued for delivery to a customer.
+ */
+public class Notification {
+    private long notificationId; // outbox row ID, 0 if not persisted
+    private String customerId;
+    private String message;
+    private long createdAt; // epoch millis
+    private int messageCount = 1; // >1 when several messages were coalesced into this one
+
+    public Notification() {
+    }
+
+    public Notification(String customerId, String message, long createdAt) {
+        this.customerId = customerId;
+        this.message = message;
+        this.createdAt = createdAt;
+    }
+
+    public long getNotificationId() {
+        return notificationId;
+    }
+
+    public void setNotificationId(long notificationId) {
+        this.notificationId = notificationId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    public void setMessageCount(int messageCount) {
+        this.messageCount = messageCount;
+    }
+}
@@ -3,6 +3,7 @@
  */
 package com.flipfit.bean;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
 
 /**
@@ -11,6 +12,7 @@ import java.time.LocalTime;
 public class Slot {
 	private String slotId;
 	private String centerId;
+	private LocalDate slotDate;
     private LocalTime startTime;
     private LocalTime endTime;
     private int maxCapacity;
@@ -30,6 +32,13 @@ public class Slot {
 		this.centerId = centerId;
 	}
 	
+	public LocalDate getSlotDate() {
+		return slotDate;
+	}
+	public void setSlotDate(LocalDate slotDate) {
+		this.slotDate = slotDate;
+	}
+	
 	public LocalTime getStartTime() {
 		return startTime;
 	}
@@ -0,0 +1,63 @@
+package com.flipfit.bean;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of a bulk slot generation run.
+ */
+public class SlotGenerationResult {
+    private String centerId;
+    private int slotsCreated;
+    private LocalDate firstDate;
+    private LocalDate lastDate;
+    private long elapsedMillis; // validation plus insert
+    private double slotsPerSecond;
+
+    public String getCenterId() {
+        return centerId;
+    }
+
+    public void setCenterId(String centerId) {
+        this.centerId = centerId;
+    }
+
+    public int getSlotsCreated() {
+        return slotsCreated;
+    }
+
+    public void setSlotsCreated(int slotsCreated) {
+        this.slotsCreated = slotsCreated;
+    }
+
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    public void setFirstDate(LocalDate firstDate) {
+        this.firstDate = firstDate;
+    }
+
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    public void setLastDate(LocalDate lastDate) {
+        this.lastDate = lastDate;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getSlotsPerSecond() {
+        return slotsPerSecond;
+    }
+
+    public void setSlotsPerSecond(double slotsPerSecond) {
+        this.slotsPerSecond = slotsPerSecond;
+    }
+}
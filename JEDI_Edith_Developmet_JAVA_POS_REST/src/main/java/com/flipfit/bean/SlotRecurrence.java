@@ -0,0 +1,76 @@
+package com.flipfit.bean;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * A weekly recurrence rule for generating slots, e.g. Mon-Sat,
+ * 06:00-22:00, 60 minute slots of capacity 20 for the next 8 weeks.
+ */
+public class SlotRecurrence {
+    private List<DayOfWeek> daysOfWeek;
+    private LocalTime dayStart;
+    private LocalTime dayEnd;
+    private int slotMinutes;
+    private int capacity;
+    private LocalDate startDate; // first day of the schedule, today if not set
+    private int weeks;
+
+    public List<DayOfWeek> getDaysOfWeek() {
+        return daysOfWeek;
+    }
+
+    public void setDaysOfWeek(List<DayOfWeek> daysOfWeek) {
+        this.daysOfWeek = daysOfWeek;
+    }
+
+    public LocalTime getDayStart() {
+        return dayStart;
+    }
+
+    public void setDayStart(LocalTime dayStart) {
+        this.dayStart = dayStart;
+    }
+
+    public LocalTime getDayEnd() {
+        return dayEnd;
+    }
+
+    public void setDayEnd(LocalTime dayEnd) {
+        this.dayEnd = dayEnd;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public void setSlotMinutes(int slotMinutes) {
+        this.slotMinutes = slotMinutes;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public int getWeeks() {
+        return weeks;
+    }
+
+    public void setWeeks(int weeks) {
+        this.weeks = weeks;
+    }
+}
@@ -0,0 +1,73 @@
+package com.flipfit.bean;
+
+/**
+ * Seats and waitlist of all slots of one center that start in the same
+ * hour on the same weekday.
+ */
+public class UtilisationCell {
+    private int dayOfWeek; // 1 = Monday ... 7 = Sunday
+    private int hour;      // 0-23, hour the slots start in
+    private int slots;
+    private int seatCapacity;
+    private int seatsBooked;
+    private int waitlisted;
+
+    public int getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(int dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    public int getHour() {
+        return hour;
+    }
+
+    public void setHour(int hour) {
+        this.hour = hour;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    public void setSlots(int slots) {
+        this.slots = slots;
+    }
+
+    public int getSeatCapacity() {
+        return seatCapacity;
+    }
+
+    public void setSeatCapacity(int seatCapacity) {
+        this.seatCapacity = seatCapacity;
+    }
+
+    public int getSeatsBooked() {
+        return seatsBooked;
+    }
+
+    public void setSeatsBooked(int seatsBooked) {
+        this.seatsBooked = seatsBooked;
+    }
+
+    public int getWaitlisted() {
+        return waitlisted;
+    }
+
+    public void setWaitlisted(int waitlisted) {
+        this.waitlisted = waitlisted;
+    }
+
+    public double getUtilisation() {
+        return seatCapacity == 0 ? 0 : (double) seatsBooked / seatCapacity;
+    }
+
+    /**
+     * Waiting users per seat; above 0 means the hour could use more capacity.
+     */
+    public double getWaitlistPressure() {
+        return seatCapacity == 0 ? 0 : (double) waitlisted / seatCapacity;
+    }
+}
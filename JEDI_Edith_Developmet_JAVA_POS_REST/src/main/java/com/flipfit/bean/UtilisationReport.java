@@ -0,0 +1,46 @@
+package com.flipfit.bean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Slot utilisation heatmaps for all centers of one gym owner.
+ */
+public class UtilisationReport {
+    private String ownerId;
+    private LocalDateTime generatedAt;
+    private long computeMillis; // loading plus aggregation
+    private List<CenterUtilisation> centers;
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public long getComputeMillis() {
+        return computeMillis;
+    }
+
+    public void setComputeMillis(long computeMillis) {
+        this.computeMillis = computeMillis;
+    }
+
+    public List<CenterUtilisation> getCenters() {
+        return centers;
+    }
+
+    public void setCenters(List<CenterUtilisation> centers) {
+        this.centers = centers;
+    }
+}
@@ -1,23 +1,22 @@
 package com.flipfit.business;
 
+import com.flipfit.bean.AnalyticsSummary;
+import com.flipfit.bean.CustomerDailyStats;
 import com.flipfit.bean.GymCenter;
 import com.flipfit.bean.GymOwner;
 import com.flipfit.bean.Slot;
-import com.flipfit.bean.User;
 import com.flipfit.dao.GymOwnerDAO;
 import com.flipfit.dao.GymOwnerDAOImpl;
 import com.flipfit.dao.SlotDAO;
-import com.flipfit.dao.SlotDAOImpl;
-import com.flipfit.dao.UserDAO;
-import com.flipfit.dao.UserDAOImpl;
+import com.flipfit.dao.SlotScheduleCache;
 import com.flipfit.exception.GymNotFoundException;
 import com.flipfit.exception.InvalidSlotException;
 import com.flipfit.exception.UnauthorizedAccessException;
 import com.flipfit.dao.GymCenterDAO;
-import com.flipfit.dao.GymCenterDAOImpl;
+import com.flipfit.dao.GymCenterCache;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Admin service for managing gym centers and owners.
@@ -25,11 +24,31 @@ import java.util.stream.Collectors;
  */
 public class AdminService implements IInventoryManager, IReportViewer {
 
-	private GymOwnerDAO gymOwnerDAO = new GymOwnerDAOImpl();
-	private UserDAO userDAO = new UserDAOImpl();
-	private GymService gymService = new GymServiceImpl();
-	private GymCenterDAO GymCenterDAO = new GymCenterDAOImpl();
-	private SlotDAO slotDAO = new SlotDAOImpl();
+	private GymOwnerDAO gymOwnerDAO;
+	private GymService gymService;
+	private GymCenterDAO GymCenterDAO;
+	private SlotDAO slotDAO;
+	private AnalyticsService analyticsService;
+
+	/**
+	 * Default constructor preserves legacy behavior (creates default DAO implementations).
+	 */
+	public AdminService() {
+		this(new GymOwnerDAOImpl(), GymCenterCache.getInstance(), SlotScheduleCache.getInstance(), new GymServiceImpl(),
+				new AnalyticsService());
+	}
+
+	/**
+	 * Constructor for dependency injection (used by REST wiring/tests).
+	 */
+	public AdminService(GymOwnerDAO gymOwnerDAO, GymCenterDAO gymCenterDAO, SlotDAO slotDAO, GymService gymService,
+			AnalyticsService analyticsService) {
+		this.gymOwnerDAO = gymOwnerDAO;
+		this.GymCenterDAO = gymCenterDAO;
+		this.slotDAO = slotDAO;
+		this.gymService = gymService;
+		this.analyticsService = analyticsService;
+	}
 
 	/**
 	 * Approves a gym center for operation.
@@ -96,10 +115,7 @@ public class AdminService implements IInventoryManager, IReportViewer {
 	 */
 	@Override
 	public List<GymCenter> viewPendingGyms() {
-		return GymCenterDAO.getAllGymCenters()
-				.stream()
-				.filter(gym -> !gym.isActive()) // Inactive = pending approval
-				.collect(Collectors.toList());
+		return GymCenterDAO.getGymCentersByStatus(false); // Inactive = pending approval
 	}
 
 	/**
@@ -116,18 +132,28 @@ public class AdminService implements IInventoryManager, IReportViewer {
 
 	/**
 	 * Views system analytics showing gym statistics.
+	 * Figures come from the analytics rollups, not from scanning the live tables.
 	 */
 	@Override
 	public void viewSystemAnalytics() {
 		System.out.println("\n===== SYSTEM ANALYTICS =====");
 
-		List<GymCenter> allGyms = GymCenterDAO.getAllGymCenters();
-		long approvedGyms = allGyms.stream().filter(GymCenter::isActive).count();
-		long pendingGyms = allGyms.stream().filter(gym -> !gym.isActive()).count();
+		AnalyticsSummary summary = analyticsService.getSummary();
+		if (summary == null) {
+			System.out.println("Analytics are not available right now.");
+			return;
+		}
 
-		System.out.println("Total Gym Centers: " + allGyms.size());
-		System.out.println("Approved Gyms: " + approvedGyms);
-		System.out.println("Pending Approval: " + pendingGyms);
+		System.out.println("Total Gym Centers: " + summary.getTotalGyms());
+		System.out.println("Approved Gyms: " + summary.getApprovedGyms());
+		System.out.println("Pending Approval: " + summary.getPendingGyms());
+		System.out.println("Total Customers: " + summary.getTotalCustomers());
+		System.out.println("Today (" + summary.getDate() + "): " + summary.getBookingsToday() + " bookings, "
+				+ summary.getCancellationsToday() + " cancellations, "
+				+ summary.getSeatsBookedToday() + "/" + summary.getSeatCapacityToday() + " seats booked ("
+				+ String.format("%.1f%%", summary.getUtilisationToday() * 100) + ")");
+		System.out.println("Waitlisted (upcoming slots): " + summary.getWaitlistedUpcoming());
+		System.out.println("As of: " + summary.getRefreshedAt());
 	}
 
 	@Override
@@ -135,9 +161,26 @@ public class AdminService implements IInventoryManager, IReportViewer {
 		viewSystemAnalytics();
 	}
 
+	/**
+	 * Views new customer registrations per day over the last 30 days.
+	 */
 	@Override
 	public void viewCustomerGrowth() {
-		System.out.println("Customer growth analytics coming soon...");
+		System.out.println("\n===== CUSTOMER GROWTH (LAST 30 DAYS) =====");
+
+		LocalDate today = LocalDate.now();
+		List<CustomerDailyStats> growth = analyticsService.getCustomerGrowth(today.minusDays(29), today);
+		if (growth.isEmpty()) {
+			System.out.println("No new customers in this period.");
+			return;
+		}
+
+		int total = 0;
+		for (CustomerDailyStats day : growth) {
+			System.out.println(day.getDate() + ": " + day.getNewCustomers());
+			total += day.getNewCustomers();
+		}
+		System.out.println("Total new customers: " + total);
 	}
 
 	/**
@@ -199,22 +242,27 @@ public class AdminService implements IInventoryManager, IReportViewer {
 	 * @return true if conflict exists, false if slot can be added
 	 */
 	public boolean checkSlotConflict(String centerId, java.time.LocalTime startTime, java.time.LocalTime endTime) {
-		if (centerId == null || centerId.trim().isEmpty()) {
-			throw new IllegalArgumentException("Center ID cannot be null or empty");
-		}
-
-		List<Slot> existingSlots = slotDAO.getSlotsByCenterId(centerId);
-
-		return existingSlots.stream()
-				.anyMatch(slot -> slotsOverlap(startTime, endTime, slot.getStartTime(), slot.getEndTime()));
+		return checkSlotConflict(centerId, java.time.LocalDate.now(), startTime, endTime);
 	}
 
 	/**
-	 * Helper method to check if two time ranges overlap.
+	 * Checks if a new slot on the given date would overlap with existing slots
+	 * for a gym center on that date.
+	 * 
+	 * @param centerId  The gym center ID
+	 * @param date      The date of the new slot
+	 * @param startTime The start time of the new slot
+	 * @param endTime   The end time of the new slot
+	 * @return true if conflict exists, false if slot can be added
 	 */
-	private boolean slotsOverlap(java.time.LocalTime newStart, java.time.LocalTime newEnd,
-			java.time.LocalTime existingStart, java.time.LocalTime existingEnd) {
-		return newStart.isBefore(existingEnd) && newEnd.isAfter(existingStart);
+	public boolean checkSlotConflict(String centerId, java.time.LocalDate date, java.time.LocalTime startTime,
+			java.time.LocalTime endTime) {
+		if (centerId == null || centerId.trim().isEmpty()) {
+			throw new IllegalArgumentException("Center ID cannot be null or empty");
+		}
+
+		// Answered from the center's interval index when slotDAO is the schedule cache
+		return slotDAO.hasOverlappingSlot(centerId, date, startTime, endTime);
 	}
 
 	/**
@@ -0,0 +1,195 @@
+package com.flipfit.business;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.flipfit.bean.AnalyticsSummary;
+import com.flipfit.bean.CenterDailyStats;
+import com.flipfit.bean.CustomerDailyStats;
+import com.flipfit.dao.AnalyticsDAO;
+import com.flipfit.dao.AnalyticsDAOImpl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves admin analytics from pre-aggregated tables.
+ *
+ * A refresh rolls the live tables up into center_daily_stats (one row per
+ * center and slot date) and customer_daily_stats (registrations per day),
+ * then reloads the dashboard counters. It is incremental: center rows are
+ * rebuilt only for slot dates from a few days before the previous refresh
+ * onwards, since bookings on older slots no longer change, and customer
+ * rows only from the last rolled-up day. Reads never touch the live tables.
+ *
+ * Reads refresh first when the last refresh is older than the maximum
+ * age, so the numbers keep moving in the CLI, where no background
+ * refresher runs. With start() the refresher normally keeps them fresh
+ * and reads only refresh if it falls behind.
+ */
+public class AnalyticsService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AnalyticsService.class);
+
+	// Slot dates this far before the last refresh are rebuilt again, to pick up late cancellations
+	private static final int SETTLE_DAYS = 7;
+
+	// Longest date range one stats request may cover
+	public static final int MAX_RANGE_DAYS = 366;
+
+	// How old the rollups may get before a read refreshes them, when no refresher is running
+	private static final long DEFAULT_MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	private final AnalyticsDAO analyticsDAO;
+
+	private volatile AnalyticsSummary summary;
+	private volatile long lastRefreshMillis = -1;
+	private volatile long refreshedAtMillis = -1; // wall clock of the last refresh attempt
+	private volatile long maxAgeMillis = DEFAULT_MAX_AGE_MILLIS;
+	private ScheduledExecutorService refresher;
+
+	/**
+	 * Default constructor preserves legacy behavior (creates default DAO implementations).
+	 */
+	public AnalyticsService() {
+		this(new AnalyticsDAOImpl());
+	}
+
+	/**
+	 * Constructor for dependency injection (used by REST wiring/tests).
+	 */
+	public AnalyticsService(AnalyticsDAO analyticsDAO) {
+		this.analyticsDAO = analyticsDAO;
+	}
+
+	/**
+	 * Brings the rollups up to date and reloads the summary.
+	 *
+	 * @return true if both rollups and the summary were refreshed
+	 */
+	public synchronized boolean refresh() {
+		long started = System.nanoTime();
+		LocalDateTime now = LocalDateTime.now();
+
+		LocalDateTime previous = analyticsDAO.getLastRefresh();
+		LocalDate from = previous == null ? null : previous.toLocalDate().minusDays(SETTLE_DAYS);
+		boolean ok = analyticsDAO.refreshCenterStats(from, now);
+		ok &= analyticsDAO.refreshCustomerStats();
+
+		AnalyticsSummary loaded = analyticsDAO.loadSummary(now.toLocalDate());
+		if (loaded != null) {
+			loaded.setRefreshedAt(now);
+			summary = loaded;
+		}
+		lastRefreshMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+		// set even on failure, so a broken refresh is retried once per max age rather than on every read
+		refreshedAtMillis = System.currentTimeMillis();
+		return ok && loaded != null;
+	}
+
+	/**
+	 * Latest dashboard counters. Refreshes first if no refresh has been
+	 * attempted yet or the last attempt is older than the maximum age.
+	 *
+	 * @return the counters, or null while every refresh so far has failed
+	 */
+	public AnalyticsSummary getSummary() {
+		refreshIfStale();
+		return summary;
+	}
+
+	/**
+	 * Per-center daily rollups for an inclusive date range.
+	 *
+	 * @param centerId only this center, or null for all centers
+	 * @throws IllegalArgumentException if the range is reversed or too long
+	 */
+	public List<CenterDailyStats> getCenterStats(LocalDate from, LocalDate to, String centerId) {
+		checkRange(from, to);
+		refreshIfStale();
+		return analyticsDAO.getCenterStats(from, to, centerId);
+	}
+
+	/**
+	 * New customers per day for an inclusive date range; days without
+	 * registrations are left out.
+	 *
+	 * @throws IllegalArgumentException if the range is reversed or too long
+	 */
+	public List<CustomerDailyStats> getCustomerGrowth(LocalDate from, LocalDate to) {
+		checkRange(from, to);
+		refreshIfStale();
+		return analyticsDAO.getCustomerGrowth(from, to);
+	}
+
+	/**
+	 * Refreshes the rollups in the background. Reads then only refresh
+	 * themselves once the rollups are two periods old.
+	 *
+	 * @param period time between refreshes
+	 * @param unit   unit of the period
+	 */
+	public synchronized void start(long period, TimeUnit unit) {
+		if (refresher != null) {
+			return;
+		}
+		maxAgeMillis = 2 * unit.toMillis(period);
+		refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "analytics-refresher");
+			t.setDaemon(true);
+			return t;
+		});
+		refresher.scheduleWithFixedDelay(() -> {
+			try {
+				refresh();
+			} catch (RuntimeException e) {
+				LOG.error("Analytics refresh failed", e);
+			}
+		}, 0, period, unit);
+	}
+
+	public synchronized void stop() {
+		if (refresher != null) {
+			refresher.shutdownNow();
+			refresher = null;
+			maxAgeMillis = DEFAULT_MAX_AGE_MILLIS;
+		}
+	}
+
+	/** Duration of the last refresh in milliseconds, -1 before the first one. */
+	public long getLastRefreshMillis() {
+		return lastRefreshMillis;
+	}
+
+	private void refreshIfStale() {
+		if (!isStale()) {
+			return;
+		}
+		synchronized (this) {
+			// another reader may have refreshed while this one waited
+			if (isStale()) {
+				refresh();
+			}
+		}
+	}
+
+	// decided on the last attempt alone, so a failing refresh is not retried by every read
+	private boolean isStale() {
+		long last = refreshedAtMillis;
+		return last < 0 || System.currentTimeMillis() - last > maxAgeMillis;
+	}
+
+	private static void checkRange(LocalDate from, LocalDate to) {
+		if (from == null || to == null || from.isAfter(to)) {
+			throw new IllegalArgumentException("Invalid date range");
+		}
+		if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+			throw new IllegalArgumentException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+		}
+	}
+}
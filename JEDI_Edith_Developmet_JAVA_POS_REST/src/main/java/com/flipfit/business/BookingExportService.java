@@ -0,0 +1,114 @@
+package com.flipfit.business;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.SlidingTimeWindowArrayReservoir;
+import com.flipfit.bean.BookingExportFilter;
+import com.flipfit.dao.BookingExportDAO;
+import com.flipfit.dao.BookingExportDAOImpl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exports the booking ledger for reconciliation.
+ *
+ * Rows go from the DAO's server-side cursor through a CSV or JSON-lines
+ * writer into a gzip stream, one at a time, so memory use does not depend
+ * on how many bookings match. Throughput of each export is logged and kept
+ * in a rows/sec histogram.
+ */
+public class BookingExportService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BookingExportService.class);
+
+	public enum Format {
+		CSV("csv"), JSONL("jsonl");
+
+		private final String extension;
+
+		Format(String extension) {
+			this.extension = extension;
+		}
+
+		public String getExtension() {
+			return extension;
+		}
+	}
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final BookingExportDAO exportDAO;
+	private final AtomicLong exportedRows = new AtomicLong();
+	private final Histogram rowsPerSecond = new Histogram(new SlidingTimeWindowArrayReservoir(1, TimeUnit.HOURS));
+
+	/**
+	 * Default constructor preserves legacy behavior (creates default DAO implementations).
+	 */
+	public BookingExportService() {
+		this(new BookingExportDAOImpl());
+	}
+
+	/**
+	 * Constructor for dependency injection (used by REST wiring/tests).
+	 */
+	public BookingExportService(BookingExportDAO exportDAO) {
+		this.exportDAO = exportDAO;
+	}
+
+	/**
+	 * Writes the matching bookings, gzip-compressed, to the stream. The
+	 * stream is finished but not closed. If the export fails part way the
+	 * gzip trailer is not written, so the client sees a broken archive
+	 * rather than a valid one with rows missing.
+	 *
+	 * @param filter which bookings to export
+	 * @param format CSV or JSON lines
+	 * @param out    destination, e.g. an HTTP response body
+	 * @return number of rows exported
+	 * @throws IOException if writing fails or the database query fails part way
+	 */
+	public long exportBookings(BookingExportFilter filter, Format format, OutputStream out) throws IOException {
+		long started = System.nanoTime();
+		GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+		Writer text = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+		long rows;
+		if (format == Format.JSONL) {
+			JsonLinesRowWriter writer = new JsonLinesRowWriter(text);
+			rows = exportDAO.exportBookings(filter, writer);
+			writer.flush();
+		} else {
+			rows = exportDAO.exportBookings(filter, new CsvRowWriter(text));
+		}
+		// only reached when every row was written; a DAO failure throws past the trailer
+		text.flush();
+		gzip.finish();
+
+		long elapsedNanos = Math.max(System.nanoTime() - started, 1);
+		long perSecond = rows * 1_000_000_000L / elapsedNanos;
+		exportedRows.addAndGet(rows);
+		rowsPerSecond.update(perSecond);
+		LOG.info("Exported bookings rows={} format={} millis={} rowsPerSec={}",
+				rows, format.getExtension(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), perSecond);
+		return rows;
+	}
+
+	public long getExportedRows() {
+		return exportedRows.get();
+	}
+
+	/** Rows per second of recent exports. */
+	public Histogram getRowsPerSecond() {
+		return rowsPerSecond;
+	}
+}
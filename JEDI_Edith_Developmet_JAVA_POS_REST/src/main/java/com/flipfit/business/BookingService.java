@@ -3,9 +3,15 @@ package com.flipfit.business;
 import java.util.List;
 
 import com.flipfit.bean.Booking;
+import com.flipfit.exception.BookingFailedException;
+import com.flipfit.exception.SlotFullException;
+import com.flipfit.exception.SlotNotFoundException;
 
 public interface BookingService {
 	public Booking createBooking(String customerId, String slotId);
+
+    // Claims a seat and inserts the booking in one DB transaction; a full slot is reported as SlotFullException
+    public Booking reserveAndBook(String customerId, String slotId) throws SlotNotFoundException, SlotFullException, BookingFailedException;
     public boolean cancelBooking(String bookingId);
     public List<Booking> getUpcomingBookings(String customerId);
     public boolean checkConcurrency(String slotId);
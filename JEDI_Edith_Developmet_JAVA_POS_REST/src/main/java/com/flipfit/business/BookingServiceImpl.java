@@ -4,38 +4,95 @@ import java.util.List;
 import java.util.Date;
 import java.util.UUID;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.sql.Connection;
 import java.sql.SQLException;
 
 import com.flipfit.bean.Booking;
+import com.flipfit.bean.Notification;
 import com.flipfit.bean.BookingStatus;
 import com.flipfit.bean.Slot;
 import com.flipfit.dao.*;
+import com.flipfit.exception.BookingFailedException;
+import com.flipfit.exception.SlotFullException;
+import com.flipfit.exception.SlotNotFoundException;
 import com.flipfit.utils.DBConnection;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 
 public class BookingServiceImpl implements BookingService {
 
-	private BookingDAO bookingDAO = new BookingDAOImpl();
-	private GymOwnerDAO gymOwnerDAO = new GymOwnerDAOImpl();
-	private INotificationProvider notificationService = new NotificationServiceImpl();
-	private SlotDAO slotDAO = new SlotDAOImpl();
-	private SlotManager slotManager = new SlotManager();
+	private static final Logger LOG = LoggerFactory.getLogger(BookingServiceImpl.class);
+
+	private BookingDAO bookingDAO;
+	private INotificationProvider notificationService;
+	private SlotDAO slotDAO;
+	private SlotManager slotManager;
+	private SlotCapacityLedger ledger = SlotCapacityLedger.getInstance();
+	private WaitlistPromotionPipeline promotionPipeline;
+	private NotificationOutboxDAO notificationOutbox;
 	//private static java.util.Map<String, Slot> slotMap = GymServiceImpl.slotMap;
 
+	/**
+	 * Default constructor preserves legacy behavior (creates default DAO implementations).
+	 */
+	public BookingServiceImpl() {
+		this(new BookingDAOImpl(), SlotScheduleCache.getInstance(), new NotificationServiceImpl());
+	}
+
+	/**
+	 * Constructor for dependency injection (used by REST wiring/tests).
+	 */
+	public BookingServiceImpl(BookingDAO bookingDAO, SlotDAO slotDAO, INotificationProvider notificationService) {
+		this.bookingDAO = bookingDAO;
+		this.slotDAO = slotDAO;
+		this.notificationService = notificationService;
+		this.slotManager = new SlotManager(slotDAO);
+	}
+
+	/**
+	 * Hands freed seats to the waitlist pipeline after each cancellation.
+	 * Without one, seats freed by cancellations are not offered to the waitlist.
+	 */
+	public void setPromotionPipeline(WaitlistPromotionPipeline promotionPipeline) {
+		this.promotionPipeline = promotionPipeline;
+	}
+
+	/**
+	 * Writes booking notifications to the outbox inside the booking transaction
+	 * instead of sending them after commit; a NotificationOutboxRelay delivers them.
+	 */
+	public void setNotificationOutbox(NotificationOutboxDAO notificationOutbox) {
+		this.notificationOutbox = notificationOutbox;
+	}
+
 	@Override
 	public Booking createBooking(String customerId, String slotId) {
-		Slot slot = slotDAO.getSlotById(slotId);
-		if (slot == null) {
+		try {
+			return reserveAndBook(customerId, slotId);
+		} catch (SlotNotFoundException e) {
 			System.out.println("Slot not found.");
-			return null;
-		}
-
-		if (slot.getCurrentBookings() >= slot.getMaxCapacity()) {
+		} catch (SlotFullException e) {
 			System.out.println("Slot full. Cannot book.");
-			return null;
+		} catch (BookingFailedException e) {
+			System.out.println("Failed to persist booking.");
 		}
+		return null;
+	}
 
+	/**
+	 * Claims a seat with a single guarded UPDATE and inserts the booking in the
+	 * same transaction, so concurrent bookers can never oversell a slot and
+	 * slot.currentBookings always matches the confirmed bookings.
+	 * Full slots are turned away by the in-memory ledger before any DB work.
+	 */
+	@Override
+	public Booking reserveAndBook(String customerId, String slotId)
+			throws SlotNotFoundException, SlotFullException, BookingFailedException {
 		Booking booking = new Booking();
 		booking.setBookingId(UUID.randomUUID().toString());
 		booking.setUserId(customerId);
@@ -43,23 +100,69 @@ public class BookingServiceImpl implements BookingService {
 		booking.setBookingDate(new Date());
 		booking.setStatus(BookingStatus.CONFIRMED);
 
-		//Update slot count (in-memory)
-		slot.setCurrentBookings(slot.getCurrentBookings() + 1);
-
-		//Persist booking via DAO
-		boolean ok = bookingDAO.createBooking(booking);
-		if (!ok) {
-			// rollback in-memory counter
-			slot.setCurrentBookings(slot.getCurrentBookings() - 1);
-			System.out.println("Failed to persist booking.");
-			return null;
+		// 0) hold a seat in the ledger; a full slot is rejected without touching MySQL
+		SlotCapacityLedger.Result held = ledger.tryAcquire(slotId);
+		if (held == SlotCapacityLedger.Result.UNTRACKED) {
+			Slot slot = slotDAO.getSlotById(slotId);
+			if (slot == null) {
+				throw new SlotNotFoundException(slotId);
+			}
+			ledger.track(slot);
+			held = ledger.tryAcquire(slotId);
+		}
+		if (held == SlotCapacityLedger.Result.FULL) {
+			int capacity = ledger.getCapacity(slotId);
+			throw new SlotFullException(slotId, capacity, capacity);
 		}
 
-		notificationService.sendNotification(
-				customerId,
-				"Booking CONFIRMED. Booking ID: " + booking.getBookingId()
-		);
+		List<Notification> notices = new ArrayList<>();
+		notices.add(notice(customerId, "Booking CONFIRMED. Booking ID: " + booking.getBookingId()));
+
+		boolean keepHold = false;
+		Connection conn = null;
+		try {
+			conn = DBConnection.getConnection();
+			conn.setAutoCommit(false);
+
+			// 1) claim a seat; zero rows means the slot is full (or missing)
+			if (!slotDAO.reserveSeat(conn, slotId)) {
+				conn.rollback();
+				Slot slot = slotDAO.getSlotById(slotId);
+				if (slot == null) {
+					ledger.forget(slotId);
+					throw new SlotNotFoundException(slotId);
+				}
+				// the database says full; zeroing the ledger also takes back the seat held above
+				ledger.markFull(slotId);
+				keepHold = true;
+				throw new SlotFullException(slotId, slot.getCurrentBookings(), slot.getMaxCapacity());
+			}
+
+			// 2) persist booking on the same connection
+			if (!bookingDAO.createBooking(conn, booking)) {
+				conn.rollback();
+				throw new BookingFailedException(customerId, slotId, "Booking could not be saved");
+			}
+			stageNotifications(conn, notices);
 
+			conn.commit();
+			slotDAO.applySeatChanges(conn);
+			keepHold = true;
+		} catch (SQLException e) {
+			try { if (conn != null) conn.rollback(); } catch (SQLException ex) {}
+			throw new BookingFailedException("Booking transaction failed for slot " + slotId, e);
+		} finally {
+			if (!keepHold && held == SlotCapacityLedger.Result.ACQUIRED) {
+				ledger.release(slotId);
+			}
+			if (conn != null) {
+				// seat changes of a rolled-back transaction never reach the slot cache
+				slotDAO.discardSeatChanges(conn);
+				try { conn.setAutoCommit(true); conn.close(); } catch (SQLException e) {}
+			}
+		}
+
+		sendNotifications(notices);
 		return booking;
 	}
 
@@ -67,22 +170,48 @@ public class BookingServiceImpl implements BookingService {
 	public boolean cancelBooking(String bookingId) {
 		// retrieve booking by id
 		Booking booking = bookingDAO.getBookingById(bookingId);
-		if (booking == null) return false;
-
-		Slot slot = slotDAO.getSlotById(booking.getSlotId());
-		if (slot != null) {
-			if (slot.getCurrentBookings() > 0) {
-				slot.setCurrentBookings(slot.getCurrentBookings() - 1);
-				// persist change
-				slotDAO.updateSlot(slot);
+		if (booking == null || BookingStatus.CANCELLED.equals(booking.getStatus())) return false;
+
+		List<Notification> notices = new ArrayList<>();
+		notices.add(notice(booking.getUserId(), "Booking CANCELLED. Booking ID: " + bookingId));
+
+		// cancel and give the seat back in one transaction
+		boolean seatFreed;
+		Connection conn = null;
+		try {
+			conn = DBConnection.getConnection();
+			conn.setAutoCommit(false);
+
+			// guarded UPDATE: a concurrent cancel of the same booking gets false here
+			if (!bookingDAO.cancelBooking(conn, bookingId)) {
+				conn.rollback();
+				return false;
+			}
+			// a count already at zero (or a deleted slot) frees nothing, so there is no seat to hand out
+			seatFreed = slotDAO.releaseSeat(conn, booking.getSlotId());
+			stageNotifications(conn, notices);
+
+			conn.commit();
+			slotDAO.applySeatChanges(conn);
+		} catch (SQLException e) {
+			try { if (conn != null) conn.rollback(); } catch (SQLException ex) {}
+			LOG.error("Cancel failed bookingId={}", bookingId, e);
+			return false;
+		} finally {
+			if (conn != null) {
+				slotDAO.discardSeatChanges(conn);
+				try { conn.setAutoCommit(true); conn.close(); } catch (SQLException e) {}
 			}
 		}
 
-		boolean ok = bookingDAO.cancelBooking(bookingId);
-		if (ok) {
-			notificationService.sendNotification(booking.getUserId(), "Booking CANCELLED. Booking ID: " + bookingId);
+		if (seatFreed) {
+			ledger.release(booking.getSlotId());
+			if (promotionPipeline != null) {
+				promotionPipeline.publish(booking.getSlotId());
+			}
 		}
-		return ok;
+		sendNotifications(notices);
+		return true;
 	}
 
 	@Override
@@ -92,37 +221,52 @@ public class BookingServiceImpl implements BookingService {
 
 	@Override
 	public boolean checkConcurrency(String slotId) {
-		Slot slot = slotDAO.getSlotById(slotId);
-		return slot != null && slot.getCurrentBookings() < slot.getMaxCapacity();
+		try {
+			return slotManager.getAvailableSeats(slotId) > 0;
+		} catch (SlotNotFoundException e) {
+			return false;
+		}
 	}
 
 	/**
-	 * Interval overlap: startA < endB && startB < endA
+	 * Interval overlap: startA < endB && startB < endA, evaluated by the database
+	 * in a single booking/slot join.
 	 */
 	@Override
 	public List<Booking> getConflictingBookings(String userId, String slotId) {
-		List<Booking> conflicts = new ArrayList<>();
-		Slot target = slotDAO.getSlotById(slotId);
-		if (target == null) return conflicts;
-
-		List<Booking> userBookings = bookingDAO.getBookingsByUserId(userId);
-		for (Booking b : userBookings) {
-			Slot s = slotDAO.getSlotById(b.getSlotId());
-			if (s == null || BookingStatus.CANCELLED.equals(b.getStatus())) continue;
-			if (timesOverlap(target.getStartTime(), target.getEndTime(), s.getStartTime(), s.getEndTime())) {
-				conflicts.add(b);
-			}
+		return bookingDAO.getConflictingBookings(userId, slotId);
+	}
+
+	private Notification notice(String customerId, String message) {
+		return new Notification(customerId, message, System.currentTimeMillis());
+	}
+
+	/**
+	 * Writes the notifications to the outbox on the transaction's connection, if an outbox is set.
+	 */
+	private void stageNotifications(Connection conn, List<Notification> notices) throws SQLException {
+		if (notificationOutbox != null && !notificationOutbox.enqueue(conn, notices)) {
+			throw new SQLException("Notifications could not be written to the outbox");
 		}
-		return conflicts;
 	}
 
-	private boolean timesOverlap(java.time.LocalTime aStart, java.time.LocalTime aEnd, java.time.LocalTime bStart, java.time.LocalTime bEnd) {
-		return aStart.isBefore(bEnd) && bStart.isBefore(aEnd);
+	/**
+	 * Sends the notifications directly after commit when there is no outbox.
+	 */
+	private void sendNotifications(List<Notification> notices) {
+		if (notificationOutbox != null) {
+			return;
+		}
+		for (Notification n : notices) {
+			notificationService.sendNotification(n.getCustomerId(), n.getMessage());
+		}
 	}
 
 	/**
 	 * Cancels provided bookings and creates a new booking inside a DB transaction.
 	 * Cancels all conflicting bookings if user confirmed.
+	 * The old bookings are read, cancelled and their seats released with one
+	 * statement each, so the round trips do not grow with the number of bookings.
 	 */
 	@Override
 	public Booking createBookingWithReplace(String customerId, String slotId, List<String> bookingIdsToCancel) {
@@ -131,29 +275,32 @@ public class BookingServiceImpl implements BookingService {
 			conn = DBConnection.getConnection();
 			conn.setAutoCommit(false);
 
-			// 1) cancel old bookings (transactional)
-			for (String oldId : bookingIdsToCancel) {
-				Booking old = bookingDAO.getBookingById(oldId);
-				if (old == null) continue;
-				Slot oldSlot = slotDAO.getSlotById(old.getSlotId());
-				if (oldSlot != null) {
-					int newCount = Math.max(0, oldSlot.getCurrentBookings() - 1);
-					boolean slotUpdated = slotDAO.updateSlotBookingCount(conn, oldSlot.getSlotId(), newCount);
-					if (!slotUpdated) { conn.rollback(); return null; }
-					oldSlot.setCurrentBookings(newCount);
-				}
-				boolean canceled = bookingDAO.cancelBooking(conn, oldId);
-				if (!canceled) { conn.rollback(); return null; }
+			// 1) lock the old bookings, cancel them with one UPDATE and release their seats as one batch
+			List<String> cancelIds = new ArrayList<>();
+			List<String> releasedSlotIds = new ArrayList<>();
+			Map<String, Integer> seatsBySlot = new HashMap<>();
+			List<Notification> notices = new ArrayList<>();
+			List<String> requestedIds = new ArrayList<>(new LinkedHashSet<>(bookingIdsToCancel));
+			List<Booking> oldBookings = bookingDAO.getBookingsByIds(conn, requestedIds);
+			// every booking the user asked to replace must exist, or nothing is replaced
+			if (oldBookings.size() != requestedIds.size()) {
+				conn.rollback();
+				return null;
+			}
+			for (Booking old : oldBookings) {
+				if (BookingStatus.CANCELLED.equals(old.getStatus())) continue;
+				cancelIds.add(old.getBookingId());
+				releasedSlotIds.add(old.getSlotId());
+				seatsBySlot.merge(old.getSlotId(), 1, Integer::sum);
+				notices.add(notice(old.getUserId(), "Booking CANCELLED. Booking ID: " + old.getBookingId()));
+			}
+			if (bookingDAO.cancelBookings(conn, cancelIds) != cancelIds.size() || !slotDAO.releaseSeats(conn, seatsBySlot)) {
+				conn.rollback();
+				return null;
 			}
 
-			// 2) check and increment new slot
-			Slot newSlot = slotDAO.getSlotById(slotId);
-			if (newSlot == null) { conn.rollback(); return null; }
-			if (newSlot.getCurrentBookings() >= newSlot.getMaxCapacity()) { conn.rollback(); System.out.println("Target slot full."); return null; }
-			int newCount = newSlot.getCurrentBookings() + 1;
-			boolean slotUpdated = slotDAO.updateSlotBookingCount(conn, newSlot.getSlotId(), newCount);
-			if (!slotUpdated) { conn.rollback(); return null; }
-			newSlot.setCurrentBookings(newCount);
+			// 2) claim a seat in the new slot (guarded, no read-check-write)
+			if (!slotDAO.reserveSeat(conn, slotId)) { conn.rollback(); ledger.markFull(slotId); System.out.println("Target slot full."); return null; }
 
 			// 3) create booking
 			Booking booking = new Booking();
@@ -165,25 +312,32 @@ public class BookingServiceImpl implements BookingService {
 
 			boolean created = bookingDAO.createBooking(conn, booking);
 			if (!created) { conn.rollback(); return null; }
+			notices.add(0, notice(customerId, "Booking CONFIRMED. Booking ID: " + booking.getBookingId()));
+			stageNotifications(conn, notices);
 
 			conn.commit();
+			slotDAO.applySeatChanges(conn);
 
-			// send notifications
-			notificationService.sendNotification(customerId, "Booking CONFIRMED. Booking ID: " + booking.getBookingId());
-			for (String oldId : bookingIdsToCancel) {
-				Booking old = bookingDAO.getBookingById(oldId);
-				if (old != null) {
-					notificationService.sendNotification(old.getUserId(), "Booking CANCELLED. Booking ID: " + oldId);
+			// keep the in-memory ledger in step with what was just committed
+			for (String releasedSlotId : releasedSlotIds) {
+				ledger.release(releasedSlotId);
+				if (promotionPipeline != null) {
+					promotionPipeline.publish(releasedSlotId);
 				}
 			}
+			ledger.tryAcquire(slotId);
 
+			sendNotifications(notices);
 			return booking;
 		} catch (SQLException e) {
 			try { if (conn != null) conn.rollback(); } catch (SQLException ex) {}
-			System.err.println("[Service] Transaction failed: " + e.getMessage());
+			LOG.error("Replace booking transaction failed slotId={}", slotId, e);
 			return null;
 		} finally {
-			if (conn != null) { try { conn.setAutoCommit(true); conn.close(); } catch (SQLException e) {} }
+			if (conn != null) {
+				slotDAO.discardSeatChanges(conn);
+				try { conn.setAutoCommit(true); conn.close(); } catch (SQLException e) {}
+			}
 		}
 	}
 }
@@ -0,0 +1,52 @@
+package com.flipfit.business;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.flipfit.dao.ExportRowWriter;
+
+/**
+ * Writes export rows as RFC 4180 CSV. Nulls become empty fields.
+ */
+public class CsvRowWriter implements ExportRowWriter {
+
+	private final Writer out;
+
+	public CsvRowWriter(Writer out) {
+		this.out = out;
+	}
+
+	@Override
+	public void header(String[] columns) throws IOException {
+		row(columns);
+	}
+
+	@Override
+	public void row(String[] values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				out.write(',');
+			}
+			writeField(values[i]);
+		}
+		out.write("\r\n");
+	}
+
+	private void writeField(String value) throws IOException {
+		if (value == null) {
+			return;
+		}
+		boolean quote = false;
+		for (int i = 0; i < value.length() && !quote; i++) {
+			char c = value.charAt(i);
+			quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+		}
+		if (!quote) {
+			out.write(value);
+			return;
+		}
+		out.write('"');
+		out.write(value.replace("\"", "\"\""));
+		out.write('"');
+	}
+}
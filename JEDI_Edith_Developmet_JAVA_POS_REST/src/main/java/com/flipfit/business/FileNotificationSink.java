@@ -0,0 +1,34 @@
+package com.flipfit.business;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.flipfit.bean.Notification;
+
+/**
+ * Appends each notification as one tab-separated line
+ * (createdAt, customerId, message) to a local file.
+ * Used as the outbox when no real gateway is configured.
+ */
+public class FileNotificationSink implements NotificationSink {
+
+	private final Path file;
+
+	public FileNotificationSink(Path file) {
+		this.file = file;
+	}
+
+	@Override
+	public synchronized void deliver(List<Notification> batch) throws IOException {
+		List<String> lines = new ArrayList<>(batch.size());
+		for (Notification n : batch) {
+			lines.add(n.getCreatedAt() + "\t" + n.getCustomerId() + "\t" + n.getMessage().replace('\n', ' ').replace('\t', ' '));
+		}
+		Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+}
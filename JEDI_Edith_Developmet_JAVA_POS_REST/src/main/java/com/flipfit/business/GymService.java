@@ -4,6 +4,8 @@ import java.util.List;
 
 import com.flipfit.bean.GymCenter;
 import com.flipfit.bean.Slot;
+import com.flipfit.bean.SlotGenerationResult;
+import com.flipfit.bean.SlotRecurrence;
 import com.flipfit.exception.GymNotFoundException;
 import com.flipfit.exception.GymOwnerNotVerifiedException;
 import com.flipfit.exception.InvalidSlotException;
@@ -37,6 +39,17 @@ public interface GymService {
      */
     public Slot addSlot(Slot slot) throws InvalidSlotException, GymNotFoundException;
 
+    /**
+     * Generates slots for a gym center from a weekly recurrence rule and adds
+     * them all at once. Nothing is added if any generated slot overlaps an
+     * existing slot.
+     * 
+     * @param centerId The gym center ID
+     * @param rule     The recurrence rule (days, daily hours, slot length, capacity, weeks)
+     * @return The number of slots created and the generation throughput
+     */
+    public SlotGenerationResult addRecurringSlots(String centerId, SlotRecurrence rule) throws InvalidSlotException, GymNotFoundException;
+
     /**
      * Searches for active gym centers in a specific city.
      * 
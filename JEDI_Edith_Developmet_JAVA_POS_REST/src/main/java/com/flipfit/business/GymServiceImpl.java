@@ -1,17 +1,25 @@
 package com.flipfit.business;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import com.flipfit.bean.GymCenter;
 import com.flipfit.bean.GymOwner;
 import com.flipfit.bean.Slot;
+import com.flipfit.bean.SlotGenerationResult;
+import com.flipfit.bean.SlotRecurrence;
 import com.flipfit.dao.GymOwnerDAO;
 import com.flipfit.dao.GymOwnerDAOImpl;
-import com.flipfit.dao.UserDAO;
-import com.flipfit.dao.UserDAOImpl;
 import com.flipfit.exception.GymNotFoundException;
 import com.flipfit.exception.GymOwnerNotVerifiedException;
 import com.flipfit.exception.InvalidSlotException;
@@ -23,12 +31,30 @@ import com.flipfit.dao.*;
 
 public class GymServiceImpl implements GymService {
 
-	private GymOwnerDAO gymOwnerDAO = new GymOwnerDAOImpl();
-	private UserDAO userDAO = new UserDAOImpl();
+	// Longest schedule a single recurrence rule may generate
+	private static final int MAX_RECURRENCE_WEEKS = 52;
+
+	private GymOwnerDAO gymOwnerDAO;
 	// private GymValidator gymValidator = new GymValidator();
 	// private SlotValidator slotValidator = new SlotValidator();
-	private GymCenterDAO gymCenterDAO = new GymCenterDAOImpl();
-	private SlotDAO slotDAO = new SlotDAOImpl();
+	private GymCenterDAO gymCenterDAO;
+	private SlotDAO slotDAO;
+
+	/**
+	 * Default constructor preserves legacy behavior (creates default DAO implementations).
+	 */
+	public GymServiceImpl() {
+		this(new GymOwnerDAOImpl(), GymCenterCache.getInstance(), SlotScheduleCache.getInstance());
+	}
+
+	/**
+	 * Constructor for dependency injection (used by REST wiring/tests).
+	 */
+	public GymServiceImpl(GymOwnerDAO gymOwnerDAO, GymCenterDAO gymCenterDAO, SlotDAO slotDAO) {
+		this.gymOwnerDAO = gymOwnerDAO;
+		this.gymCenterDAO = gymCenterDAO;
+		this.slotDAO = slotDAO;
+	}
 
 	/**
 	 * Registers a new gym center after validating the gym owner and gym details.
@@ -85,13 +111,16 @@ public class GymServiceImpl implements GymService {
 		}
 
 		slotDetails.setCenterId(centerId);
+		if (slotDetails.getSlotDate() == null) {
+			slotDetails.setSlotDate(LocalDate.now());
+		}
 		// ValidationResult validationResult = slotValidator.validate(slotDetails);
 		// if (!validationResult.isValid()) {
 		// 	throw new IllegalArgumentException("Slot validation failed: " + validationResult.getErrorsAsString());
 		// }
 
-		List<Slot> existingSlots = slotDAO.getSlotsByCenterId(centerId);
-		if (hasOverlappingSlots(slotDetails, existingSlots)) {
+		if (slotDAO.hasOverlappingSlot(centerId, slotDetails.getSlotDate(), slotDetails.getStartTime(),
+				slotDetails.getEndTime())) {
 			throw new InvalidSlotException(slotDetails.getStartTime(), slotDetails.getEndTime(),
 					"This time slot overlaps with an existing slot. Please choose a different time.");
 		}
@@ -130,6 +159,138 @@ public class GymServiceImpl implements GymService {
 		return addSlot(centerId, slot);
 	}
 
+	/**
+	 * Generates slots from a weekly recurrence rule and adds them in one
+	 * transaction. The whole batch is checked in memory first: the center's
+	 * slots are loaded once and indexed per date, and each generated day is
+	 * checked against its index in a single pass, so validation does not
+	 * grow with (existing slots x new slots).
+	 * 
+	 * @param centerId The gym center ID
+	 * @param rule     The recurrence rule
+	 * @return The number of slots created, the date range and slots/sec
+	 * @throws InvalidSlotException     if a generated slot overlaps an existing one
+	 * @throws GymNotFoundException     if gym center not found
+	 * @throws IllegalArgumentException if the rule is incomplete
+	 */
+	@Override
+	public SlotGenerationResult addRecurringSlots(String centerId, SlotRecurrence rule)
+			throws InvalidSlotException, GymNotFoundException {
+		if (centerId == null || centerId.trim().isEmpty()) {
+			throw new IllegalArgumentException("Center ID cannot be null or empty");
+		}
+		validateRecurrence(rule);
+
+		GymCenter gym = getGymCenterById(centerId);
+		if (gym == null) {
+			throw new GymNotFoundException(centerId);
+		}
+
+		long started = System.nanoTime();
+		Map<LocalDate, List<Slot>> generated = generateSlots(centerId, rule);
+		if (generated.isEmpty()) {
+			throw new IllegalArgumentException("Recurrence rule does not produce any slots");
+		}
+
+		Map<LocalDate, List<Slot>> existing = new HashMap<>();
+		for (Slot slot : slotDAO.getSlotsByCenterId(centerId)) {
+			if (generated.containsKey(slot.getSlotDate())) {
+				existing.computeIfAbsent(slot.getSlotDate(), d -> new ArrayList<>()).add(slot);
+			}
+		}
+
+		List<Slot> batch = new ArrayList<>();
+		for (Map.Entry<LocalDate, List<Slot>> day : generated.entrySet()) {
+			List<Slot> conflicts = SlotIntervalIndex.of(existing.getOrDefault(day.getKey(), List.of()))
+					.conflicts(day.getValue());
+			if (!conflicts.isEmpty()) {
+				Slot first = conflicts.get(0);
+				throw new InvalidSlotException(first.getStartTime(), first.getEndTime(),
+						conflicts.size() + " generated slot(s) on " + day.getKey()
+								+ " overlap existing slots. No slots were added.");
+			}
+			batch.addAll(day.getValue());
+		}
+
+		if (!slotDAO.addSlots(batch)) {
+			throw new IllegalStateException("Failed to save generated slots for center " + centerId);
+		}
+
+		long elapsedNanos = System.nanoTime() - started;
+		SlotGenerationResult result = new SlotGenerationResult();
+		result.setCenterId(centerId);
+		result.setSlotsCreated(batch.size());
+		result.setFirstDate(batch.get(0).getSlotDate());
+		result.setLastDate(batch.get(batch.size() - 1).getSlotDate());
+		result.setElapsedMillis(elapsedNanos / 1_000_000);
+		result.setSlotsPerSecond(batch.size() * 1_000_000_000.0 / Math.max(elapsedNanos, 1));
+		return result;
+	}
+
+	/**
+	 * Checks that a recurrence rule is complete and within limits.
+	 */
+	private void validateRecurrence(SlotRecurrence rule) throws InvalidSlotException {
+		if (rule == null) {
+			throw new IllegalArgumentException("Recurrence rule cannot be null");
+		}
+		if (rule.getDaysOfWeek() == null || rule.getDaysOfWeek().isEmpty()) {
+			throw new IllegalArgumentException("At least one day of the week is required");
+		}
+		if (rule.getDayStart() == null || rule.getDayEnd() == null) {
+			throw new IllegalArgumentException("Daily start and end times are required");
+		}
+		if (!rule.getDayStart().isBefore(rule.getDayEnd())) {
+			throw new InvalidSlotException(rule.getDayStart(), rule.getDayEnd());
+		}
+		if (rule.getSlotMinutes() <= 0) {
+			throw new IllegalArgumentException("Slot length must be positive");
+		}
+		if (rule.getCapacity() <= 0) {
+			throw new IllegalArgumentException("Slot capacity must be positive");
+		}
+		if (rule.getWeeks() <= 0 || rule.getWeeks() > MAX_RECURRENCE_WEEKS) {
+			throw new IllegalArgumentException("Weeks must be between 1 and " + MAX_RECURRENCE_WEEKS);
+		}
+	}
+
+	/**
+	 * Expands a recurrence rule into slots, grouped by date in date order.
+	 * Slots are laid back to back from dayStart; a slot that would run past
+	 * dayEnd is not generated.
+	 */
+	private Map<LocalDate, List<Slot>> generateSlots(String centerId, SlotRecurrence rule) {
+		Set<DayOfWeek> days = EnumSet.copyOf(rule.getDaysOfWeek());
+		LocalDate firstDate = rule.getStartDate() != null ? rule.getStartDate() : LocalDate.now();
+		int dayStart = rule.getDayStart().toSecondOfDay() / 60;
+		int dayEnd = rule.getDayEnd().toSecondOfDay() / 60;
+		int length = rule.getSlotMinutes();
+
+		Map<LocalDate, List<Slot>> slots = new LinkedHashMap<>();
+		for (int d = 0; d < rule.getWeeks() * 7; d++) {
+			LocalDate date = firstDate.plusDays(d);
+			if (!days.contains(date.getDayOfWeek())) {
+				continue;
+			}
+			List<Slot> daySlots = new ArrayList<>();
+			for (int minute = dayStart; minute + length <= dayEnd; minute += length) {
+				Slot slot = new Slot();
+				slot.setSlotId(UUID.randomUUID().toString());
+				slot.setCenterId(centerId);
+				slot.setSlotDate(date);
+				slot.setStartTime(LocalTime.ofSecondOfDay(minute * 60L));
+				slot.setEndTime(LocalTime.ofSecondOfDay((minute + length) * 60L));
+				slot.setMaxCapacity(rule.getCapacity());
+				slot.setCurrentBookings(0);
+				daySlots.add(slot);
+			}
+			if (!daySlots.isEmpty()) {
+				slots.put(date, daySlots);
+			}
+		}
+		return slots;
+	}
+
 	/**
 	 * Searches for gym centers in a specific city.
 	 * Returns only active (approved) gym centers.
@@ -151,21 +312,36 @@ public class GymServiceImpl implements GymService {
 		// 	throw new IllegalArgumentException("City '" + city + "' is not a valid Flipfit location");
 		// }
 
-		// Fetch all gym centers and filter by city and active status
-		List<GymCenter> allCenters = gymCenterDAO.getAllGymCenters();
-
-		List<GymCenter> filteredCenters = allCenters.stream()
-				.filter(gym -> gym.getCityId() != null && gym.getCityId().equalsIgnoreCase(city.trim()))
-				.filter(gym -> gym.isActive()) // Only return approved gyms
-				.collect(Collectors.toList());
-
-		return filteredCenters;
+		// Only approved gyms, filtered by the (cityID, isActive) index
+		return gymCenterDAO.getActiveGymCentersByCity(city.trim());
 	}
 
+	/**
+	 * Gets the slots of a gym center on a given date that still have free seats.
+	 * Uses the indexed (centerID, slotDate) lookup instead of loading the
+	 * center's whole slot history.
+	 * 
+	 * @param centerId The gym center ID
+	 * @param date     The date in ISO format (yyyy-MM-dd)
+	 * @return List of available slots ordered by start time
+	 * @throws IllegalArgumentException if centerId is empty or date is not a valid date
+	 */
 	@Override
 	public List<Slot> getAvailableSlots(String centerId, String date) {
-		// TODO Auto-generated method stub
-		return null;
+		if (centerId == null || centerId.trim().isEmpty()) {
+			throw new IllegalArgumentException("Center ID cannot be null or empty");
+		}
+		if (date == null || date.trim().isEmpty()) {
+			throw new IllegalArgumentException("Date cannot be null or empty");
+		}
+
+		LocalDate day;
+		try {
+			day = LocalDate.parse(date.trim());
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid date '" + date + "', expected yyyy-MM-dd");
+		}
+		return slotDAO.getAvailableSlotsByDate(centerId, day);
 	}
 
 	@Override
@@ -221,38 +397,7 @@ public class GymServiceImpl implements GymService {
 	 * @return The GymCenter if found, null otherwise
 	 */
 	private GymCenter getGymCenterById(String centerId) {
-		List<GymCenter> allCenters = gymCenterDAO.getAllGymCenters();
-		return allCenters.stream()
-				.filter(gym -> gym.getCenterId().equals(centerId))
-				.findFirst()
-				.orElse(null);
-	}
-
-	/**
-	 * Checks if a slot overlaps with any existing slots for the same center.
-	 * Prevents double-booking of time slots.
-	 * 
-	 * @param newSlot       The new slot to check
-	 * @param existingSlots The existing slots for the center
-	 * @return true if there's an overlap, false otherwise
-	 */
-	private boolean hasOverlappingSlots(Slot newSlot, List<Slot> existingSlots) {
-		return existingSlots.stream()
-				.anyMatch(slot -> slotsOverlap(newSlot, slot));
-	}
-
-	/**
-	 * Checks if two slots overlap in time.
-	 * Slots overlap if: newSlot.startTime < existingSlot.endTime AND
-	 * newSlot.endTime > existingSlot.startTime
-	 * 
-	 * @param newSlot      The new slot
-	 * @param existingSlot The existing slot to compare
-	 * @return true if slots overlap, false otherwise
-	 */
-	private boolean slotsOverlap(Slot newSlot, Slot existingSlot) {
-		return newSlot.getStartTime().isBefore(existingSlot.getEndTime()) &&
-				newSlot.getEndTime().isAfter(existingSlot.getStartTime());
+		return gymCenterDAO.getGymCenterById(centerId);
 	}
 
 	/**
@@ -329,14 +474,8 @@ public class GymServiceImpl implements GymService {
 			throw new IllegalArgumentException("City cannot be null or empty");
 		}
 
-		// Fetch all gym centers and filter by city
-		List<GymCenter> allCenters = gymCenterDAO.getAllGymCenters();
-
-		List<GymCenter> centersByCity = allCenters.stream()
-				.filter(gym -> gym.getCityId() != null && gym.getCityId().equalsIgnoreCase(city.trim()))
-				.collect(Collectors.toList());
-
-		return centersByCity;
+		// City lookups are case-insensitive through the column collation
+		return gymCenterDAO.getGymCentersByCity(city.trim());
 	}
 
 }
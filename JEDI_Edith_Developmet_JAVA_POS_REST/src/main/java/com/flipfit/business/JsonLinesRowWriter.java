@@ -0,0 +1,45 @@
+package com.flipfit.business;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.flipfit.dao.ExportRowWriter;
+
+/**
+ * Writes export rows as JSON lines: one object per row, keyed by column name.
+ * Call flush() once the export is complete.
+ */
+public class JsonLinesRowWriter implements ExportRowWriter {
+
+	private static final JsonFactory JSON = new JsonFactory();
+
+	private final JsonGenerator json;
+	private String[] columns;
+
+	public JsonLinesRowWriter(Writer out) throws IOException {
+		this.json = JSON.createGenerator(out);
+		json.setRootValueSeparator(new SerializedString(""));
+	}
+
+	@Override
+	public void header(String[] columns) {
+		this.columns = columns.clone();
+	}
+
+	@Override
+	public void row(String[] values) throws IOException {
+		json.writeStartObject();
+		for (int i = 0; i < values.length; i++) {
+			json.writeStringField(columns[i], values[i]);
+		}
+		json.writeEndObject();
+		json.writeRaw('\n');
+	}
+
+	public void flush() throws IOException {
+		json.flush();
+	}
+}
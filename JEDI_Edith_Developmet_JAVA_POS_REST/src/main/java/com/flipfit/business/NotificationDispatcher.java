@@ -0,0 +1,240 @@
+package com.flipfit.business;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.SlidingTimeWindowArrayReservoir;
+import com.flipfit.bean.Notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asynchronous INotificationProvider.
+ *
+ * sendNotification only puts the message in a bounded queue and returns,
+ * so booking threads never wait on the delivery channel. If the queue is
+ * full the message is dropped and counted; the booking itself has already
+ * committed.
+ *
+ * A single background thread takes the first queued message, keeps
+ * collecting for the coalescing window, merges messages for the same
+ * customer into one, and hands the batch to the sink. A failed batch is
+ * retried with exponential backoff and dropped after the last attempt.
+ *
+ * {@link #dispatch(Notification)} queues a message the same way but
+ * returns a future that completes once the message is delivered or
+ * dropped; NotificationOutboxRelay uses it to mark outbox rows sent only
+ * after delivery.
+ */
+public class NotificationDispatcher implements INotificationProvider {
+
+	private static final Logger LOG = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+	private static final String MESSAGE_SEPARATOR = " | ";
+
+	private final NotificationSink sink;
+	private final BlockingQueue<Queued> queue;
+	private final long coalesceWindowMillis;
+	private final int maxBatchSize;
+	private final int maxAttempts;
+	private final long retryBackoffMillis;
+
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong delivered = new AtomicLong();
+	private final Histogram deliveryLatency = new Histogram(new SlidingTimeWindowArrayReservoir(5, TimeUnit.MINUTES));
+
+	private volatile boolean running;
+	private Thread worker;
+
+	/**
+	 * @param sink                 where batches are delivered
+	 * @param capacity             messages that may wait in the queue
+	 * @param coalesceWindowMillis how long to keep collecting after the first message of a batch
+	 * @param maxBatchSize         most messages taken into one batch
+	 * @param maxAttempts          delivery attempts per batch before it is dropped
+	 * @param retryBackoffMillis   wait before the first retry, doubled on each further retry
+	 */
+	public NotificationDispatcher(NotificationSink sink, int capacity, long coalesceWindowMillis, int maxBatchSize,
+			int maxAttempts, long retryBackoffMillis) {
+		this.sink = sink;
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.coalesceWindowMillis = coalesceWindowMillis;
+		this.maxBatchSize = maxBatchSize;
+		this.maxAttempts = maxAttempts;
+		this.retryBackoffMillis = retryBackoffMillis;
+	}
+
+	@Override
+	public boolean sendNotification(String customerId, String message) {
+		if (!queue.offer(new Queued(new Notification(customerId, message, System.currentTimeMillis()), null))) {
+			dropped.incrementAndGet();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Queues a notification and reports its outcome.
+	 *
+	 * @param notification the message; its createdAt is where delivery latency is measured from
+	 * @return completes with true once the sink has accepted it, false if it was dropped
+	 *         (queue full or every attempt failed)
+	 */
+	public CompletableFuture<Boolean> dispatch(Notification notification) {
+		CompletableFuture<Boolean> done = new CompletableFuture<>();
+		if (!queue.offer(new Queued(notification, done))) {
+			dropped.incrementAndGet();
+			done.complete(false);
+		}
+		return done;
+	}
+
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		worker = new Thread(this::run, "notification-dispatcher");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * Stops taking new batches once the queue is empty, waiting up to the timeout.
+	 */
+	public synchronized void stop(long timeout, TimeUnit unit) throws InterruptedException {
+		if (!running) {
+			return;
+		}
+		running = false;
+		worker.join(unit.toMillis(timeout));
+		if (worker.isAlive()) {
+			worker.interrupt();
+		}
+		worker = null;
+	}
+
+	private void run() {
+		List<Queued> batch = new ArrayList<>(maxBatchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				Queued first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				// from when it was queued: outbox rows carry their (older) insert time
+				long deadline = System.currentTimeMillis() + coalesceWindowMillis;
+				while (batch.size() < maxBatchSize) {
+					long wait = deadline - System.currentTimeMillis();
+					if (wait <= 0 || !running) {
+						queue.drainTo(batch, maxBatchSize - batch.size());
+						break;
+					}
+					Queued next = queue.poll(wait, TimeUnit.MILLISECONDS);
+					if (next != null) {
+						batch.add(next);
+					}
+				}
+				deliver(batch);
+			} catch (InterruptedException e) {
+				complete(batch, false);
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void deliver(List<Queued> batch) throws InterruptedException {
+		List<Notification> merged = coalesce(batch);
+		long backoff = retryBackoffMillis;
+		for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+			try {
+				sink.deliver(merged);
+				long now = System.currentTimeMillis();
+				for (Queued q : batch) {
+					deliveryLatency.update(now - q.notification.getCreatedAt());
+				}
+				delivered.addAndGet(batch.size());
+				complete(batch, true);
+				return;
+			} catch (Exception e) {
+				if (attempt == maxAttempts) {
+					LOG.error("Dropping notifications count={} attempts={}", batch.size(), attempt, e);
+					dropped.addAndGet(batch.size());
+					complete(batch, false);
+					return;
+				}
+				Thread.sleep(backoff);
+				backoff *= 2;
+			}
+		}
+	}
+
+	private static void complete(List<Queued> batch, boolean delivered) {
+		for (Queued q : batch) {
+			if (q.done != null) {
+				q.done.complete(delivered);
+			}
+		}
+	}
+
+	/**
+	 * Merges messages for the same customer, keeping first-arrival order.
+	 */
+	private static List<Notification> coalesce(List<Queued> batch) {
+		Map<String, Notification> byCustomer = new LinkedHashMap<>();
+		for (Queued q : batch) {
+			Notification n = q.notification;
+			Notification existing = byCustomer.get(n.getCustomerId());
+			if (existing == null) {
+				byCustomer.put(n.getCustomerId(), new Notification(n.getCustomerId(), n.getMessage(), n.getCreatedAt()));
+			} else {
+				existing.setMessage(existing.getMessage() + MESSAGE_SEPARATOR + n.getMessage());
+				existing.setMessageCount(existing.getMessageCount() + 1);
+			}
+		}
+		return new ArrayList<>(byCustomer.values());
+	}
+
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	public long getDeliveredCount() {
+		return delivered.get();
+	}
+
+	/** Creation-to-delivery latency in milliseconds (for outbox rows, from the row insert). */
+	public Histogram getDeliveryLatency() {
+		return deliveryLatency;
+	}
+
+	/**
+	 * A queued message and, for {@link #dispatch(Notification)}, the future to complete.
+	 */
+	private static final class Queued {
+		private final Notification notification;
+		private final CompletableFuture<Boolean> done;
+
+		Queued(Notification notification, CompletableFuture<Boolean> done) {
+			this.notification = notification;
+			this.done = done;
+		}
+	}
+}
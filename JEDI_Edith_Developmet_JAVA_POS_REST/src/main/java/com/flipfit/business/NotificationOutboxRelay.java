@@ -0,0 +1,159 @@
+package com.flipfit.business;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.flipfit.bean.Notification;
+import com.flipfit.dao.NotificationOutboxDAO;
+import com.flipfit.utils.DBConnection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves notifications from the outbox table through a NotificationDispatcher.
+ *
+ * Booking transactions write their notifications to the outbox and commit
+ * without waiting for delivery. The relay polls for unsent rows, locks a
+ * batch with SELECT ... FOR UPDATE SKIP LOCKED (so several relays can run
+ * side by side) and hands every row to the dispatcher, which coalesces,
+ * retries and records delivery metrics. The relay waits for each row's
+ * delivery result and, in the same transaction, marks only the delivered
+ * rows sent. Dropped rows, and rows still in flight when the wait runs
+ * out, stay pending for the next poll, so a crash or a full queue can
+ * repeat a message but never lose one.
+ */
+public class NotificationOutboxRelay {
+
+	private static final Logger LOG = LoggerFactory.getLogger(NotificationOutboxRelay.class);
+
+	private final NotificationOutboxDAO outboxDAO;
+	private final NotificationDispatcher dispatcher;
+	private final long deliveryTimeoutMillis;
+	private final int batchSize;
+
+	private final AtomicLong relayed = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private ScheduledExecutorService poller;
+
+	/**
+	 * @param deliveryTimeoutMillis how long one batch waits for delivery results before the
+	 *                              undelivered rows are left for the next poll
+	 */
+	public NotificationOutboxRelay(NotificationOutboxDAO outboxDAO, NotificationDispatcher dispatcher, int batchSize,
+			long deliveryTimeoutMillis) {
+		this.outboxDAO = outboxDAO;
+		this.dispatcher = dispatcher;
+		this.batchSize = batchSize;
+		this.deliveryTimeoutMillis = deliveryTimeoutMillis;
+	}
+
+	/**
+	 * Relays one batch.
+	 *
+	 * @return number of rows marked sent
+	 */
+	public int relayOnce() {
+		Connection conn = null;
+		try {
+			conn = DBConnection.getConnection();
+			conn.setAutoCommit(false);
+
+			List<Notification> pending = outboxDAO.fetchPending(conn, batchSize);
+			if (pending.isEmpty()) {
+				conn.commit();
+				return 0;
+			}
+			List<CompletableFuture<Boolean>> results = new ArrayList<>(pending.size());
+			for (Notification n : pending) {
+				results.add(dispatcher.dispatch(n));
+			}
+			// only rows the sink has accepted are marked; the rest stay pending
+			List<Long> sent = new ArrayList<>(pending.size());
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deliveryTimeoutMillis);
+			for (int i = 0; i < pending.size(); i++) {
+				if (awaitDelivery(results.get(i), deadline)) {
+					sent.add(pending.get(i).getNotificationId());
+				}
+			}
+			failed.addAndGet(pending.size() - sent.size());
+			if (!outboxDAO.markSent(conn, sent)) {
+				conn.rollback();
+				return 0;
+			}
+
+			conn.commit();
+			relayed.addAndGet(sent.size());
+			return sent.size();
+		} catch (SQLException | InterruptedException e) {
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			try { if (conn != null) conn.rollback(); } catch (SQLException ex) {}
+			LOG.error("Outbox relay failed", e);
+			return 0;
+		} finally {
+			if (conn != null) { try { conn.setAutoCommit(true); conn.close(); } catch (SQLException e) {} }
+		}
+	}
+
+	private static boolean awaitDelivery(CompletableFuture<Boolean> result, long deadlineNanos)
+			throws InterruptedException {
+		try {
+			return result.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException | ExecutionException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Polls the outbox in the background, draining full batches back to back.
+	 *
+	 * @param period time between polls when the outbox is empty
+	 * @param unit   unit of the period
+	 */
+	public synchronized void start(long period, TimeUnit unit) {
+		if (poller != null) {
+			return;
+		}
+		poller = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "notification-outbox-relay");
+			t.setDaemon(true);
+			return t;
+		});
+		poller.scheduleWithFixedDelay(() -> {
+			try {
+				while (relayOnce() == batchSize) {
+					// a full batch means more rows are probably waiting
+				}
+			} catch (RuntimeException e) {
+				LOG.error("Outbox relay failed", e);
+			}
+		}, 0, period, unit);
+	}
+
+	public synchronized void stop() {
+		if (poller != null) {
+			poller.shutdownNow();
+			poller = null;
+		}
+	}
+
+	public long getRelayedCount() {
+		return relayed.get();
+	}
+
+	/** Rows handed to the dispatcher but not delivered in time; they are retried on a later poll. */
+	public long getFailedCount() {
+		return failed.get();
+	}
+}
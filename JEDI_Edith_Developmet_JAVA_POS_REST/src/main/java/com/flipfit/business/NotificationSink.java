@@ -0,0 +1,16 @@
+package com.flipfit.business;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.flipfit.bean.Notification;
+
+/**
+ * Where NotificationDispatcher delivers its batches (SMS/e-mail gateway, outbox, file...).
+ */
+public interface NotificationSink {
+	/**
+	 * Delivers a batch; throwing makes the dispatcher retry the whole batch.
+	 */
+	public void deliver(List<Notification> batch) throws IOException;
+}
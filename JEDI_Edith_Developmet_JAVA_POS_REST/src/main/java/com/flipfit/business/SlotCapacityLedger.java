@@ -0,0 +1,279 @@
+package com.flipfit.business;
+
+import com.flipfit.bean.Slot;
+import com.flipfit.dao.SlotDAO;
+import com.flipfit.dao.SlotWriteListener;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory count of remaining seats per slot.
+ *
+ * Booking paths ask the ledger first so that attempts on a full slot are
+ * rejected without touching MySQL. Each slot has its own counter, so
+ * bookers only contend with others on the same slot. The guarded UPDATE
+ * in SlotDAO.reserveSeat stays the source of truth: the ledger can only
+ * turn people away early, never let an extra booking through.
+ *
+ * The counts are loaded from the slot table on startup and then
+ * reconciled periodically, which also picks up changes made outside this
+ * process. A reconcile only corrects a counter that did not move while
+ * the table was read, so it never overwrites holds and releases that are
+ * still in flight. Slot edits and deletions made through
+ * SlotScheduleCache reach the ledger as a SlotWriteListener.
+ */
+public class SlotCapacityLedger implements SlotWriteListener {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SlotCapacityLedger.class);
+
+	/** Outcome of {@link #tryAcquire(String)}. */
+	public enum Result {
+		/** A seat was held in memory; release it if the DB write fails. */
+		ACQUIRED,
+		/** No seats left; reject without going to the DB. */
+		FULL,
+		/** The ledger has not seen this slot yet; ask the DB. */
+		UNTRACKED
+	}
+
+	private static final SlotCapacityLedger INSTANCE = new SlotCapacityLedger();
+
+	private final Map<String, SeatCounter> seats = new ConcurrentHashMap<>();
+	private final Object reconcileLock = new Object();
+	private ScheduledExecutorService reconciler;
+
+	public static SlotCapacityLedger getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Tries to hold one seat in the given slot.
+	 *
+	 * @param slotId The slot ID
+	 * @return ACQUIRED, FULL, or UNTRACKED if the slot is not loaded yet
+	 */
+	public Result tryAcquire(String slotId) {
+		SeatCounter counter = seats.get(slotId);
+		if (counter == null) {
+			return Result.UNTRACKED;
+		}
+		return counter.tryAcquire() ? Result.ACQUIRED : Result.FULL;
+	}
+
+	/**
+	 * Gives a seat back (booking cancelled or DB write failed).
+	 *
+	 * @param slotId The slot ID
+	 */
+	public void release(String slotId) {
+		SeatCounter counter = seats.get(slotId);
+		if (counter != null) {
+			counter.release();
+		}
+	}
+
+	/**
+	 * Records that the database reported the slot as full.
+	 *
+	 * @param slotId The slot ID
+	 */
+	public void markFull(String slotId) {
+		SeatCounter counter = seats.get(slotId);
+		if (counter != null) {
+			counter.remaining.set(0);
+		}
+	}
+
+	/**
+	 * Gets the remaining seats for a slot.
+	 *
+	 * @param slotId The slot ID
+	 * @return remaining seats, or -1 if the slot is not tracked
+	 */
+	public int getRemainingSeats(String slotId) {
+		SeatCounter counter = seats.get(slotId);
+		return counter == null ? -1 : counter.remaining.get();
+	}
+
+	/**
+	 * Gets the capacity the ledger holds for a slot.
+	 *
+	 * @param slotId The slot ID
+	 * @return max capacity, or -1 if the slot is not tracked
+	 */
+	public int getCapacity(String slotId) {
+		SeatCounter counter = seats.get(slotId);
+		return counter == null ? -1 : counter.capacity;
+	}
+
+	/**
+	 * Starts tracking a slot from its DB row. A slot that is already
+	 * tracked is left alone: its counter already includes holds the row
+	 * may not show yet.
+	 *
+	 * @param slot The slot as read from the database
+	 */
+	public void track(Slot slot) {
+		if (slot == null || slot.getSlotId() == null) {
+			return;
+		}
+		seats.putIfAbsent(slot.getSlotId(), SeatCounter.of(slot));
+	}
+
+	/**
+	 * The slot row was overwritten (e.g. its capacity edited), so the
+	 * counter is rebuilt from the values written.
+	 *
+	 * @param slot The slot as written to the database
+	 */
+	@Override
+	public void slotUpdated(Slot slot) {
+		if (slot != null && slot.getSlotId() != null) {
+			seats.put(slot.getSlotId(), SeatCounter.of(slot));
+		}
+	}
+
+	@Override
+	public void slotDeleted(String slotId) {
+		forget(slotId);
+	}
+
+	/**
+	 * Stops tracking a slot (e.g. it was deleted).
+	 *
+	 * @param slotId The slot ID
+	 */
+	public void forget(String slotId) {
+		seats.remove(slotId);
+	}
+
+	/**
+	 * Corrects counters that drifted from the slot table, starts tracking
+	 * new slots and drops slots that no longer exist.
+	 *
+	 * Each counter's value is noted before the table is read, and a row
+	 * only replaces it with a compare-and-set against that value. A
+	 * counter that took a hold or release during the read is skipped and
+	 * corrected on a later run, once it is quiet.
+	 *
+	 * @param slotDAO DAO used to read the slot table
+	 * @return number of slots tracked after the reconcile
+	 */
+	public int reconcile(SlotDAO slotDAO) {
+		synchronized (reconcileLock) {
+			for (SeatCounter counter : seats.values()) {
+				counter.observed = counter.remaining.get();
+			}
+			Set<String> live = new HashSet<>();
+			// streamed, so only the ledger itself is held in memory
+			slotDAO.forEachSlot(slot -> {
+				live.add(slot.getSlotId());
+				correct(slot);
+			});
+			seats.keySet().retainAll(live);
+			return seats.size();
+		}
+	}
+
+	private void correct(Slot slot) {
+		SeatCounter counter = seats.get(slot.getSlotId());
+		if (counter == null) {
+			seats.putIfAbsent(slot.getSlotId(), SeatCounter.of(slot));
+		} else if (counter.capacity != slot.getMaxCapacity()) {
+			// capacity edited outside this process
+			seats.replace(slot.getSlotId(), counter, SeatCounter.of(slot));
+		} else {
+			counter.remaining.compareAndSet(counter.observed, remainingSeats(slot));
+		}
+	}
+
+	private static int remainingSeats(Slot slot) {
+		return Math.max(0, slot.getMaxCapacity() - slot.getCurrentBookings());
+	}
+
+	/**
+	 * Starts a background thread that reconciles with the slot table.
+	 *
+	 * @param slotDAO DAO used to read the slot table
+	 * @param period  time between reloads
+	 * @param unit    unit of the period
+	 */
+	public synchronized void startReconciler(SlotDAO slotDAO, long period, TimeUnit unit) {
+		if (reconciler != null) {
+			return;
+		}
+		reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "slot-ledger-reconciler");
+			t.setDaemon(true);
+			return t;
+		});
+		reconciler.scheduleWithFixedDelay(() -> {
+			try {
+				reconcile(slotDAO);
+			} catch (RuntimeException e) {
+				LOG.error("Ledger reconcile failed", e);
+			}
+		}, period, period, unit);
+	}
+
+	/**
+	 * Stops the background reconciler, if running.
+	 */
+	public synchronized void stopReconciler() {
+		if (reconciler != null) {
+			reconciler.shutdownNow();
+			reconciler = null;
+		}
+	}
+
+	/**
+	 * Remaining seats for one slot, updated with CAS so it never goes
+	 * below zero or above capacity.
+	 */
+	private static final class SeatCounter {
+		private final int capacity;
+		private final AtomicInteger remaining;
+		// value when the current reconcile started; only read and written under reconcileLock
+		private int observed = -1;
+
+		SeatCounter(int capacity, int remaining) {
+			this.capacity = capacity;
+			this.remaining = new AtomicInteger(remaining);
+		}
+
+		static SeatCounter of(Slot slot) {
+			return new SeatCounter(slot.getMaxCapacity(), remainingSeats(slot));
+		}
+
+		boolean tryAcquire() {
+			int current;
+			do {
+				current = remaining.get();
+				if (current <= 0) {
+					return false;
+				}
+			} while (!remaining.compareAndSet(current, current - 1));
+			return true;
+		}
+
+		void release() {
+			int current;
+			do {
+				current = remaining.get();
+				if (current >= capacity) {
+					return;
+				}
+			} while (!remaining.compareAndSet(current, current + 1));
+		}
+	}
+}
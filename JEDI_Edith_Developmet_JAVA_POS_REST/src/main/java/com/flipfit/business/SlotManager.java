@@ -1,10 +1,8 @@
 package com.flipfit.business;
 
 import com.flipfit.bean.Slot;
-import com.flipfit.dao.GymOwnerDAO;
-import com.flipfit.dao.GymOwnerDAOImpl;
 import com.flipfit.dao.SlotDAO;
-import com.flipfit.dao.SlotDAOImpl;
+import com.flipfit.dao.SlotScheduleCache;
 import com.flipfit.exception.SlotFullException;
 import com.flipfit.exception.SlotNotFoundException;
 
@@ -16,11 +14,27 @@ import java.util.List;
  */
 public class SlotManager {
 
-  private GymOwnerDAO gymOwnerDAO = new GymOwnerDAOImpl();
-  private SlotDAO slotDAO = new SlotDAOImpl();
+  private SlotDAO slotDAO;
+  private SlotCapacityLedger ledger = SlotCapacityLedger.getInstance();
+
+  /**
+   * Default constructor preserves legacy behavior (creates default DAO implementation).
+   */
+  public SlotManager() {
+    this(SlotScheduleCache.getInstance());
+  }
+
+  /**
+   * Constructor for dependency injection (used by REST wiring/tests).
+   */
+  public SlotManager(SlotDAO slotDAO) {
+    this.slotDAO = slotDAO;
+  }
 
   /**
    * Checks if a slot has available capacity for a booking.
+   * Answered from the in-memory ledger; the DB is only read the first
+   * time a slot is seen.
    * 
    * @param slotId The slot ID
    * @return true if slots are available
@@ -28,14 +42,11 @@ public class SlotManager {
    * @throws SlotFullException     if slot is fully booked
    */
   public boolean isSlotAvailable(String slotId) throws SlotNotFoundException, SlotFullException {
-    Slot slot = slotDAO.getSlotById(slotId);
+    int remaining = getAvailableSeats(slotId);
 
-    if (slot == null) {
-      throw new SlotNotFoundException(slotId);
-    }
-
-    if (slot.getCurrentBookings() >= slot.getMaxCapacity()) {
-      throw new SlotFullException(slotId, slot.getCurrentBookings(), slot.getMaxCapacity());
+    if (remaining <= 0) {
+      int capacity = ledger.getCapacity(slotId);
+      throw new SlotFullException(slotId, capacity - remaining, capacity);
     }
 
     return true;
@@ -49,13 +60,19 @@ public class SlotManager {
    * @throws SlotNotFoundException if slot doesn't exist
    */
   public int getAvailableSeats(String slotId) throws SlotNotFoundException {
+    int remaining = ledger.getRemainingSeats(slotId);
+    if (remaining >= 0) {
+      return remaining;
+    }
+
     Slot slot = slotDAO.getSlotById(slotId);
 
     if (slot == null) {
       throw new SlotNotFoundException(slotId);
     }
 
-    return slot.getMaxCapacity() - slot.getCurrentBookings();
+    ledger.track(slot);
+    return Math.max(0, slot.getMaxCapacity() - slot.getCurrentBookings());
   }
 
   /**
@@ -75,7 +92,17 @@ public class SlotManager {
    * @return Total number of slots
    */
   public int getTotalSlots(String centerId) {
-    return slotDAO.getSlotsByCenterId(centerId).size();
+    return slotDAO.countSlotsByCenterId(centerId);
+  }
+
+  /**
+   * Gets the number of slots in a gym center that still have free seats.
+   * 
+   * @param centerId The gym center ID
+   * @return Number of slots with available seats
+   */
+  public int getAvailableSlotCount(String centerId) {
+    return slotDAO.countAvailableSlotsByCenterId(centerId);
   }
 
   /**
@@ -0,0 +1,250 @@
+package com.flipfit.business;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import com.flipfit.bean.CenterUtilisation;
+import com.flipfit.bean.GymCenter;
+import com.flipfit.bean.Slot;
+import com.flipfit.bean.UtilisationCell;
+import com.flipfit.bean.UtilisationReport;
+import com.flipfit.dao.GymCenterCache;
+import com.flipfit.dao.GymCenterDAO;
+import com.flipfit.dao.SlotScheduleCache;
+import com.flipfit.dao.WaitlistDAO;
+import com.flipfit.dao.WaitlistDAOImpl;
+
+/**
+ * Builds per-center, per-weekday, per-hour utilisation heatmaps for a gym
+ * owner, so they can see which hours fill up and where to add capacity.
+ *
+ * The owner's slots are flattened into parallel int arrays (cell, capacity,
+ * booked, waiting) and summed into one int[] per cell and field. Large
+ * reports are summed with a parallel stream, each fork filling its own
+ * array and the forks' arrays added together at the end, so no cell is
+ * shared between threads and nothing is boxed.
+ *
+ * A report stays cached until the booking version of one of the owner's
+ * centers changes (see SlotScheduleCache.getBookingVersion) or the owner's
+ * set of centers changes. Joining a waitlist does not change a version,
+ * so waitlist figures can lag until the next seat change in that center.
+ */
+public class UtilisationReportService {
+
+	private static final int DAYS = 7;
+	private static final int HOURS = 24;
+	private static final int CELLS_PER_CENTER = DAYS * HOURS;
+
+	// Fields summed per cell, in this order
+	private static final int SLOTS = 0;
+	private static final int CAPACITY = 1;
+	private static final int BOOKED = 2;
+	private static final int WAITING = 3;
+	private static final int FIELDS = 4;
+
+	// Below this many slots a sequential sum is faster than forking
+	private static final int PARALLEL_THRESHOLD = 10_000;
+
+	private static final int MAX_CACHED_OWNERS = 1_000;
+
+	private final GymCenterDAO gymCenterDAO;
+	private final SlotScheduleCache slotDAO;
+	private final WaitlistDAO waitlistDAO;
+
+	private final Map<String, CachedReport> reports = new ConcurrentHashMap<>();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Default constructor preserves legacy behavior (creates default DAO implementations).
+	 */
+	public UtilisationReportService() {
+		this(GymCenterCache.getInstance(), SlotScheduleCache.getInstance(), new WaitlistDAOImpl());
+	}
+
+	/**
+	 * Constructor for dependency injection (used by REST wiring/tests).
+	 */
+	public UtilisationReportService(GymCenterDAO gymCenterDAO, SlotScheduleCache slotDAO, WaitlistDAO waitlistDAO) {
+		this.gymCenterDAO = gymCenterDAO;
+		this.slotDAO = slotDAO;
+		this.waitlistDAO = waitlistDAO;
+	}
+
+	/**
+	 * Gets the utilisation heatmaps of all the owner's centers.
+	 *
+	 * @param ownerId the gym owner's user ID
+	 * @return the report; its center list is empty if the owner has no centers
+	 * @throws IllegalArgumentException if ownerId is null or empty
+	 */
+	public UtilisationReport getReport(String ownerId) {
+		if (ownerId == null || ownerId.trim().isEmpty()) {
+			throw new IllegalArgumentException("Owner ID cannot be null or empty");
+		}
+
+		List<GymCenter> centers = gymCenterDAO.getGymCentersByOwnerId(ownerId);
+		// read before the slots, so a change during the build makes this entry stale at once
+		long[] versions = new long[centers.size()];
+		for (int c = 0; c < centers.size(); c++) {
+			versions[c] = slotDAO.getBookingVersion(centers.get(c).getCenterId());
+		}
+
+		CachedReport cached = reports.get(ownerId);
+		if (cached != null && cached.matches(centers, versions)) {
+			hits.incrementAndGet();
+			return cached.report;
+		}
+		misses.incrementAndGet();
+
+		UtilisationReport report = build(ownerId, centers);
+		if (!reports.containsKey(ownerId) && reports.size() >= MAX_CACHED_OWNERS) {
+			Iterator<String> it = reports.keySet().iterator();
+			if (it.hasNext()) {
+				reports.remove(it.next());
+			}
+		}
+		reports.put(ownerId, new CachedReport(report, centers, versions));
+		return report;
+	}
+
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	private UtilisationReport build(String ownerId, List<GymCenter> centers) {
+		long started = System.nanoTime();
+
+		List<List<Slot>> slotsByCenter = new ArrayList<>(centers.size());
+		int n = 0;
+		for (GymCenter center : centers) {
+			List<Slot> slots = slotDAO.getSlotsByCenterId(center.getCenterId());
+			slotsByCenter.add(slots);
+			n += slots.size();
+		}
+
+		int[] cell = new int[n];
+		int[] capacity = new int[n];
+		int[] booked = new int[n];
+		int[] waiting = new int[n];
+		int k = 0;
+		for (int c = 0; c < centers.size(); c++) {
+			for (Slot slot : slotsByCenter.get(c)) {
+				if (slot.getSlotDate() == null || slot.getStartTime() == null) {
+					continue;
+				}
+				cell[k] = c * CELLS_PER_CENTER
+						+ (slot.getSlotDate().getDayOfWeek().getValue() - 1) * HOURS
+						+ slot.getStartTime().getHour();
+				capacity[k] = slot.getMaxCapacity();
+				booked[k] = slot.getCurrentBookings();
+				waiting[k] = waitlistDAO.getWaitlistSize(slot.getSlotId());
+				k++;
+			}
+		}
+		int[] sums = aggregate(k, centers.size() * CELLS_PER_CENTER, cell, capacity, booked, waiting);
+
+		List<CenterUtilisation> result = new ArrayList<>(centers.size());
+		for (int c = 0; c < centers.size(); c++) {
+			result.add(toCenter(centers.get(c), c, sums));
+		}
+
+		UtilisationReport report = new UtilisationReport();
+		report.setOwnerId(ownerId);
+		report.setGeneratedAt(LocalDateTime.now());
+		report.setCenters(result);
+		report.setComputeMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+		return report;
+	}
+
+	/**
+	 * Sums the first count slots into FIELDS ints per cell.
+	 */
+	private static int[] aggregate(int count, int cells, int[] cell, int[] capacity, int[] booked, int[] waiting) {
+		IntStream indexes = IntStream.range(0, count);
+		if (count >= PARALLEL_THRESHOLD) {
+			indexes = indexes.parallel();
+		}
+		return indexes.collect(() -> new int[cells * FIELDS], (acc, i) -> {
+			int base = cell[i] * FIELDS;
+			acc[base + SLOTS]++;
+			acc[base + CAPACITY] += capacity[i];
+			acc[base + BOOKED] += booked[i];
+			acc[base + WAITING] += waiting[i];
+		}, (a, b) -> {
+			for (int i = 0; i < a.length; i++) {
+				a[i] += b[i];
+			}
+		});
+	}
+
+	private static CenterUtilisation toCenter(GymCenter center, int c, int[] sums) {
+		CenterUtilisation result = new CenterUtilisation();
+		result.setCenterId(center.getCenterId());
+		result.setCenterName(center.getName());
+
+		List<UtilisationCell> cells = new ArrayList<>();
+		for (int offset = 0; offset < CELLS_PER_CENTER; offset++) {
+			int base = (c * CELLS_PER_CENTER + offset) * FIELDS;
+			if (sums[base + SLOTS] == 0) {
+				continue;
+			}
+			UtilisationCell cell = new UtilisationCell();
+			cell.setDayOfWeek(offset / HOURS + 1);
+			cell.setHour(offset % HOURS);
+			cell.setSlots(sums[base + SLOTS]);
+			cell.setSeatCapacity(sums[base + CAPACITY]);
+			cell.setSeatsBooked(sums[base + BOOKED]);
+			cell.setWaitlisted(sums[base + WAITING]);
+			cells.add(cell);
+
+			result.setSlots(result.getSlots() + cell.getSlots());
+			result.setSeatCapacity(result.getSeatCapacity() + cell.getSeatCapacity());
+			result.setSeatsBooked(result.getSeatsBooked() + cell.getSeatsBooked());
+			result.setWaitlisted(result.getWaitlisted() + cell.getWaitlisted());
+		}
+		result.setCells(cells);
+		return result;
+	}
+
+	/**
+	 * A built report with the centers and booking versions it was built from.
+	 */
+	private static final class CachedReport {
+		private final UtilisationReport report;
+		private final String[] centerIds;
+		private final long[] versions;
+
+		CachedReport(UtilisationReport report, List<GymCenter> centers, long[] versions) {
+			this.report = report;
+			this.centerIds = new String[centers.size()];
+			for (int c = 0; c < centerIds.length; c++) {
+				centerIds[c] = centers.get(c).getCenterId();
+			}
+			this.versions = versions;
+		}
+
+		boolean matches(List<GymCenter> centers, long[] currentVersions) {
+			if (centers.size() != centerIds.length) {
+				return false;
+			}
+			for (int c = 0; c < centerIds.length; c++) {
+				if (!centerIds[c].equals(centers.get(c).getCenterId()) || versions[c] != currentVersions[c]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,268 @@
+package com.flipfit.business;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.SlidingTimeWindowArrayReservoir;
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.BookingStatus;
+import com.flipfit.bean.Notification;
+import com.flipfit.dao.BookingDAO;
+import com.flipfit.dao.NotificationOutboxDAO;
+import com.flipfit.dao.SlotDAO;
+import com.flipfit.dao.WaitlistDAO;
+import com.flipfit.utils.DBConnection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fills seats freed by cancellations from the slot's waitlist.
+ *
+ * Cancellations call {@link #publish(String)}, which only records a
+ * SeatReleased event and returns. Events for the same slot are merged
+ * until a worker picks the slot up, so a class cancelled seat by seat
+ * turns into one promotion run for N users, done in one transaction.
+ *
+ * The worker pool and its queue are bounded. When both are full the
+ * cancelling thread runs the promotion itself, which slows cancellations
+ * down instead of piling more work onto MySQL.
+ *
+ * Promotion latency (first release to committed booking) is recorded in
+ * a histogram, in milliseconds.
+ *
+ * With an outbox set, the "promoted" notifications are written in the
+ * same transaction as the bookings, like BookingServiceImpl does.
+ */
+public class WaitlistPromotionPipeline {
+
+	private static final Logger LOG = LoggerFactory.getLogger(WaitlistPromotionPipeline.class);
+	private static final int LOCK_STRIPES = 64;
+
+	private final WaitlistDAO waitlistDAO;
+	private final SlotDAO slotDAO;
+	private final BookingDAO bookingDAO;
+	private final INotificationProvider notificationService;
+	private final SlotCapacityLedger ledger = SlotCapacityLedger.getInstance();
+	private NotificationOutboxDAO notificationOutbox;
+
+	private final ThreadPoolExecutor workers;
+	private final Map<String, PendingRelease> pending = new ConcurrentHashMap<>();
+	// fixed set of locks shared by slots that hash alike, so it does not grow with the slots seen
+	private final Object[] slotLocks = new Object[LOCK_STRIPES];
+
+	private final Histogram promotionLatency = new Histogram(new SlidingTimeWindowArrayReservoir(5, TimeUnit.MINUTES));
+	private final AtomicLong releasedSeats = new AtomicLong();
+	private final AtomicLong promotedUsers = new AtomicLong();
+
+	/**
+	 * @param workerCount   number of promotion threads
+	 * @param queueCapacity slots that may wait for a worker before callers run promotions themselves
+	 */
+	public WaitlistPromotionPipeline(WaitlistDAO waitlistDAO, SlotDAO slotDAO, BookingDAO bookingDAO,
+			INotificationProvider notificationService, int workerCount, int queueCapacity) {
+		this.waitlistDAO = waitlistDAO;
+		this.slotDAO = slotDAO;
+		this.bookingDAO = bookingDAO;
+		this.notificationService = notificationService;
+		for (int i = 0; i < slotLocks.length; i++) {
+			slotLocks[i] = new Object();
+		}
+
+		AtomicInteger threadIds = new AtomicInteger();
+		this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), r -> {
+					Thread t = new Thread(r, "waitlist-promoter-" + threadIds.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	/**
+	 * Writes promotion notifications to the outbox inside the promotion
+	 * transaction instead of sending them after commit.
+	 */
+	public void setNotificationOutbox(NotificationOutboxDAO notificationOutbox) {
+		this.notificationOutbox = notificationOutbox;
+	}
+
+	/**
+	 * Records that one seat in the slot was freed. Returns immediately
+	 * unless the pipeline is saturated.
+	 *
+	 * @param slotId The slot ID
+	 */
+	public void publish(String slotId) {
+		releasedSeats.incrementAndGet();
+		boolean[] schedule = { false };
+		pending.compute(slotId, (k, release) -> {
+			if (release == null) {
+				release = new PendingRelease(System.nanoTime());
+				schedule[0] = true;
+			}
+			release.seats++;
+			return release;
+		});
+		if (schedule[0]) {
+			workers.execute(() -> drain(slotId));
+		}
+	}
+
+	private void drain(String slotId) {
+		PendingRelease release = pending.remove(slotId);
+		if (release == null) {
+			return;
+		}
+		try {
+			// one run per slot at a time, so two workers never offer the same waitlisted users
+			synchronized (slotLocks[(slotId.hashCode() & 0x7fffffff) % slotLocks.length]) {
+				promote(slotId, release.seats, release.releasedAt);
+			}
+		} catch (RuntimeException e) {
+			LOG.error("Waitlist promotion failed slotId={}", slotId, e);
+		}
+	}
+
+	private void promote(String slotId, int seats, long releasedAt) {
+		List<Booking> booked = new ArrayList<>();
+		waitlistDAO.promoteUsers(slotId, seats, candidates -> bookAll(slotId, candidates, booked));
+		if (booked.isEmpty()) {
+			return;
+		}
+
+		long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - releasedAt);
+		for (Booking booking : booked) {
+			ledger.tryAcquire(slotId);
+			promotionLatency.update(latencyMillis);
+			if (notificationOutbox == null) {
+				notificationService.sendNotification(booking.getUserId(), promotedMessage(booking));
+			}
+		}
+		promotedUsers.addAndGet(booked.size());
+	}
+
+	/**
+	 * Books the candidates in order inside one transaction. Stops at the
+	 * first user who cannot get a seat; users whose waitlist row is
+	 * already gone are skipped.
+	 *
+	 * @return how many candidates, from the head, left the waitlist
+	 */
+	private int bookAll(String slotId, List<String> candidates, List<Booking> booked) {
+		int taken = 0;
+		Connection conn = null;
+		try {
+			conn = DBConnection.getConnection();
+			conn.setAutoCommit(false);
+
+			for (String userId : candidates) {
+				if (!slotDAO.reserveSeat(conn, slotId)) {
+					break;
+				}
+				if (!waitlistDAO.removeUser(conn, slotId, userId)) {
+					slotDAO.releaseSeat(conn, slotId);
+					taken++;
+					continue;
+				}
+				Booking booking = new Booking();
+				booking.setBookingId(UUID.randomUUID().toString());
+				booking.setUserId(userId);
+				booking.setSlotId(slotId);
+				booking.setBookingDate(new Date());
+				booking.setStatus(BookingStatus.CONFIRMED);
+				if (!bookingDAO.createBooking(conn, booking)) {
+					throw new SQLException("Booking could not be saved for " + userId);
+				}
+				booked.add(booking);
+				taken++;
+			}
+			stageNotifications(conn, booked);
+
+			conn.commit();
+			slotDAO.applySeatChanges(conn);
+			return taken;
+		} catch (SQLException e) {
+			try { if (conn != null) conn.rollback(); } catch (SQLException ex) {}
+			LOG.error("Waitlist promotion transaction failed slotId={}", slotId, e);
+			booked.clear();
+			return 0;
+		} finally {
+			if (conn != null) {
+				// seat changes of a rolled-back transaction never reach the slot cache
+				slotDAO.discardSeatChanges(conn);
+				try { conn.setAutoCommit(true); conn.close(); } catch (SQLException e) {}
+			}
+		}
+	}
+
+	/**
+	 * Writes a notification per booking to the outbox on the transaction's connection, if an outbox is set.
+	 */
+	private void stageNotifications(Connection conn, List<Booking> booked) throws SQLException {
+		if (notificationOutbox == null || booked.isEmpty()) {
+			return;
+		}
+		List<Notification> notices = new ArrayList<>(booked.size());
+		long now = System.currentTimeMillis();
+		for (Booking booking : booked) {
+			notices.add(new Notification(booking.getUserId(), promotedMessage(booking), now));
+		}
+		if (!notificationOutbox.enqueue(conn, notices)) {
+			throw new SQLException("Notifications could not be written to the outbox");
+		}
+	}
+
+	private static String promotedMessage(Booking booking) {
+		return "Good news! You have been PROMOTED from the waitlist. Booking ID: " + booking.getBookingId();
+	}
+
+	/**
+	 * Stops the workers, letting queued promotions finish for up to the timeout.
+	 */
+	public void shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+		workers.shutdown();
+		workers.awaitTermination(timeout, unit);
+	}
+
+	/** Release-to-booking latency in milliseconds. */
+	public Histogram getPromotionLatency() {
+		return promotionLatency;
+	}
+
+	public long getReleasedSeats() {
+		return releasedSeats.get();
+	}
+
+	public long getPromotedUsers() {
+		return promotedUsers.get();
+	}
+
+	/** Slots with releases waiting for a worker. */
+	public int getPendingSlots() {
+		return pending.size();
+	}
+
+	/**
+	 * Seats released in one slot since a worker last picked it up.
+	 */
+	private static final class PendingRelease {
+		private final long releasedAt;
+		private int seats;
+
+		PendingRelease(long releasedAt) {
+			this.releasedAt = releasedAt;
+		}
+	}
+}
@@ -7,19 +7,34 @@ import com.flipfit.bean.GymCustomer;
 import com.flipfit.bean.Slot;
 import com.flipfit.dao.WaitlistDAO;
 import com.flipfit.dao.WaitlistDAOImpl;
-import com.flipfit.dao.GymOwnerDAO;
-import com.flipfit.dao.GymOwnerDAOImpl;
 import com.flipfit.dao.SlotDAO;
-import com.flipfit.dao.SlotDAOImpl;
+import com.flipfit.dao.SlotScheduleCache;
 
 
 public class WaitlistServiceImpl implements WaitlistService {
 
-	private WaitlistDAO waitlistDAO = new WaitlistDAOImpl();
-	private GymOwnerDAO gymOwnerDAO = new GymOwnerDAOImpl();
-	private BookingService bookingService = new BookingServiceImpl();
-	private INotificationProvider notificationService = new NotificationServiceImpl();
-	private SlotDAO slotDAO = new SlotDAOImpl();
+	private WaitlistDAO waitlistDAO;
+	private BookingService bookingService;
+	private INotificationProvider notificationService;
+	private SlotDAO slotDAO;
+
+	/**
+	 * Default constructor preserves legacy behavior (creates default DAO implementations).
+	 */
+	public WaitlistServiceImpl() {
+		this(new WaitlistDAOImpl(), SlotScheduleCache.getInstance(), new BookingServiceImpl(), new NotificationServiceImpl());
+	}
+
+	/**
+	 * Constructor for dependency injection (used by REST wiring/tests).
+	 */
+	public WaitlistServiceImpl(WaitlistDAO waitlistDAO, SlotDAO slotDAO, BookingService bookingService,
+			INotificationProvider notificationService) {
+		this.waitlistDAO = waitlistDAO;
+		this.slotDAO = slotDAO;
+		this.bookingService = bookingService;
+		this.notificationService = notificationService;
+	}
 
 	// Shared slot storage
 	//private static java.util.Map<String, Slot> slotMap = GymServiceImpl.slotMap;
@@ -33,11 +48,15 @@ public class WaitlistServiceImpl implements WaitlistService {
 			return;
 		}
 
-		waitlistDAO.addUserToWaitlist(slotId, customerId);
+		if (!waitlistDAO.addUserToWaitlist(slotId, customerId)) {
+			System.out.println("Customer is already on the waitlist for Slot ID: " + slotId);
+			return;
+		}
 
 		notificationService.sendNotification(
 				customerId,
 				"Slot is full. You have been added to the WAITLIST for Slot ID: " + slotId
+						+ " (position " + waitlistDAO.getPosition(slotId, customerId) + ")"
 		);
 		
 	}
@@ -1,6 +1,7 @@
 package com.flipfit.client;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
@@ -29,12 +30,13 @@ public class AdminFlipFitMenu {
 				System.out.println("7. View System Analytics");
 				System.out.println("8. Manage City Data");
 				System.out.println("9. Approve Gym Owner");
-				System.out.println("10. Logout");
+				System.out.println("10. View Customer Growth");
+				System.out.println("11. Logout");
 				System.out.print("Enter choice: ");
 				int choice = sc.nextInt();
 				sc.nextLine(); // Consume newline
 
-				if (choice == 10)
+				if (choice == 11)
 					break;
 
 				switch (choice) {
@@ -65,6 +67,9 @@ public class AdminFlipFitMenu {
 					case 9:
 						approveGymOwner(sc);
 						break;
+					case 10:
+						adminService.viewCustomerGrowth();
+						break;
 					default:
 						System.out.println("Invalid choice.");
 				}
@@ -260,19 +265,22 @@ public class AdminFlipFitMenu {
 		private static void approveGymOwner(Scanner sc) {
 			UserDAO userDAO = new UserDAOImpl();
 			GymOwnerDAO gymOwnerDAO = new GymOwnerDAOImpl();
-			List<User> allUsers = userDAO.getAllUsers();
 			List<GymOwner> allOwners = gymOwnerDAO.getAllGymOwners();
 
 // 2. Create a Map of Owners for fast O(1) lookup by ID
 			Map<String, GymOwner> ownerMap = allOwners.stream()
 					.collect(Collectors.toMap(GymOwner::getUserId, go -> go));
 
-// 3. Join and Filter
-			List<GymOwner> owners = allUsers.stream()
-					.filter(u -> Role.GYM_OWNER.equals(u.getRole()))      // Only look at users with the right role
-					.map(u -> ownerMap.get(u.getUserId()))            // "Join" by getting the GymOwner object from our map
-					.filter(go -> go != null && !go.isVerified())     // Filter for unverified (and ensure owner exists)
-					.toList();
+// 3. Join and Filter while streaming the user table (no full user list in memory)
+			List<GymOwner> owners = new ArrayList<>();
+			userDAO.forEachUser(u -> {
+				if (Role.GYM_OWNER.equals(u.getRole())) {             // Only look at users with the right role
+					GymOwner go = ownerMap.get(u.getUserId());        // "Join" by getting the GymOwner object from our map
+					if (go != null && !go.isVerified()) {             // Filter for unverified (and ensure owner exists)
+						owners.add(go);
+					}
+				}
+			});
 
 			if (owners.isEmpty()) {
 				System.out.println("\nNo gym owners registered.");
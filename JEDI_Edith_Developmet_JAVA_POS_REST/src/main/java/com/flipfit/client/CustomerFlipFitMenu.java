@@ -9,14 +9,26 @@ import com.flipfit.business.GymService;
 import com.flipfit.business.GymServiceImpl;
 import com.flipfit.business.BookingService;
 import com.flipfit.business.BookingServiceImpl;
+import com.flipfit.business.NotificationServiceImpl;
+import com.flipfit.business.WaitlistPromotionPipeline;
 import com.flipfit.dao.*;
 
 public class CustomerFlipFitMenu {
 	private static GymService gymService = new GymServiceImpl();
 	private static GymOwnerDAOImpl gymDAO = new GymOwnerDAOImpl();
-	private static BookingService bookingService = new BookingServiceImpl();
-	private static GymCenterDAO gymCenterDAO = new GymCenterDAOImpl();
-	private static SlotDAO slotDAO = new SlotDAOImpl();
+	private static BookingService bookingService = createBookingService();
+	private static GymCenterDAO gymCenterDAO = GymCenterCache.getInstance();
+	private static SlotDAO slotDAO = SlotScheduleCache.getInstance();
+
+	/**
+	 * Booking service whose cancellations hand freed seats to the slot's waitlist.
+	 */
+	private static BookingService createBookingService() {
+		BookingServiceImpl service = new BookingServiceImpl();
+		service.setPromotionPipeline(new WaitlistPromotionPipeline(new WaitlistDAOImpl(), SlotScheduleCache.getInstance(),
+				new BookingDAOImpl(), new NotificationServiceImpl(), 1, 64));
+		return service;
+	}
 
 	public static void showMenu(String userId) {
 		Scanner sc = new Scanner(System.in);
@@ -63,10 +75,7 @@ public class CustomerFlipFitMenu {
 	}
 
 	private static void viewAllCenters() {
-		List<GymCenter> allCenters = gymCenterDAO.getAllGymCenters();
-		List<GymCenter> activeCenters = allCenters.stream()
-				.filter(GymCenter::isActive)
-				.toList();
+		List<GymCenter> activeCenters = gymCenterDAO.getGymCentersByStatus(true);
 
 		if (activeCenters.isEmpty()) {
 			System.out.println("\nNo active gym centers available.");
@@ -112,8 +121,7 @@ public class CustomerFlipFitMenu {
 	}
 
 	private static void bookSlotFlow(Scanner sc, String userId) {
-		List<GymCenter> allCenters = gymCenterDAO.getAllGymCenters();
-		List<GymCenter> activeCenters = allCenters.stream().filter(GymCenter::isActive).toList();
+		List<GymCenter> activeCenters = gymCenterDAO.getGymCentersByStatus(true);
 
 		if (activeCenters.isEmpty()) {
 			System.out.println("No active gym centers available to book.");
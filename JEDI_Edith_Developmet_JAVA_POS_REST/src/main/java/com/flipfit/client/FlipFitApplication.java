@@ -6,6 +6,8 @@ import com.flipfit.bean.GymAdmin;
 import java.util.UUID;
 import com.flipfit.business.AccountService;
 import com.flipfit.business.AccountServiceImpl;
+import com.flipfit.business.SlotCapacityLedger;
+import com.flipfit.dao.SlotScheduleCache;
 import com.flipfit.dao.UserDAO;
 import com.flipfit.dao.UserDAOImpl;
 import com.flipfit.bean.User;
@@ -18,6 +20,9 @@ public class FlipFitApplication {
     private static UserDAO userDAO = new UserDAOImpl();
 
     public static void main(String[] args) {
+        // Slot edits and deletions made from the menus keep the seat ledger in step
+        SlotScheduleCache.getInstance().addWriteListener(SlotCapacityLedger.getInstance());
+
         // Seed default admin so AdminFlipFitMenu is reachable
         GymAdmin defaultAdmin = new GymAdmin(UUID.randomUUID().toString(), "Admin", "admin@flipfit.com", "admin123", "9999999999", "Bangalore");
         if (userDAO.getUserProfile("admin@flipfit.com") == null) {
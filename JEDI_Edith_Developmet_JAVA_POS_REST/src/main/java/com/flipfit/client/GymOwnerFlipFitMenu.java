@@ -1,18 +1,26 @@
 package com.flipfit.client;
 
+import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.time.format.TextStyle;
 import java.util.List;
+import java.util.Locale;
 import java.util.Scanner;
+import com.flipfit.bean.CenterUtilisation;
 import com.flipfit.bean.GymCenter;
 import com.flipfit.bean.Slot;
+import com.flipfit.bean.UtilisationCell;
+import com.flipfit.bean.UtilisationReport;
 import com.flipfit.business.GymService;
 import com.flipfit.business.GymServiceImpl;
+import com.flipfit.business.UtilisationReportService;
 import com.flipfit.dao.GymCenterDAO;
-import com.flipfit.dao.GymCenterDAOImpl;
+import com.flipfit.dao.GymCenterCache;
 
 public class GymOwnerFlipFitMenu {
 	private static GymService gymService = new GymServiceImpl();
-	private static GymCenterDAO gymCenterDAO = new GymCenterDAOImpl();
+	private static GymCenterDAO gymCenterDAO = GymCenterCache.getInstance();
+	private static UtilisationReportService reportService = new UtilisationReportService();
 
 	public static void showMenu(String ownerId) {
 		Scanner sc = new Scanner(System.in);
@@ -23,12 +31,13 @@ public class GymOwnerFlipFitMenu {
 				System.out.println("2. Add Slots to Center");
 				System.out.println("3. View My Registered Centers");
 				System.out.println("4. Update Center Details");
-				System.out.println("5. Logout");
+				System.out.println("5. View Slot Utilisation Heatmap");
+				System.out.println("6. Logout");
 				System.out.print("Enter choice: ");
 				int choice = sc.nextInt();
 				sc.nextLine(); // Consume newline
 
-				if (choice == 5)
+				if (choice == 6)
 					break;
 
 				switch (choice) {
@@ -44,6 +53,9 @@ public class GymOwnerFlipFitMenu {
 				case 4:
 					updateCenterDetails(sc, ownerId);
 					break;
+				case 5:
+					viewUtilisationHeatmap(ownerId);
+					break;
 				default:
 					System.out.println("Invalid choice.");
 			}
@@ -163,6 +175,59 @@ public class GymOwnerFlipFitMenu {
 		}
 	}
 
+	private static void viewUtilisationHeatmap(String ownerId) {
+		System.out.println("\n--- Slot Utilisation Heatmap ---");
+
+		UtilisationReport report = reportService.getReport(ownerId);
+		if (report.getCenters().isEmpty()) {
+			System.out.println("You have no registered gym centers.");
+			return;
+		}
+
+		for (CenterUtilisation center : report.getCenters()) {
+			System.out.println("\n" + center.getCenterName() + " (ID: " + center.getCenterId() + ")");
+			if (center.getCells().isEmpty()) {
+				System.out.println("   No slots yet.");
+				continue;
+			}
+			System.out.println("   Overall: " + center.getSeatsBooked() + "/" + center.getSeatCapacity() + " seats ("
+					+ String.format("%.0f%%", center.getUtilisation() * 100) + "), " + center.getWaitlisted()
+					+ " waitlisted");
+
+			// One row per weekday: booked share of seats per start hour, '+' marks a waitlist
+			int firstHour = 23;
+			int lastHour = 0;
+			for (UtilisationCell cell : center.getCells()) {
+				firstHour = Math.min(firstHour, cell.getHour());
+				lastHour = Math.max(lastHour, cell.getHour());
+			}
+			StringBuilder header = new StringBuilder("        ");
+			for (int hour = firstHour; hour <= lastHour; hour++) {
+				header.append(String.format("%6s", String.format("%02d:00", hour)));
+			}
+			System.out.println(header);
+
+			int next = 0;
+			List<UtilisationCell> cells = center.getCells();
+			for (int day = 1; day <= 7; day++) {
+				StringBuilder row = new StringBuilder("   ")
+						.append(String.format("%-5s", DayOfWeek.of(day).getDisplayName(TextStyle.SHORT, Locale.ENGLISH)));
+				for (int hour = firstHour; hour <= lastHour; hour++) {
+					if (next < cells.size() && cells.get(next).getDayOfWeek() == day && cells.get(next).getHour() == hour) {
+						UtilisationCell cell = cells.get(next++);
+						String value = String.format("%.0f%%", cell.getUtilisation() * 100)
+								+ (cell.getWaitlisted() > 0 ? "+" : "");
+						row.append(String.format("%6s", value));
+					} else {
+						row.append(String.format("%6s", "-"));
+					}
+				}
+				System.out.println(row);
+			}
+		}
+		System.out.println("\n('+' = users waiting for that hour; consider adding capacity there)");
+	}
+
 	private static void updateCenterDetails(Scanner sc, String ownerId) {
 		System.out.println("\n--- Update Center Details ---");
 
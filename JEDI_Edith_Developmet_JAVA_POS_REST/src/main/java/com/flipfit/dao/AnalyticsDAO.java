@@ -0,0 +1,21 @@
+package com.flipfit.dao;
+
+import com.flipfit.bean.AnalyticsSummary;
+import com.flipfit.bean.CenterDailyStats;
+import com.flipfit.bean.CustomerDailyStats;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AnalyticsDAO {
+    // When center_daily_stats was last rebuilt, or null if it never was
+    LocalDateTime getLastRefresh();
+    // Rebuilds the per-center rows for slot dates on or after from (null rebuilds every date)
+    boolean refreshCenterStats(LocalDate from, LocalDateTime refreshedAt);
+    // Rolls gym_customer registrations up by day, starting again from the last rolled-up day
+    boolean refreshCustomerStats();
+    List<CenterDailyStats> getCenterStats(LocalDate from, LocalDate to, String centerId);
+    List<CustomerDailyStats> getCustomerGrowth(LocalDate from, LocalDate to);
+    // Reads the counters behind the admin dashboard from the rollups; null on error
+    AnalyticsSummary loadSummary(LocalDate today);
+}
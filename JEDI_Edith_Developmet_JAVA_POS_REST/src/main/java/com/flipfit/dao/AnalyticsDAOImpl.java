@@ -0,0 +1,250 @@
+package com.flipfit.dao;
+
+import com.flipfit.bean.AnalyticsSummary;
+import com.flipfit.bean.CenterDailyStats;
+import com.flipfit.bean.CustomerDailyStats;
+import com.flipfit.utils.DBConnection;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of AnalyticsDAO using JDBC and MySQL database.
+ *
+ * The rollup tables are rebuilt from slot, booking, waitlist and
+ * gym_customer by INSERT ... SELECT, so the rows never leave the database.
+ * Per-slot booking and waitlist counts are correlated subqueries on the
+ * slotID indexes, which keeps a refresh proportional to the slots in the
+ * window rather than to the whole booking table.
+ */
+public class AnalyticsDAOImpl implements AnalyticsDAO {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AnalyticsDAOImpl.class);
+
+    private static final String CENTER_ROLLUP =
+            "INSERT INTO center_daily_stats (centerID, statDate, slots, seatCapacity, seatsBooked, " +
+            "bookings, cancellations, waitlisted, refreshedAt) " +
+            "SELECT centerID, slotDate, COUNT(*), SUM(maxCapacity), SUM(currentBookings), " +
+            "SUM(confirmed), SUM(cancelled), SUM(waiting), ? FROM (" +
+            "SELECT s.centerID, s.slotDate, s.maxCapacity, s.currentBookings, " +
+            "(SELECT COUNT(*) FROM booking b WHERE b.slotID = s.slotID AND b.status = 'CONFIRMED') AS confirmed, " +
+            "(SELECT COUNT(*) FROM booking b WHERE b.slotID = s.slotID AND b.status = 'CANCELLED') AS cancelled, " +
+            "(SELECT COUNT(*) FROM waitlist w WHERE w.slotID = s.slotID) AS waiting " +
+            "FROM slot s WHERE s.slotDate >= ?) per_slot " +
+            "GROUP BY centerID, slotDate";
+
+    private static final String CUSTOMER_ROLLUP =
+            "INSERT INTO customer_daily_stats (statDate, newCustomers) " +
+            "SELECT DATE(registrationDate), COUNT(*) FROM gym_customer " +
+            "WHERE registrationDate >= ? GROUP BY DATE(registrationDate)";
+
+    // Earliest date accepted as "everything"; slot and registration dates are never before it
+    private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+
+    @Override
+    public LocalDateTime getLastRefresh() {
+        String query = "SELECT MAX(refreshedAt) FROM center_daily_stats";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next() && rs.getTimestamp(1) != null) {
+                return rs.getTimestamp(1).toLocalDateTime();
+            }
+        } catch (SQLException e) {
+            LOG.error("Error reading analytics refresh time op=getLastRefresh table=center_daily_stats", e);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean refreshCenterStats(LocalDate from, LocalDateTime refreshedAt) {
+        Date fromDate = Date.valueOf(from == null ? EPOCH : from);
+        Connection conn = null;
+
+        try {
+            conn = DBConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            // rows for centers/dates whose slots were deleted must disappear too
+            try (PreparedStatement delete = conn.prepareStatement("DELETE FROM center_daily_stats WHERE statDate >= ?")) {
+                delete.setDate(1, fromDate);
+                delete.executeUpdate();
+            }
+            try (PreparedStatement insert = conn.prepareStatement(CENTER_ROLLUP)) {
+                insert.setTimestamp(1, Timestamp.valueOf(refreshedAt));
+                insert.setDate(2, fromDate);
+                insert.executeUpdate();
+            }
+
+            conn.commit();
+            return true;
+        } catch (SQLException e) {
+            try { if (conn != null) conn.rollback(); } catch (SQLException ex) {}
+            LOG.error("Error refreshing center stats op=refreshCenterStats table=center_daily_stats", e);
+            return false;
+        } finally {
+            if (conn != null) { try { conn.setAutoCommit(true); conn.close(); } catch (SQLException e) {} }
+        }
+    }
+
+    @Override
+    public boolean refreshCustomerStats() {
+        Connection conn = null;
+
+        try {
+            conn = DBConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            // the last rolled-up day may have been partial, so it is rolled up again
+            LocalDate from = EPOCH;
+            try (PreparedStatement last = conn.prepareStatement("SELECT MAX(statDate) FROM customer_daily_stats")) {
+                ResultSet rs = last.executeQuery();
+                if (rs.next() && rs.getDate(1) != null) {
+                    from = rs.getDate(1).toLocalDate();
+                }
+            }
+            try (PreparedStatement delete = conn.prepareStatement("DELETE FROM customer_daily_stats WHERE statDate >= ?")) {
+                delete.setDate(1, Date.valueOf(from));
+                delete.executeUpdate();
+            }
+            try (PreparedStatement insert = conn.prepareStatement(CUSTOMER_ROLLUP)) {
+                insert.setTimestamp(1, Timestamp.valueOf(from.atStartOfDay()));
+                insert.executeUpdate();
+            }
+
+            conn.commit();
+            return true;
+        } catch (SQLException e) {
+            try { if (conn != null) conn.rollback(); } catch (SQLException ex) {}
+            LOG.error("Error refreshing customer stats op=refreshCustomerStats table=customer_daily_stats", e);
+            return false;
+        } finally {
+            if (conn != null) { try { conn.setAutoCommit(true); conn.close(); } catch (SQLException e) {} }
+        }
+    }
+
+    @Override
+    public List<CenterDailyStats> getCenterStats(LocalDate from, LocalDate to, String centerId) {
+        String query = "SELECT * FROM center_daily_stats WHERE statDate BETWEEN ? AND ?" +
+                       (centerId == null ? "" : " AND centerID = ?") +
+                       " ORDER BY statDate, centerID";
+        List<CenterDailyStats> stats = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+
+            pstmt.setDate(1, Date.valueOf(from));
+            pstmt.setDate(2, Date.valueOf(to));
+            if (centerId != null) {
+                pstmt.setString(3, centerId);
+            }
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                CenterDailyStats s = new CenterDailyStats();
+                s.setCenterId(rs.getString("centerID"));
+                s.setDate(rs.getDate("statDate").toLocalDate());
+                s.setSlots(rs.getInt("slots"));
+                s.setSeatCapacity(rs.getInt("seatCapacity"));
+                s.setSeatsBooked(rs.getInt("seatsBooked"));
+                s.setBookings(rs.getInt("bookings"));
+                s.setCancellations(rs.getInt("cancellations"));
+                s.setWaitlisted(rs.getInt("waitlisted"));
+                stats.add(s);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error reading center stats op=getCenterStats table=center_daily_stats", e);
+        }
+        return stats;
+    }
+
+    @Override
+    public List<CustomerDailyStats> getCustomerGrowth(LocalDate from, LocalDate to) {
+        String query = "SELECT statDate, newCustomers FROM customer_daily_stats " +
+                       "WHERE statDate BETWEEN ? AND ? ORDER BY statDate";
+        List<CustomerDailyStats> growth = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+
+            pstmt.setDate(1, Date.valueOf(from));
+            pstmt.setDate(2, Date.valueOf(to));
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                CustomerDailyStats day = new CustomerDailyStats();
+                day.setDate(rs.getDate("statDate").toLocalDate());
+                day.setNewCustomers(rs.getInt("newCustomers"));
+                growth.add(day);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error reading customer growth op=getCustomerGrowth table=customer_daily_stats", e);
+        }
+        return growth;
+    }
+
+    @Override
+    public AnalyticsSummary loadSummary(LocalDate today) {
+        String gyms = "SELECT isActive, COUNT(*) FROM gym_center GROUP BY isActive";
+        String customers = "SELECT COALESCE(SUM(newCustomers), 0) FROM customer_daily_stats";
+        String day = "SELECT COALESCE(SUM(slots), 0), COALESCE(SUM(seatCapacity), 0), COALESCE(SUM(seatsBooked), 0), " +
+                     "COALESCE(SUM(bookings), 0), COALESCE(SUM(cancellations), 0) " +
+                     "FROM center_daily_stats WHERE statDate = ?";
+        String waiting = "SELECT COALESCE(SUM(waitlisted), 0) FROM center_daily_stats WHERE statDate >= ?";
+        AnalyticsSummary summary = new AnalyticsSummary();
+        summary.setDate(today);
+
+        try (Connection conn = DBConnection.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(gyms)) {
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    if ("true".equals(rs.getString(1))) {
+                        summary.setApprovedGyms(rs.getInt(2));
+                    } else {
+                        summary.setPendingGyms(summary.getPendingGyms() + rs.getInt(2));
+                    }
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(customers)) {
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    summary.setTotalCustomers(rs.getLong(1));
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(day)) {
+                pstmt.setDate(1, Date.valueOf(today));
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    summary.setSlotsToday(rs.getInt(1));
+                    summary.setSeatCapacityToday(rs.getInt(2));
+                    summary.setSeatsBookedToday(rs.getInt(3));
+                    summary.setBookingsToday(rs.getInt(4));
+                    summary.setCancellationsToday(rs.getInt(5));
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(waiting)) {
+                pstmt.setDate(1, Date.valueOf(today));
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    summary.setWaitlistedUpcoming(rs.getInt(1));
+                }
+            }
+            return summary;
+        } catch (SQLException e) {
+            LOG.error("Error loading analytics summary op=loadSummary table=gym_center", e);
+            return null;
+        }
+    }
+}
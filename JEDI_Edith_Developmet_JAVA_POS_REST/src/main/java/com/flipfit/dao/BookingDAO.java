@@ -3,7 +3,9 @@ package com.flipfit.dao;
 import com.flipfit.bean.Booking;
 import com.flipfit.bean.BookingStatus;
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object interface for Booking entity.
@@ -35,6 +37,15 @@ public interface BookingDAO {
      */
     List<Booking> getBookingsByUserId(String userId);
     
+    /**
+     * Retrieves a user's non-cancelled bookings whose slot overlaps the given slot
+     * (startA < endB && startB < endA), in one joined query.
+     * @param userId the user ID
+     * @param slotId the slot being booked
+     * @return the conflicting bookings
+     */
+    List<Booking> getConflictingBookings(String userId, String slotId);
+    
     /**
      * Retrieves all bookings for a specific slot.
      * @param slotId the slot ID
@@ -55,6 +66,23 @@ public interface BookingDAO {
      */
     List<Booking> getAllBookings();
     
+    /**
+     * Retrieves one page of bookings in bookingID order (keyset pagination).
+     * @param status only bookings with this status, or null for all
+     * @param afterBookingId the last ID of the previous page, or null for the first page
+     * @param limit the maximum number of rows to return
+     * @return up to limit bookings with an ID greater than afterBookingId
+     */
+    List<Booking> getBookingsPage(BookingStatus status, String afterBookingId, int limit);
+    
+    /**
+     * Streams bookings to the action in bookingID order, reading the
+     * result set in fetch-size chunks instead of building a list.
+     * @param status only bookings with this status, or null for all
+     * @param action called once per row
+     */
+    void forEachBooking(BookingStatus status, Consumer<Booking> action);
+    
     /**
      * Updates an existing booking.
      * @param booking the booking with updated information
@@ -80,9 +108,31 @@ public interface BookingDAO {
      */
     boolean cancelBooking(String bookingId);
 
-    /** Transactional variant */
+    /**
+     * Transactional variant. Only a booking that is not already cancelled is
+     * changed, so when two callers cancel the same booking only one gets true.
+     * @return true if this call cancelled the booking, false if it was missing or already cancelled
+     */
     boolean cancelBooking(Connection conn, String bookingId);
 
+    /**
+     * Reads several bookings in one query on the caller's connection,
+     * locking the rows until the transaction ends.
+     * @param conn the transactional connection
+     * @param bookingIds the booking IDs
+     * @return the bookings found (missing IDs are skipped)
+     * @throws SQLException if the query fails; callers roll back rather than treat it as no bookings
+     */
+    List<Booking> getBookingsByIds(Connection conn, List<String> bookingIds) throws SQLException;
+
+    /**
+     * Cancels several bookings with one UPDATE; already cancelled ones are left alone.
+     * @param conn the transactional connection
+     * @param bookingIds the booking IDs to cancel
+     * @return number of bookings cancelled, or -1 on error
+     */
+    int cancelBookings(Connection conn, List<String> bookingIds);
+
     /**
      * Deletes a booking by its ID.
      * @param bookingId the booking ID to delete
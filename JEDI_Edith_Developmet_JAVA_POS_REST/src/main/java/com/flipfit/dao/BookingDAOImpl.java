@@ -3,6 +3,7 @@ package com.flipfit.dao;
 import com.flipfit.bean.Booking;
 import com.flipfit.bean.BookingStatus;
 import com.flipfit.utils.DBConnection;
+import com.flipfit.utils.DBUtils;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -10,12 +11,18 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Implementation of BookingDAO using JDBC and MySQL database.
  */
 public class BookingDAOImpl implements BookingDAO {
 
+    private static final Logger LOG = LoggerFactory.getLogger(BookingDAOImpl.class);
+
     @Override
     public boolean createBooking(Booking booking) {
         String query = "INSERT INTO booking (bookingID, userID, slotID, bookingDate, status) " +
@@ -33,7 +40,7 @@ public class BookingDAOImpl implements BookingDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error creating booking: " + e.getMessage());
+            LOG.error("Error creating booking op=createBooking table=booking", e);
             return false;
         }
     }
@@ -53,7 +60,7 @@ public class BookingDAOImpl implements BookingDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error creating booking (transactional): " + e.getMessage());
+            LOG.error("Error creating booking (transactional) op=createBooking table=booking", e);
             return false;
         }
     }
@@ -72,7 +79,7 @@ public class BookingDAOImpl implements BookingDAO {
                 return mapResultSetToBooking(rs);
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting booking: " + e.getMessage());
+            LOG.error("Error getting booking op=getBookingById table=booking", e);
         }
         return null;
     }
@@ -92,7 +99,32 @@ public class BookingDAOImpl implements BookingDAO {
                 bookings.add(mapResultSetToBooking(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting bookings by user: " + e.getMessage());
+            LOG.error("Error getting bookings by user op=getBookingsByUserId table=booking", e);
+        }
+        return bookings;
+    }
+
+    @Override
+    public List<Booking> getConflictingBookings(String userId, String slotId) {
+        String query = "SELECT b.* FROM booking b " +
+                       "JOIN slot s ON s.slotID = b.slotID " +
+                       "JOIN slot t ON t.slotID = ? " +
+                       "WHERE b.userID = ? AND b.status <> 'CANCELLED' " +
+                       "AND s.startTime < t.endTime AND t.startTime < s.endTime";
+        List<Booking> bookings = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+
+            pstmt.setString(1, slotId);
+            pstmt.setString(2, userId);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                bookings.add(mapResultSetToBooking(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting conflicting bookings op=getConflictingBookings table=booking", e);
         }
         return bookings;
     }
@@ -112,7 +144,7 @@ public class BookingDAOImpl implements BookingDAO {
                 bookings.add(mapResultSetToBooking(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting bookings by slot: " + e.getMessage());
+            LOG.error("Error getting bookings by slot op=getBookingsBySlotId table=booking", e);
         }
         return bookings;
     }
@@ -132,11 +164,68 @@ public class BookingDAOImpl implements BookingDAO {
                 bookings.add(mapResultSetToBooking(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting bookings by status: " + e.getMessage());
+            LOG.error("Error getting bookings by status op=getBookingsByStatus table=booking", e);
+        }
+        return bookings;
+    }
+
+    @Override
+    public List<Booking> getBookingsPage(BookingStatus status, String afterBookingId, int limit) {
+        StringBuilder query = new StringBuilder("SELECT * FROM booking WHERE 1 = 1");
+        if (status != null) {
+            query.append(" AND status = ?");
+        }
+        if (afterBookingId != null) {
+            query.append(" AND bookingID > ?");
+        }
+        query.append(" ORDER BY bookingID LIMIT ?");
+        List<Booking> bookings = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query.toString())) {
+
+            int i = 1;
+            if (status != null) {
+                pstmt.setString(i++, status.toString());
+            }
+            if (afterBookingId != null) {
+                pstmt.setString(i++, afterBookingId);
+            }
+            pstmt.setInt(i, limit);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                bookings.add(mapResultSetToBooking(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting booking page op=getBookingsPage table=booking", e);
         }
         return bookings;
     }
 
+    @Override
+    public void forEachBooking(BookingStatus status, Consumer<Booking> action) {
+        String query = status == null
+                ? "SELECT * FROM booking ORDER BY bookingID"
+                : "SELECT * FROM booking WHERE status = ? ORDER BY bookingID";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            if (status != null) {
+                pstmt.setString(1, status.toString());
+            }
+            pstmt.setFetchSize(DBUtils.STREAM_FETCH_SIZE);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                action.accept(mapResultSetToBooking(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error streaming bookings op=forEachBooking table=booking", e);
+        }
+    }
+
     @Override
     public List<Booking> getAllBookings() {
         String query = "SELECT * FROM booking";
@@ -151,7 +240,7 @@ public class BookingDAOImpl implements BookingDAO {
                 bookings.add(mapResultSetToBooking(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting all bookings: " + e.getMessage());
+            LOG.error("Error getting all bookings op=getAllBookings table=booking", e);
         }
         return bookings;
     }
@@ -173,7 +262,7 @@ public class BookingDAOImpl implements BookingDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error updating booking: " + e.getMessage());
+            LOG.error("Error updating booking op=updateBooking table=booking", e);
             return false;
         }
     }
@@ -191,7 +280,7 @@ public class BookingDAOImpl implements BookingDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error updating booking status: " + e.getMessage());
+            LOG.error("Error updating booking status op=updateBookingStatus table=booking", e);
             return false;
         }
     }
@@ -205,7 +294,7 @@ public class BookingDAOImpl implements BookingDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error updating booking status (transactional): " + e.getMessage());
+            LOG.error("Error updating booking status (transactional) op=updateBookingStatus table=booking", e);
             return false;
         }
     }
@@ -217,7 +306,56 @@ public class BookingDAOImpl implements BookingDAO {
 
     @Override
     public boolean cancelBooking(Connection conn, String bookingId) {
-        return updateBookingStatus(conn, bookingId, BookingStatus.CANCELLED);
+        // guarded, so of two concurrent cancels only one sees a row change and frees the seat
+        String query = "UPDATE booking SET status = ? WHERE bookingID = ? AND status <> ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setString(1, BookingStatus.CANCELLED.toString());
+            pstmt.setString(2, bookingId);
+            pstmt.setString(3, BookingStatus.CANCELLED.toString());
+            int rowsAffected = pstmt.executeUpdate();
+            return rowsAffected > 0;
+        } catch (SQLException e) {
+            LOG.error("Error cancelling booking (transactional) op=cancelBooking table=booking", e);
+            return false;
+        }
+    }
+
+    @Override
+    public List<Booking> getBookingsByIds(Connection conn, List<String> bookingIds) throws SQLException {
+        List<Booking> bookings = new ArrayList<>();
+        if (bookingIds.isEmpty()) {
+            return bookings;
+        }
+        String query = "SELECT * FROM booking WHERE bookingID IN (" + DBUtils.placeholders(bookingIds.size()) + ") FOR UPDATE";
+        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+            for (int i = 0; i < bookingIds.size(); i++) {
+                pstmt.setString(i + 1, bookingIds.get(i));
+            }
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                bookings.add(mapResultSetToBooking(rs));
+            }
+        }
+        return bookings;
+    }
+
+    @Override
+    public int cancelBookings(Connection conn, List<String> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        String query = "UPDATE booking SET status = ? WHERE bookingID IN (" + DBUtils.placeholders(bookingIds.size()) + ") AND status <> ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setString(1, BookingStatus.CANCELLED.toString());
+            for (int i = 0; i < bookingIds.size(); i++) {
+                pstmt.setString(i + 2, bookingIds.get(i));
+            }
+            pstmt.setString(bookingIds.size() + 2, BookingStatus.CANCELLED.toString());
+            return pstmt.executeUpdate();
+        } catch (SQLException e) {
+            LOG.error("Error cancelling bookings (transactional) op=cancelBookings table=booking", e);
+            return -1;
+        }
     }
 
     @Override
@@ -231,7 +369,7 @@ public class BookingDAOImpl implements BookingDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error deleting booking: " + e.getMessage());
+            LOG.error("Error deleting booking op=deleteBooking table=booking", e);
             return false;
         }
     }
@@ -0,0 +1,10 @@
+package com.flipfit.dao;
+
+import com.flipfit.bean.BookingExportFilter;
+import java.io.IOException;
+
+public interface BookingExportDAO {
+    // Streams matching bookings to the writer from a server-side cursor; returns rows written.
+    // A database error is thrown as an IOException, so a partial export is never mistaken for a complete one
+    long exportBookings(BookingExportFilter filter, ExportRowWriter writer) throws IOException;
+}
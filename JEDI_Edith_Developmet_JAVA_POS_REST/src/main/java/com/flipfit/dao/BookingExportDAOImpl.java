@@ -0,0 +1,90 @@
+package com.flipfit.dao;
+
+import com.flipfit.bean.BookingExportFilter;
+import com.flipfit.utils.DBConnection;
+import com.flipfit.utils.DBUtils;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class BookingExportDAOImpl implements BookingExportDAO {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BookingExportDAOImpl.class);
+
+    private static final String BOOKING_COLUMNS = "b.bookingID, b.userID, b.slotID, b.bookingDate, b.status";
+    private static final String DETAIL_COLUMNS = ", s.centerID, g.name AS centerName, g.cityID, s.slotDate, s.startTime, s.endTime";
+
+    @Override
+    public long exportBookings(BookingExportFilter filter, ExportRowWriter writer) throws IOException {
+        boolean joinSlot = filter.isIncludeDetails() || filter.getCenterId() != null;
+        StringBuilder query = new StringBuilder("SELECT ").append(BOOKING_COLUMNS);
+        if (filter.isIncludeDetails()) {
+            query.append(DETAIL_COLUMNS);
+        }
+        query.append(" FROM booking b");
+        if (joinSlot) {
+            query.append(" JOIN slot s ON s.slotID = b.slotID");
+        }
+        if (filter.isIncludeDetails()) {
+            query.append(" JOIN gym_center g ON g.centerID = s.centerID");
+        }
+
+        List<Object> params = new ArrayList<>();
+        query.append(" WHERE 1 = 1");
+        if (filter.getFrom() != null) {
+            query.append(" AND b.bookingDate >= ?");
+            params.add(Timestamp.valueOf(filter.getFrom().atStartOfDay()));
+        }
+        if (filter.getTo() != null) {
+            query.append(" AND b.bookingDate < ?");
+            params.add(Timestamp.valueOf(filter.getTo().plusDays(1).atStartOfDay()));
+        }
+        if (filter.getCenterId() != null) {
+            query.append(" AND s.centerID = ?");
+            params.add(filter.getCenterId());
+        }
+        if (filter.getStatus() != null) {
+            query.append(" AND b.status = ?");
+            params.add(filter.getStatus().toString());
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            pstmt.setFetchSize(DBUtils.STREAM_FETCH_SIZE);
+            ResultSet rs = pstmt.executeQuery();
+
+            ResultSetMetaData meta = rs.getMetaData();
+            String[] values = new String[meta.getColumnCount()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = meta.getColumnLabel(i + 1);
+            }
+            writer.header(values);
+
+            long rows = 0;
+            while (rs.next()) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getString(i + 1);
+                }
+                writer.row(values);
+                rows++;
+            }
+            return rows;
+        } catch (SQLException e) {
+            LOG.error("Error exporting bookings op=exportBookings table=booking", e);
+            throw new IOException("Booking export query failed", e);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.flipfit.dao;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.BookingStatus;
+import com.flipfit.utils.DBUtils;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.Query;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class BookingJdbiDAO implements BookingDAO {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BookingJdbiDAO.class);
+
+    private final Jdbi jdbi;
+
+    public BookingJdbiDAO(Jdbi jdbi) {
+        this.jdbi = jdbi;
+    }
+
+    @Override
+    public boolean createBooking(Booking booking) {
+        String sql = "INSERT INTO booking (bookingID, userID, slotID, bookingDate, status) VALUES (:bookingId, :userId, :slotId, :bookingDate, :status)";
+        return jdbi.withHandle(handle -> handle.createUpdate(sql)
+                .bind("bookingId", booking.getBookingId())
+                .bind("userId", booking.getUserId())
+                .bind("slotId", booking.getSlotId())
+                .bind("bookingDate", new Timestamp(booking.getBookingDate().getTime()))
+                .bind("status", booking.getStatus().toString())
+                .execute() > 0);
+    }
+
+    @Override
+    public boolean createBooking(Connection conn, Booking booking) {
+        String sql = "INSERT INTO booking (bookingID, userID, slotID, bookingDate, status) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, booking.getBookingId());
+            pstmt.setString(2, booking.getUserId());
+            pstmt.setString(3, booking.getSlotId());
+            pstmt.setTimestamp(4, new Timestamp(booking.getBookingDate().getTime()));
+            pstmt.setString(5, booking.getStatus().toString());
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            LOG.error("Error creating booking (transactional) op=createBooking table=booking", e);
+            return false;
+        }
+    }
+
+    @Override
+    public Booking getBookingById(String bookingId) {
+        String sql = "SELECT * FROM booking WHERE bookingID = :bookingId";
+        Optional<Booking> opt = jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("bookingId", bookingId)
+                .map((rs, ctx) -> mapBooking(rs))
+                .findOne());
+        return opt.orElse(null);
+    }
+
+    @Override
+    public List<Booking> getBookingsByUserId(String userId) {
+        String sql = "SELECT * FROM booking WHERE userID = :userId";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("userId", userId)
+                .map((rs, ctx) -> mapBooking(rs))
+                .list());
+    }
+
+    @Override
+    public List<Booking> getConflictingBookings(String userId, String slotId) {
+        String sql = "SELECT b.* FROM booking b "
+                + "JOIN slot s ON s.slotID = b.slotID "
+                + "JOIN slot t ON t.slotID = :slotId "
+                + "WHERE b.userID = :userId AND b.status <> 'CANCELLED' "
+                + "AND s.startTime < t.endTime AND t.startTime < s.endTime";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("slotId", slotId)
+                .bind("userId", userId)
+                .map((rs, ctx) -> mapBooking(rs))
+                .list());
+    }
+
+    @Override
+    public List<Booking> getBookingsBySlotId(String slotId) {
+        String sql = "SELECT * FROM booking WHERE slotID = :slotId";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("slotId", slotId)
+                .map((rs, ctx) -> mapBooking(rs))
+                .list());
+    }
+
+    @Override
+    public List<Booking> getBookingsByStatus(BookingStatus status) {
+        String sql = "SELECT * FROM booking WHERE status = :status";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("status", status.toString())
+                .map((rs, ctx) -> mapBooking(rs))
+                .list());
+    }
+
+    @Override
+    public List<Booking> getBookingsPage(BookingStatus status, String afterBookingId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM booking WHERE 1 = 1");
+        if (status != null) {
+            sql.append(" AND status = :status");
+        }
+        if (afterBookingId != null) {
+            sql.append(" AND bookingID > :after");
+        }
+        sql.append(" ORDER BY bookingID LIMIT :limit");
+        return jdbi.withHandle(handle -> {
+            Query query = handle.createQuery(sql.toString()).bind("limit", limit);
+            if (status != null) {
+                query.bind("status", status.toString());
+            }
+            if (afterBookingId != null) {
+                query.bind("after", afterBookingId);
+            }
+            return query.map((rs, ctx) -> mapBooking(rs)).list();
+        });
+    }
+
+    @Override
+    public void forEachBooking(BookingStatus status, Consumer<Booking> action) {
+        String sql = status == null
+                ? "SELECT * FROM booking ORDER BY bookingID"
+                : "SELECT * FROM booking WHERE status = :status ORDER BY bookingID";
+        jdbi.useHandle(handle -> {
+            Query query = handle.createQuery(sql).setFetchSize(DBUtils.STREAM_FETCH_SIZE);
+            if (status != null) {
+                query.bind("status", status.toString());
+            }
+            query.map((rs, ctx) -> mapBooking(rs)).forEach(action);
+        });
+    }
+
+    @Override
+    public List<Booking> getAllBookings() {
+        String sql = "SELECT * FROM booking";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .map((rs, ctx) -> mapBooking(rs))
+                .list());
+    }
+
+    @Override
+    public boolean updateBooking(Booking booking) {
+        String sql = "UPDATE booking SET userID = :userId, slotID = :slotId, bookingDate = :bookingDate, status = :status WHERE bookingID = :bookingId";
+        return jdbi.withHandle(handle -> handle.createUpdate(sql)
+                .bind("userId", booking.getUserId())
+                .bind("slotId", booking.getSlotId())
+                .bind("bookingDate", new Timestamp(booking.getBookingDate().getTime()))
+                .bind("status", booking.getStatus().toString())
+                .bind("bookingId", booking.getBookingId())
+                .execute() > 0);
+    }
+
+    @Override
+    public boolean updateBookingStatus(String bookingId, BookingStatus status) {
+        String sql = "UPDATE booking SET status = :status WHERE bookingID = :bookingId";
+        return jdbi.withHandle(handle -> handle.createUpdate(sql)
+                .bind("status", status.toString())
+                .bind("bookingId", bookingId)
+                .execute() > 0);
+    }
+
+    @Override
+    public boolean updateBookingStatus(Connection conn, String bookingId, BookingStatus status) {
+        String sql = "UPDATE booking SET status = ? WHERE bookingID = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, status.toString());
+            pstmt.setString(2, bookingId);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            LOG.error("Error updating booking status (transactional) op=updateBookingStatus table=booking", e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean cancelBooking(String bookingId) {
+        return updateBookingStatus(bookingId, BookingStatus.CANCELLED);
+    }
+
+    @Override
+    public boolean cancelBooking(Connection conn, String bookingId) {
+        // guarded, so of two concurrent cancels only one sees a row change and frees the seat
+        String sql = "UPDATE booking SET status = ? WHERE bookingID = ? AND status <> ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, BookingStatus.CANCELLED.toString());
+            pstmt.setString(2, bookingId);
+            pstmt.setString(3, BookingStatus.CANCELLED.toString());
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            LOG.error("Error cancelling booking (transactional) op=cancelBooking table=booking", e);
+            return false;
+        }
+    }
+
+    @Override
+    public List<Booking> getBookingsByIds(Connection conn, List<String> bookingIds) throws SQLException {
+        List<Booking> bookings = new ArrayList<>();
+        if (bookingIds.isEmpty()) {
+            return bookings;
+        }
+        String query = "SELECT * FROM booking WHERE bookingID IN (" + DBUtils.placeholders(bookingIds.size()) + ") FOR UPDATE";
+        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+            for (int i = 0; i < bookingIds.size(); i++) {
+                pstmt.setString(i + 1, bookingIds.get(i));
+            }
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                bookings.add(mapBooking(rs));
+            }
+        }
+        return bookings;
+    }
+
+    @Override
+    public int cancelBookings(Connection conn, List<String> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        String query = "UPDATE booking SET status = ? WHERE bookingID IN (" + DBUtils.placeholders(bookingIds.size()) + ") AND status <> ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setString(1, BookingStatus.CANCELLED.toString());
+            for (int i = 0; i < bookingIds.size(); i++) {
+                pstmt.setString(i + 2, bookingIds.get(i));
+            }
+            pstmt.setString(bookingIds.size() + 2, BookingStatus.CANCELLED.toString());
+            return pstmt.executeUpdate();
+        } catch (SQLException e) {
+            LOG.error("Error cancelling bookings (transactional) op=cancelBookings table=booking", e);
+            return -1;
+        }
+    }
+
+    @Override
+    public boolean deleteBooking(String bookingId) {
+        String sql = "DELETE FROM booking WHERE bookingID = :bookingId";
+        return jdbi.withHandle(handle -> handle.createUpdate(sql)
+                .bind("bookingId", bookingId)
+                .execute() > 0);
+    }
+
+    private static Booking mapBooking(ResultSet rs) throws SQLException {
+        Booking b = new Booking();
+        b.setBookingId(rs.getString("bookingID"));
+        b.setUserId(rs.getString("userID"));
+        b.setSlotId(rs.getString("slotID"));
+        Timestamp t = rs.getTimestamp("bookingDate");
+        if (t != null) b.setBookingDate(new java.util.Date(t.getTime()));
+        String status = rs.getString("status");
+        if (status != null) b.setStatus(BookingStatus.valueOf(status));
+        return b;
+    }
+}
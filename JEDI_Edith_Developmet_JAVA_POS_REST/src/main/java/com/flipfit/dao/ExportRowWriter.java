@@ -0,0 +1,12 @@
+package com.flipfit.dao;
+
+import java.io.IOException;
+
+/**
+ * Receives rows of an export as they are read from the database.
+ */
+public interface ExportRowWriter {
+    void header(String[] columns) throws IOException;
+    // The array is reused for every row; copy anything that must outlive the call
+    void row(String[] values) throws IOException;
+}
@@ -0,0 +1,306 @@
+package com.flipfit.dao;
+
+import com.flipfit.bean.GymCenter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Read-through cache in front of a GymCenterDAO.
+ *
+ * Gym centers change rarely but are listed on every dashboard view and
+ * city search, so reads are served from an immutable snapshot of the
+ * whole table, indexed by centerId, by lower-case city, by owner and by
+ * active flag. The snapshot is rebuilt with one getAllGymCenters() call
+ * when it is missing or older than the TTL.
+ *
+ * Writes go to the underlying DAO and then drop the snapshot, so
+ * addGymCenter/updateGymCenter/deleteGymCenter (verifyGym, addCenter,
+ * registerGymCenter, the REST PUT/DELETE) are visible on the next read.
+ * If the table grows past maxEntries the snapshot is not kept and reads
+ * go straight to the DAO. Paged and streaming listings always do, so they
+ * never pull the whole table into memory.
+ *
+ * Callers get copies of the cached beans, since services modify the
+ * centers they read (e.g. verifyGym flips isActive before updating).
+ */
+public class GymCenterCache implements GymCenterDAO {
+
+    private static final long DEFAULT_TTL_MILLIS = 60_000;
+    private static final int DEFAULT_MAX_ENTRIES = 50_000;
+
+    private static GymCenterCache instance;
+
+    private final GymCenterDAO delegate;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private volatile Snapshot snapshot;
+    private volatile long bypassUntil; // table was over maxEntries, skip reloads until then
+    private final AtomicLong generation = new AtomicLong(); // bumped on every invalidate
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public GymCenterCache(GymCenterDAO delegate, long ttlMillis, int maxEntries) {
+        this.delegate = delegate;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Process-wide cache over GymCenterDAOImpl, shared by the CLI menus
+     * and the default service constructors so a write in one of them
+     * invalidates what the others read.
+     */
+    public static synchronized GymCenterCache getInstance() {
+        if (instance == null) {
+            instance = new GymCenterCache(new GymCenterDAOImpl(), DEFAULT_TTL_MILLIS, DEFAULT_MAX_ENTRIES);
+        }
+        return instance;
+    }
+
+    @Override
+    public boolean addGymCenter(GymCenter gymCenter) {
+        try {
+            return delegate.addGymCenter(gymCenter);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public GymCenter getGymCenterById(String centerId) {
+        Snapshot s = current();
+        if (s == null) {
+            return delegate.getGymCenterById(centerId);
+        }
+        GymCenter center = s.byId.get(centerId);
+        return center == null ? null : copy(center);
+    }
+
+    @Override
+    public List<GymCenter> getGymCentersByOwnerId(String ownerId) {
+        Snapshot s = current();
+        if (s == null) {
+            return delegate.getGymCentersByOwnerId(ownerId);
+        }
+        return copies(s.byOwner.get(ownerId));
+    }
+
+    @Override
+    public List<GymCenter> getGymCentersByCity(String cityId) {
+        Snapshot s = current();
+        if (s == null) {
+            return delegate.getGymCentersByCity(cityId);
+        }
+        return copies(s.byCity.get(cityKey(cityId)));
+    }
+
+    @Override
+    public List<GymCenter> getActiveGymCentersByCity(String cityId) {
+        Snapshot s = current();
+        if (s == null) {
+            return delegate.getActiveGymCentersByCity(cityId);
+        }
+        return copies(s.activeByCity.get(cityKey(cityId)));
+    }
+
+    @Override
+    public List<GymCenter> getGymCentersByStatus(boolean active) {
+        Snapshot s = current();
+        if (s == null) {
+            return delegate.getGymCentersByStatus(active);
+        }
+        return copies(active ? s.active : s.pending);
+    }
+
+    @Override
+    public int countGymCentersByStatus(boolean active) {
+        Snapshot s = current();
+        if (s == null) {
+            return delegate.countGymCentersByStatus(active);
+        }
+        return active ? s.active.size() : s.pending.size();
+    }
+
+    @Override
+    public List<GymCenter> getAllGymCenters() {
+        Snapshot s = current();
+        if (s == null) {
+            return delegate.getAllGymCenters();
+        }
+        return copies(s.all);
+    }
+
+    @Override
+    public List<GymCenter> getGymCentersPage(String afterCenterId, int limit) {
+        return delegate.getGymCentersPage(afterCenterId, limit);
+    }
+
+    @Override
+    public void forEachGymCenter(Consumer<GymCenter> action) {
+        delegate.forEachGymCenter(action);
+    }
+
+    @Override
+    public boolean updateGymCenter(GymCenter gymCenter) {
+        try {
+            return delegate.updateGymCenter(gymCenter);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean deleteGymCenter(String centerId) {
+        try {
+            return delegate.deleteGymCenter(centerId);
+        } finally {
+            invalidate();
+        }
+    }
+
+    /**
+     * Drops the snapshot; the next read reloads it.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        bypassUntil = 0;
+        if (snapshot != null) {
+            snapshot = null;
+            evictions.incrementAndGet();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Returns a fresh snapshot, loading one if needed, or null when the
+     * table is too large to cache.
+     */
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null && !s.isExpired(ttlMillis)) {
+            hits.incrementAndGet();
+            return s;
+        }
+        if (System.currentTimeMillis() < bypassUntil) {
+            return null;
+        }
+        synchronized (this) {
+            s = snapshot;
+            if (s != null && !s.isExpired(ttlMillis)) {
+                hits.incrementAndGet();
+                return s;
+            }
+            if (s != null) {
+                snapshot = null;
+                evictions.incrementAndGet();
+            }
+            misses.incrementAndGet();
+            long loadedGeneration = generation.get();
+            List<GymCenter> all = delegate.getAllGymCenters();
+            if (all.size() > maxEntries) {
+                bypassUntil = System.currentTimeMillis() + ttlMillis;
+                return null;
+            }
+            s = new Snapshot(all);
+            // a write that landed during the load must not be hidden behind this snapshot
+            if (generation.get() == loadedGeneration) {
+                snapshot = s;
+            }
+            return s;
+        }
+    }
+
+    private static String cityKey(String cityId) {
+        return cityId == null ? "" : cityId.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<GymCenter> copies(List<GymCenter> centers) {
+        if (centers == null) {
+            return new ArrayList<>();
+        }
+        List<GymCenter> result = new ArrayList<>(centers.size());
+        for (GymCenter center : centers) {
+            result.add(copy(center));
+        }
+        return result;
+    }
+
+    private static GymCenter copy(GymCenter center) {
+        GymCenter c = new GymCenter();
+        c.setCenterId(center.getCenterId());
+        c.setName(center.getName());
+        c.setAddress(center.getAddress());
+        c.setCityId(center.getCityId());
+        c.setOwnerId(center.getOwnerId());
+        c.setTotalCapacity(center.getTotalCapacity());
+        c.setActive(center.isActive());
+        return c;
+    }
+
+    /**
+     * The whole gym_center table at one point in time, never modified after construction.
+     */
+    private static final class Snapshot {
+        private final long loadedAt = System.currentTimeMillis();
+        private final List<GymCenter> all;
+        private final List<GymCenter> active;
+        private final List<GymCenter> pending;
+        private final Map<String, GymCenter> byId;
+        private final Map<String, List<GymCenter>> byCity;
+        private final Map<String, List<GymCenter>> activeByCity;
+        private final Map<String, List<GymCenter>> byOwner;
+
+        Snapshot(List<GymCenter> centers) {
+            List<GymCenter> activeList = new ArrayList<>();
+            List<GymCenter> pendingList = new ArrayList<>();
+            Map<String, GymCenter> ids = new HashMap<>();
+            Map<String, List<GymCenter>> cities = new HashMap<>();
+            Map<String, List<GymCenter>> activeCities = new HashMap<>();
+            Map<String, List<GymCenter>> owners = new HashMap<>();
+
+            for (GymCenter center : centers) {
+                String city = cityKey(center.getCityId());
+                ids.put(center.getCenterId(), center);
+                cities.computeIfAbsent(city, k -> new ArrayList<>()).add(center);
+                owners.computeIfAbsent(center.getOwnerId(), k -> new ArrayList<>()).add(center);
+                if (center.isActive()) {
+                    activeList.add(center);
+                    activeCities.computeIfAbsent(city, k -> new ArrayList<>()).add(center);
+                } else {
+                    pendingList.add(center);
+                }
+            }
+
+            this.all = Collections.unmodifiableList(new ArrayList<>(centers));
+            this.active = Collections.unmodifiableList(activeList);
+            this.pending = Collections.unmodifiableList(pendingList);
+            this.byId = Collections.unmodifiableMap(ids);
+            this.byCity = Collections.unmodifiableMap(cities);
+            this.activeByCity = Collections.unmodifiableMap(activeCities);
+            this.byOwner = Collections.unmodifiableMap(owners);
+        }
+
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt > ttlMillis;
+        }
+    }
+}
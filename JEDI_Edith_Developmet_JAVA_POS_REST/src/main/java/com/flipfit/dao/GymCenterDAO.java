@@ -2,6 +2,7 @@ package com.flipfit.dao;
 
 import com.flipfit.bean.GymCenter;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object interface for GymCenter entity.
@@ -37,12 +38,48 @@ public interface GymCenterDAO {
      */
     List<GymCenter> getGymCentersByCity(String cityId);
     
+    /**
+     * Retrieves the active (approved) gym centers in a city.
+     * @param cityId the city ID (matched case-insensitively by the column collation)
+     * @return a list of active gym centers in that city
+     */
+    List<GymCenter> getActiveGymCentersByCity(String cityId);
+    
+    /**
+     * Retrieves gym centers by approval status.
+     * @param active true for approved centers, false for pending ones
+     * @return a list of gym centers with that status
+     */
+    List<GymCenter> getGymCentersByStatus(boolean active);
+    
+    /**
+     * Counts gym centers by approval status without loading them.
+     * @param active true for approved centers, false for pending ones
+     * @return the number of centers, or -1 on error
+     */
+    int countGymCentersByStatus(boolean active);
+    
     /**
      * Retrieves all gym centers in the system.
      * @return a list of all gym centers
      */
     List<GymCenter> getAllGymCenters();
     
+    /**
+     * Retrieves one page of gym centers in centerID order (keyset pagination).
+     * @param afterCenterId the last ID of the previous page, or null for the first page
+     * @param limit the maximum number of rows to return
+     * @return up to limit gym centers with an ID greater than afterCenterId
+     */
+    List<GymCenter> getGymCentersPage(String afterCenterId, int limit);
+    
+    /**
+     * Streams every gym center to the action in centerID order, reading the
+     * result set in fetch-size chunks instead of building a list.
+     * @param action called once per row
+     */
+    void forEachGymCenter(Consumer<GymCenter> action);
+    
     /**
      * Updates an existing gym center.
      * @param gymCenter the gym center with updated information
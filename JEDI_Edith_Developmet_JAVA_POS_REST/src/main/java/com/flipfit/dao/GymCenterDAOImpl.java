@@ -2,18 +2,25 @@ package com.flipfit.dao;
 
 import com.flipfit.bean.GymCenter;
 import com.flipfit.utils.DBConnection;
+import com.flipfit.utils.DBUtils;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Implementation of GymCenterDAO using JDBC and MySQL database.
  */
 public class GymCenterDAOImpl implements GymCenterDAO {
 
+    private static final Logger LOG = LoggerFactory.getLogger(GymCenterDAOImpl.class);
+
     @Override
     public boolean addGymCenter(GymCenter gymCenter) {
         String query = "INSERT INTO gym_center (centerID, name, address, cityID, ownerID, totalCapacity, isActive) " +
@@ -33,7 +40,7 @@ public class GymCenterDAOImpl implements GymCenterDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error adding gym center: " + e.getMessage());
+            LOG.error("Error adding gym center op=addGymCenter table=gym_center", e);
             return false;
         }
     }
@@ -52,7 +59,7 @@ public class GymCenterDAOImpl implements GymCenterDAO {
                 return mapResultSetToGymCenter(rs);
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting gym center: " + e.getMessage());
+            LOG.error("Error getting gym center op=getGymCenterById table=gym_center", e);
         }
         return null;
     }
@@ -72,7 +79,7 @@ public class GymCenterDAOImpl implements GymCenterDAO {
                 centers.add(mapResultSetToGymCenter(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting gym centers by owner: " + e.getMessage());
+            LOG.error("Error getting gym centers by owner op=getGymCentersByOwnerId table=gym_center", e);
         }
         return centers;
     }
@@ -92,11 +99,114 @@ public class GymCenterDAOImpl implements GymCenterDAO {
                 centers.add(mapResultSetToGymCenter(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting gym centers by city: " + e.getMessage());
+            LOG.error("Error getting gym centers by city op=getGymCentersByCity table=gym_center", e);
+        }
+        return centers;
+    }
+
+    @Override
+    public List<GymCenter> getActiveGymCentersByCity(String cityId) {
+        String query = "SELECT * FROM gym_center WHERE cityID = ? AND isActive = 'true'";
+        List<GymCenter> centers = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            
+            pstmt.setString(1, cityId);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                centers.add(mapResultSetToGymCenter(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting active gym centers by city op=getActiveGymCentersByCity table=gym_center", e);
         }
         return centers;
     }
 
+    @Override
+    public List<GymCenter> getGymCentersByStatus(boolean active) {
+        String query = "SELECT * FROM gym_center WHERE isActive = ?";
+        List<GymCenter> centers = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            
+            pstmt.setString(1, active ? "true" : "false");
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                centers.add(mapResultSetToGymCenter(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting gym centers by status op=getGymCentersByStatus table=gym_center", e);
+        }
+        return centers;
+    }
+
+    @Override
+    public int countGymCentersByStatus(boolean active) {
+        String query = "SELECT COUNT(*) FROM gym_center WHERE isActive = ?";
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            
+            pstmt.setString(1, active ? "true" : "false");
+            ResultSet rs = pstmt.executeQuery();
+            
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error counting gym centers op=countGymCentersByStatus table=gym_center", e);
+        }
+        return -1;
+    }
+
+    @Override
+    public List<GymCenter> getGymCentersPage(String afterCenterId, int limit) {
+        String query = afterCenterId == null
+                ? "SELECT * FROM gym_center ORDER BY centerID LIMIT ?"
+                : "SELECT * FROM gym_center WHERE centerID > ? ORDER BY centerID LIMIT ?";
+        List<GymCenter> centers = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            
+            int i = 1;
+            if (afterCenterId != null) {
+                pstmt.setString(i++, afterCenterId);
+            }
+            pstmt.setInt(i, limit);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                centers.add(mapResultSetToGymCenter(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting gym center page op=getGymCentersPage table=gym_center", e);
+        }
+        return centers;
+    }
+
+    @Override
+    public void forEachGymCenter(Consumer<GymCenter> action) {
+        String query = "SELECT * FROM gym_center ORDER BY centerID";
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            pstmt.setFetchSize(DBUtils.STREAM_FETCH_SIZE);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                action.accept(mapResultSetToGymCenter(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error streaming gym centers op=forEachGymCenter table=gym_center", e);
+        }
+    }
+
     @Override
     public List<GymCenter> getAllGymCenters() {
         String query = "SELECT * FROM gym_center";
@@ -111,7 +221,7 @@ public class GymCenterDAOImpl implements GymCenterDAO {
                 centers.add(mapResultSetToGymCenter(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting all gym centers: " + e.getMessage());
+            LOG.error("Error getting all gym centers op=getAllGymCenters table=gym_center", e);
         }
         return centers;
     }
@@ -135,7 +245,7 @@ public class GymCenterDAOImpl implements GymCenterDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error updating gym center: " + e.getMessage());
+            LOG.error("Error updating gym center op=updateGymCenter table=gym_center", e);
             return false;
         }
     }
@@ -151,7 +261,7 @@ public class GymCenterDAOImpl implements GymCenterDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error deleting gym center: " + e.getMessage());
+            LOG.error("Error deleting gym center op=deleteGymCenter table=gym_center", e);
             return false;
         }
     }
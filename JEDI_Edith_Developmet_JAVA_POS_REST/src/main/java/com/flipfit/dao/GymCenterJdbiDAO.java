@@ -0,0 +1,154 @@
+package com.flipfit.dao;
+
+import com.flipfit.bean.GymCenter;
+import com.flipfit.utils.DBUtils;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.Query;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public class GymCenterJdbiDAO implements GymCenterDAO {
+    private final Jdbi jdbi;
+
+    public GymCenterJdbiDAO(Jdbi jdbi) {
+        this.jdbi = jdbi;
+    }
+
+    @Override
+    public boolean addGymCenter(GymCenter gymCenter) {
+        String sql = "INSERT INTO gym_center (centerID, name, address, cityID, ownerID, totalCapacity, isActive) VALUES (:centerId, :name, :address, :cityId, :ownerId, :totalCapacity, :isActive)";
+        return jdbi.withHandle(handle -> handle.createUpdate(sql)
+                .bind("centerId", gymCenter.getCenterId())
+                .bind("name", gymCenter.getName())
+                .bind("address", gymCenter.getAddress())
+                .bind("cityId", gymCenter.getCityId())
+                .bind("ownerId", gymCenter.getOwnerId())
+                .bind("totalCapacity", gymCenter.getTotalCapacity())
+                .bind("isActive", gymCenter.isActive() ? "true" : "false")
+                .execute() > 0);
+    }
+
+    @Override
+    public GymCenter getGymCenterById(String centerId) {
+        String sql = "SELECT * FROM gym_center WHERE centerID = :centerId";
+        Optional<GymCenter> opt = jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("centerId", centerId)
+                .map((rs, ctx) -> mapGymCenter(rs))
+                .findOne());
+        return opt.orElse(null);
+    }
+
+    @Override
+    public List<GymCenter> getGymCentersByOwnerId(String ownerId) {
+        String sql = "SELECT * FROM gym_center WHERE ownerID = :ownerId";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("ownerId", ownerId)
+                .map((rs, ctx) -> mapGymCenter(rs))
+                .list());
+    }
+
+    @Override
+    public List<GymCenter> getGymCentersByCity(String cityId) {
+        String sql = "SELECT * FROM gym_center WHERE cityID = :cityId";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("cityId", cityId)
+                .map((rs, ctx) -> mapGymCenter(rs))
+                .list());
+    }
+
+    @Override
+    public List<GymCenter> getActiveGymCentersByCity(String cityId) {
+        String sql = "SELECT * FROM gym_center WHERE cityID = :cityId AND isActive = 'true'";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("cityId", cityId)
+                .map((rs, ctx) -> mapGymCenter(rs))
+                .list());
+    }
+
+    @Override
+    public List<GymCenter> getGymCentersByStatus(boolean active) {
+        String sql = "SELECT * FROM gym_center WHERE isActive = :isActive";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("isActive", active ? "true" : "false")
+                .map((rs, ctx) -> mapGymCenter(rs))
+                .list());
+    }
+
+    @Override
+    public int countGymCentersByStatus(boolean active) {
+        String sql = "SELECT COUNT(*) FROM gym_center WHERE isActive = :isActive";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("isActive", active ? "true" : "false")
+                .mapTo(Integer.class)
+                .one());
+    }
+
+    @Override
+    public List<GymCenter> getGymCentersPage(String afterCenterId, int limit) {
+        String sql = afterCenterId == null
+                ? "SELECT * FROM gym_center ORDER BY centerID LIMIT :limit"
+                : "SELECT * FROM gym_center WHERE centerID > :after ORDER BY centerID LIMIT :limit";
+        return jdbi.withHandle(handle -> {
+            Query query = handle.createQuery(sql).bind("limit", limit);
+            if (afterCenterId != null) {
+                query.bind("after", afterCenterId);
+            }
+            return query.map((rs, ctx) -> mapGymCenter(rs)).list();
+        });
+    }
+
+    @Override
+    public void forEachGymCenter(Consumer<GymCenter> action) {
+        String sql = "SELECT * FROM gym_center ORDER BY centerID";
+        jdbi.useHandle(handle -> handle.createQuery(sql)
+                .setFetchSize(DBUtils.STREAM_FETCH_SIZE)
+                .map((rs, ctx) -> mapGymCenter(rs))
+                .forEach(action));
+    }
+
+    @Override
+    public List<GymCenter> getAllGymCenters() {
+        String sql = "SELECT * FROM gym_center";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .map((rs, ctx) -> mapGymCenter(rs))
+                .list());
+    }
+
+    @Override
+    public boolean updateGymCenter(GymCenter gymCenter) {
+        String sql = "UPDATE gym_center SET name = :name, address = :address, cityID = :cityId, ownerID = :ownerId, totalCapacity = :totalCapacity, isActive = :isActive WHERE centerID = :centerId";
+        return jdbi.withHandle(handle -> handle.createUpdate(sql)
+                .bind("name", gymCenter.getName())
+                .bind("address", gymCenter.getAddress())
+                .bind("cityId", gymCenter.getCityId())
+                .bind("ownerId", gymCenter.getOwnerId())
+                .bind("totalCapacity", gymCenter.getTotalCapacity())
+                .bind("isActive", gymCenter.isActive() ? "true" : "false")
+                .bind("centerId", gymCenter.getCenterId())
+                .execute() > 0);
+    }
+
+    @Override
+    public boolean deleteGymCenter(String centerId) {
+        String sql = "DELETE FROM gym_center WHERE centerID = :centerId";
+        return jdbi.withHandle(handle -> handle.createUpdate(sql)
+                .bind("centerId", centerId)
+                .execute() > 0);
+    }
+
+    private static GymCenter mapGymCenter(ResultSet rs) throws SQLException {
+        GymCenter g = new GymCenter();
+        g.setCenterId(rs.getString("centerID"));
+        g.setName(rs.getString("name"));
+        g.setAddress(rs.getString("address"));
+        g.setCityId(rs.getString("cityID"));
+        g.setOwnerId(rs.getString("ownerID"));
+        g.setTotalCapacity(rs.getInt("totalCapacity"));
+        g.setActive("true".equalsIgnoreCase(rs.getString("isActive")));
+        return g;
+    }
+}
@@ -11,11 +11,16 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Implementation of GymCustomerDAO using JDBC and MySQL database.
  */
 public class GymCustomerDAOImpl implements GymCustomerDAO {
 
+    private static final Logger LOG = LoggerFactory.getLogger(GymCustomerDAOImpl.class);
+
     @Override
     public boolean registerGymCustomer(GymCustomer gymCustomer) {
         String query = "INSERT INTO gym_customer (registrationDate, isActive, userID) " +
@@ -31,7 +36,7 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error registering gym customer: " + e.getMessage());
+            LOG.error("Error registering gym customer op=registerGymCustomer table=gym_customer", e);
             return false;
         }
     }
@@ -50,7 +55,7 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
                 return mapResultSetToGymCustomer(rs);
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting gym customer: " + e.getMessage());
+            LOG.error("Error getting gym customer op=getGymCustomerByUserId table=gym_customer", e);
         }
         return null;
     }
@@ -69,7 +74,7 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
                 customers.add(mapResultSetToGymCustomer(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting all gym customers: " + e.getMessage());
+            LOG.error("Error getting all gym customers op=getAllGymCustomers table=gym_customer", e);
         }
         return customers;
     }
@@ -88,7 +93,7 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
                 customers.add(mapResultSetToGymCustomer(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting active gym customers: " + e.getMessage());
+            LOG.error("Error getting active gym customers op=getActiveGymCustomers table=gym_customer", e);
         }
         return customers;
     }
@@ -107,7 +112,7 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
                 customers.add(mapResultSetToGymCustomer(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting inactive gym customers: " + e.getMessage());
+            LOG.error("Error getting inactive gym customers op=getInactiveGymCustomers table=gym_customer", e);
         }
         return customers;
     }
@@ -127,7 +132,7 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error updating gym customer: " + e.getMessage());
+            LOG.error("Error updating gym customer op=updateGymCustomer table=gym_customer", e);
             return false;
         }
     }
@@ -145,7 +150,7 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error updating customer active status: " + e.getMessage());
+            LOG.error("Error updating customer active status op=updateActiveStatus table=gym_customer", e);
             return false;
         }
     }
@@ -161,7 +166,7 @@ public class GymCustomerDAOImpl implements GymCustomerDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error deleting gym customer: " + e.getMessage());
+            LOG.error("Error deleting gym customer op=deleteGymCustomer table=gym_customer", e);
             return false;
         }
     }
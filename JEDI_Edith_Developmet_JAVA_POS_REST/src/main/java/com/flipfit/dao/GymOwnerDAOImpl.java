@@ -10,11 +10,16 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Implementation of GymOwnerDAO using JDBC and MySQL database.
  */
 public class GymOwnerDAOImpl implements GymOwnerDAO {
 
+    private static final Logger LOG = LoggerFactory.getLogger(GymOwnerDAOImpl.class);
+
     @Override
     public boolean registerGymOwner(GymOwner gymOwner) {
         String query = "INSERT INTO gym_owner (gstNumber, userID, panNumber, isVerified) " +
@@ -29,12 +34,12 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
             pstmt.setInt(4, gymOwner.isVerified() ? 1 : 0);
             
             int rowsAffected = pstmt.executeUpdate();
-            System.out.println("log 3 " + rowsAffected);
+            LOG.debug("Inserted op=registerGymOwner table=gym_owner rows={}", rowsAffected);
 
             return rowsAffected > 0;
             
         } catch (SQLException e) {
-            System.err.println("[DAO] Error registering gym owner: " + e.getMessage());
+            LOG.error("Error registering gym owner op=registerGymOwner table=gym_owner", e);
             return false;
         }
     }
@@ -53,7 +58,7 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
                 return mapResultSetToGymOwner(rs);
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting gym owner: " + e.getMessage());
+            LOG.error("Error getting gym owner op=getGymOwnerByUserId table=gym_owner", e);
         }
         return null;
     }
@@ -72,7 +77,7 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
                 return mapResultSetToGymOwner(rs);
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting gym owner by PAN: " + e.getMessage());
+            LOG.error("Error getting gym owner by PAN op=getGymOwnerByPanNumber table=gym_owner", e);
         }
         return null;
     }
@@ -91,7 +96,7 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
                 owners.add(mapResultSetToGymOwner(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting all gym owners: " + e.getMessage());
+            LOG.error("Error getting all gym owners op=getAllGymOwners table=gym_owner", e);
         }
         return owners;
     }
@@ -110,7 +115,7 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
                 owners.add(mapResultSetToGymOwner(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting verified gym owners: " + e.getMessage());
+            LOG.error("Error getting verified gym owners op=getVerifiedGymOwners table=gym_owner", e);
         }
         return owners;
     }
@@ -129,7 +134,7 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
                 owners.add(mapResultSetToGymOwner(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting unverified gym owners: " + e.getMessage());
+            LOG.error("Error getting unverified gym owners op=getUnverifiedGymOwners table=gym_owner", e);
         }
         return owners;
     }
@@ -150,7 +155,7 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error updating gym owner: " + e.getMessage());
+            LOG.error("Error updating gym owner op=updateGymOwner table=gym_owner", e);
             return false;
         }
     }
@@ -168,7 +173,7 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error updating verification status: " + e.getMessage());
+            LOG.error("Error updating verification status op=updateVerificationStatus table=gym_owner", e);
             return false;
         }
     }
@@ -184,7 +189,7 @@ public class GymOwnerDAOImpl implements GymOwnerDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error deleting gym owner: " + e.getMessage());
+            LOG.error("Error deleting gym owner op=deleteGymOwner table=gym_owner", e);
             return false;
         }
     }
@@ -0,0 +1,13 @@
+package com.flipfit.dao;
+
+import com.flipfit.bean.Notification;
+import java.sql.Connection;
+import java.util.List;
+
+public interface NotificationOutboxDAO {
+    // Writes the notifications on the caller's connection, so they commit or roll back with it
+    boolean enqueue(Connection conn, List<Notification> notifications);
+    // Locks up to limit unsent rows, oldest first, skipping rows another relay holds
+    List<Notification> fetchPending(Connection conn, int limit);
+    boolean markSent(Connection conn, List<Long> notificationIds);
+}
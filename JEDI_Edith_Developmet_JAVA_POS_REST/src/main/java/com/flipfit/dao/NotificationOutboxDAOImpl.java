@@ -0,0 +1,87 @@
+package com.flipfit.dao;
+
+import com.flipfit.bean.Notification;
+import com.flipfit.utils.DBUtils;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of NotificationOutboxDAO using JDBC and MySQL database.
+ * Every method runs on the caller's connection; the caller owns the transaction.
+ */
+public class NotificationOutboxDAOImpl implements NotificationOutboxDAO {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationOutboxDAOImpl.class);
+
+    @Override
+    public boolean enqueue(Connection conn, List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return true;
+        }
+        String query = "INSERT INTO notification_outbox (customerID, message, createdAt) VALUES (?, ?, ?)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+            for (Notification n : notifications) {
+                pstmt.setString(1, n.getCustomerId());
+                pstmt.setString(2, n.getMessage());
+                pstmt.setTimestamp(3, new Timestamp(n.getCreatedAt()));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            return true;
+        } catch (SQLException e) {
+            LOG.error("Error writing notification outbox op=enqueue table=notification_outbox", e);
+            return false;
+        }
+    }
+
+    @Override
+    public List<Notification> fetchPending(Connection conn, int limit) {
+        String query = "SELECT outboxID, customerID, message, createdAt FROM notification_outbox " +
+                       "WHERE sentAt IS NULL ORDER BY outboxID LIMIT ? FOR UPDATE SKIP LOCKED";
+        List<Notification> pending = new ArrayList<>();
+
+        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setInt(1, limit);
+            ResultSet rs = pstmt.executeQuery();
+
+            while (rs.next()) {
+                Notification n = new Notification(rs.getString("customerID"), rs.getString("message"),
+                        rs.getTimestamp("createdAt").getTime());
+                n.setNotificationId(rs.getLong("outboxID"));
+                pending.add(n);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error reading notification outbox op=fetchPending table=notification_outbox", e);
+        }
+        return pending;
+    }
+
+    @Override
+    public boolean markSent(Connection conn, List<Long> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return true;
+        }
+        String query = "UPDATE notification_outbox SET sentAt = ? WHERE outboxID IN (" +
+                       DBUtils.placeholders(notificationIds.size()) + ")";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+            for (int i = 0; i < notificationIds.size(); i++) {
+                pstmt.setLong(i + 2, notificationIds.get(i));
+            }
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            LOG.error("Error marking notifications sent op=markSent table=notification_outbox", e);
+            return false;
+        }
+    }
+}
@@ -2,7 +2,12 @@ package com.flipfit.dao;
 
 import com.flipfit.bean.Slot;
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object interface for Slot entity.
@@ -17,6 +22,14 @@ public interface SlotDAO {
      */
     boolean addSlot(Slot slot);
     
+    /**
+     * Adds several slots as one JDBC batch in a single transaction;
+     * either all of them are stored or none.
+     * @param slots the slots to add
+     * @return true if successful, false otherwise
+     */
+    boolean addSlots(List<Slot> slots);
+    
     /**
      * Retrieves a slot by its ID.
      * @param slotId the slot ID
@@ -31,12 +44,62 @@ public interface SlotDAO {
      */
     List<Slot> getSlotsByCenterId(String centerId);
     
+    /**
+     * Counts the slots of a gym center without loading them.
+     * @param centerId the center ID
+     * @return the number of slots, or -1 on error
+     */
+    int countSlotsByCenterId(String centerId);
+    
+    /**
+     * Counts the slots of a gym center that still have free seats.
+     * @param centerId the center ID
+     * @return the number of slots with currentBookings < maxCapacity, or -1 on error
+     */
+    int countAvailableSlotsByCenterId(String centerId);
+    
+    /**
+     * Retrieves the slots of a gym center on one date that still have free
+     * seats, ordered by start time. Served by the (centerID, slotDate, startTime)
+     * index, so it only touches that day's rows.
+     * @param centerId the center ID
+     * @param date the date
+     * @return the available slots, empty if none
+     */
+    List<Slot> getAvailableSlotsByDate(String centerId, LocalDate date);
+    
+    /**
+     * Checks whether a time range overlaps any existing slot of a gym center
+     * on the same date (start < existing end and end > existing start).
+     * @param centerId the center ID
+     * @param date the slot date, or null for today
+     * @param startTime start of the candidate slot
+     * @param endTime end of the candidate slot
+     * @return true if an existing slot overlaps, false otherwise
+     */
+    boolean hasOverlappingSlot(String centerId, LocalDate date, LocalTime startTime, LocalTime endTime);
+    
     /**
      * Retrieves all slots in the system.
      * @return a list of all slots
      */
     List<Slot> getAllSlots();
     
+    /**
+     * Retrieves one page of slots in slotID order (keyset pagination).
+     * @param afterSlotId the last ID of the previous page, or null for the first page
+     * @param limit the maximum number of rows to return
+     * @return up to limit slots with an ID greater than afterSlotId
+     */
+    List<Slot> getSlotsPage(String afterSlotId, int limit);
+    
+    /**
+     * Streams every slot to the action in slotID order, reading the
+     * result set in fetch-size chunks instead of building a list.
+     * @param action called once per row
+     */
+    void forEachSlot(Consumer<Slot> action);
+    
     /**
      * Updates an existing slot.
      * @param slot the slot with updated information
@@ -55,6 +118,51 @@ public interface SlotDAO {
     /** Transactional variant using provided Connection */
     boolean updateSlotBookingCount(Connection conn, String slotId, int newBookingCount);
 
+    /**
+     * Atomically claims one seat in a slot using a guarded UPDATE
+     * (currentBookings + 1 only while currentBookings < maxCapacity).
+     * Runs on the caller's connection so it commits or rolls back with the booking.
+     * @param conn the transactional connection
+     * @param slotId the slot ID
+     * @return true if a seat was claimed, false if the slot is full or does not exist
+     * @throws SQLException if the UPDATE fails; callers roll back rather than treat it as a full slot
+     */
+    boolean reserveSeat(Connection conn, String slotId) throws SQLException;
+
+    /**
+     * Atomically gives back one seat in a slot (never goes below zero).
+     * @param conn the transactional connection
+     * @param slotId the slot ID
+     * @return true if a seat was released, false if the slot is missing or has no bookings
+     * @throws SQLException if the UPDATE fails
+     */
+    boolean releaseSeat(Connection conn, String slotId) throws SQLException;
+
+    /**
+     * Gives back seats in several slots as one JDBC batch (a single round trip
+     * with rewriteBatchedStatements=true). Counts never go below zero.
+     * @param conn the transactional connection
+     * @param seatsBySlot number of seats to release per slot ID
+     * @return true once the batch has run
+     * @throws SQLException if the batch fails
+     */
+    boolean releaseSeats(Connection conn, Map<String, Integer> seatsBySlot) throws SQLException;
+
+    /**
+     * Called once the transaction on conn has committed, so seat changes made
+     * on it can reach in-memory copies of the slot table (nothing to do for
+     * the plain DAOs).
+     * @param conn the transactional connection
+     */
+    void applySeatChanges(Connection conn);
+
+    /**
+     * Called before conn is given back; drops seat changes made on it that
+     * were never committed.
+     * @param conn the transactional connection
+     */
+    void discardSeatChanges(Connection conn);
+
     /**
      * Deletes a slot by its ID.
      * @param slotId the slot ID to delete
@@ -2,41 +2,75 @@ package com.flipfit.dao;
 
 import com.flipfit.bean.Slot;
 import com.flipfit.utils.DBConnection;
+import com.flipfit.utils.DBUtils;
 import java.sql.Connection;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Implementation of SlotDAO using JDBC and MySQL database.
  */
 public class SlotDAOImpl implements SlotDAO {
 
+    private static final Logger LOG = LoggerFactory.getLogger(SlotDAOImpl.class);
+
     @Override
     public boolean addSlot(Slot slot) {
-        String query = "INSERT INTO slot (slotID, centerID, startTime, endTime, maxCapacity, currentBookings) " +
-                       "VALUES (?, ?, ?, ?, ?, ?)";
+        String query = "INSERT INTO slot (slotID, centerID, slotDate, startTime, endTime, maxCapacity, currentBookings) " +
+                       "VALUES (?, ?, ?, ?, ?, ?, ?)";
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(query)) {
             
-            pstmt.setString(1, slot.getSlotId());
-            pstmt.setString(2, slot.getCenterId());
-            pstmt.setTimestamp(3, Timestamp.valueOf(LocalDateTime.of(java.time.LocalDate.now(), slot.getStartTime())));
-            pstmt.setTimestamp(4, Timestamp.valueOf(LocalDateTime.of(java.time.LocalDate.now(), slot.getEndTime())));
-            pstmt.setInt(5, slot.getMaxCapacity());
-            pstmt.setInt(6, slot.getCurrentBookings());
+            setInsertParameters(pstmt, slot);
             
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error adding slot: " + e.getMessage());
+            LOG.error("Error adding slot op=addSlot table=slot", e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean addSlots(List<Slot> slots) {
+        if (slots.isEmpty()) {
+            return true;
+        }
+        String query = "INSERT INTO slot (slotID, centerID, slotDate, startTime, endTime, maxCapacity, currentBookings) " +
+                       "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        Connection conn = null;
+        try {
+            conn = DBConnection.getConnection();
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+                for (Slot slot : slots) {
+                    setInsertParameters(pstmt, slot);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            conn.commit();
+            return true;
+        } catch (SQLException e) {
+            try { if (conn != null) conn.rollback(); } catch (SQLException ex) {}
+            LOG.error("Error adding slots op=addSlots table=slot", e);
             return false;
+        } finally {
+            if (conn != null) { try { conn.setAutoCommit(true); conn.close(); } catch (SQLException e) {} }
         }
     }
 
@@ -54,7 +88,7 @@ public class SlotDAOImpl implements SlotDAO {
                 return mapResultSetToSlot(rs);
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting slot: " + e.getMessage());
+            LOG.error("Error getting slot op=getSlotById table=slot", e);
         }
         return null;
     }
@@ -74,11 +108,124 @@ public class SlotDAOImpl implements SlotDAO {
                 slots.add(mapResultSetToSlot(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting slots by center: " + e.getMessage());
+            LOG.error("Error getting slots by center op=getSlotsByCenterId table=slot", e);
+        }
+        return slots;
+    }
+
+    @Override
+    public int countSlotsByCenterId(String centerId) {
+        return count("SELECT COUNT(*) FROM slot WHERE centerID = ?", centerId);
+    }
+
+    @Override
+    public int countAvailableSlotsByCenterId(String centerId) {
+        return count("SELECT COUNT(*) FROM slot WHERE centerID = ? AND currentBookings < maxCapacity", centerId);
+    }
+
+    @Override
+    public List<Slot> getAvailableSlotsByDate(String centerId, LocalDate date) {
+        String query = "SELECT * FROM slot WHERE centerID = ? AND slotDate = ? " +
+                       "AND currentBookings < maxCapacity ORDER BY startTime";
+        List<Slot> slots = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            
+            pstmt.setString(1, centerId);
+            pstmt.setDate(2, Date.valueOf(date));
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                slots.add(mapResultSetToSlot(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting available slots op=getAvailableSlotsByDate table=slot", e);
+        }
+        return slots;
+    }
+
+    @Override
+    public boolean hasOverlappingSlot(String centerId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        String query = "SELECT 1 FROM slot WHERE centerID = ? AND slotDate = ? AND startTime < ? AND endTime > ? LIMIT 1";
+        LocalDate day = date != null ? date : LocalDate.now();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            
+            pstmt.setString(1, centerId);
+            pstmt.setDate(2, Date.valueOf(day));
+            pstmt.setTimestamp(3, timestamp(day, endTime));
+            pstmt.setTimestamp(4, timestamp(day, startTime));
+            ResultSet rs = pstmt.executeQuery();
+            
+            return rs.next();
+        } catch (SQLException e) {
+            LOG.error("Error checking slot overlap op=hasOverlappingSlot table=slot", e);
+        }
+        return false;
+    }
+
+    private int count(String query, String centerId) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            
+            pstmt.setString(1, centerId);
+            ResultSet rs = pstmt.executeQuery();
+            
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error counting slots op=count table=slot", e);
+        }
+        return -1;
+    }
+
+    @Override
+    public List<Slot> getSlotsPage(String afterSlotId, int limit) {
+        String query = afterSlotId == null
+                ? "SELECT * FROM slot ORDER BY slotID LIMIT ?"
+                : "SELECT * FROM slot WHERE slotID > ? ORDER BY slotID LIMIT ?";
+        List<Slot> slots = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            
+            int i = 1;
+            if (afterSlotId != null) {
+                pstmt.setString(i++, afterSlotId);
+            }
+            pstmt.setInt(i, limit);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                slots.add(mapResultSetToSlot(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting slot page op=getSlotsPage table=slot", e);
         }
         return slots;
     }
 
+    @Override
+    public void forEachSlot(Consumer<Slot> action) {
+        String query = "SELECT * FROM slot ORDER BY slotID";
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            pstmt.setFetchSize(DBUtils.STREAM_FETCH_SIZE);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                action.accept(mapResultSetToSlot(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error streaming slots op=forEachSlot table=slot", e);
+        }
+    }
+
     @Override
     public List<Slot> getAllSlots() {
         String query = "SELECT * FROM slot";
@@ -93,30 +240,32 @@ public class SlotDAOImpl implements SlotDAO {
                 slots.add(mapResultSetToSlot(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting all slots: " + e.getMessage());
+            LOG.error("Error getting all slots op=getAllSlots table=slot", e);
         }
         return slots;
     }
 
     @Override
     public boolean updateSlot(Slot slot) {
-        String query = "UPDATE slot SET centerID = ?, startTime = ?, endTime = ?, " +
+        String query = "UPDATE slot SET centerID = ?, slotDate = ?, startTime = ?, endTime = ?, " +
                        "maxCapacity = ?, currentBookings = ? WHERE slotID = ?";
+        LocalDate date = slot.getSlotDate() != null ? slot.getSlotDate() : LocalDate.now();
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(query)) {
             
             pstmt.setString(1, slot.getCenterId());
-            pstmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.of(java.time.LocalDate.now(), slot.getStartTime())));
-            pstmt.setTimestamp(3, Timestamp.valueOf(LocalDateTime.of(java.time.LocalDate.now(), slot.getEndTime())));
-            pstmt.setInt(4, slot.getMaxCapacity());
-            pstmt.setInt(5, slot.getCurrentBookings());
-            pstmt.setString(6, slot.getSlotId());
+            pstmt.setDate(2, Date.valueOf(date));
+            pstmt.setTimestamp(3, timestamp(date, slot.getStartTime()));
+            pstmt.setTimestamp(4, timestamp(date, slot.getEndTime()));
+            pstmt.setInt(5, slot.getMaxCapacity());
+            pstmt.setInt(6, slot.getCurrentBookings());
+            pstmt.setString(7, slot.getSlotId());
             
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error updating slot: " + e.getMessage());
+            LOG.error("Error updating slot op=updateSlot table=slot", e);
             return false;
         }
     }
@@ -134,7 +283,7 @@ public class SlotDAOImpl implements SlotDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error updating slot booking count: " + e.getMessage());
+            LOG.error("Error updating slot booking count op=updateSlotBookingCount table=slot", e);
             return false;
         }
     }
@@ -149,11 +298,62 @@ public class SlotDAOImpl implements SlotDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error updating slot booking count (transactional): " + e.getMessage());
+            LOG.error("Error updating slot booking count (transactional) op=updateSlotBookingCount table=slot", e);
             return false;
         }
     }
 
+    @Override
+    public boolean reserveSeat(Connection conn, String slotId) throws SQLException {
+        String query = "UPDATE slot SET currentBookings = currentBookings + 1 " +
+                       "WHERE slotID = ? AND currentBookings < maxCapacity";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setString(1, slotId);
+            int rowsAffected = pstmt.executeUpdate();
+            return rowsAffected > 0;
+        }
+    }
+
+    @Override
+    public boolean releaseSeat(Connection conn, String slotId) throws SQLException {
+        String query = "UPDATE slot SET currentBookings = currentBookings - 1 " +
+                       "WHERE slotID = ? AND currentBookings > 0";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setString(1, slotId);
+            int rowsAffected = pstmt.executeUpdate();
+            return rowsAffected > 0;
+        }
+    }
+
+    @Override
+    public boolean releaseSeats(Connection conn, Map<String, Integer> seatsBySlot) throws SQLException {
+        if (seatsBySlot.isEmpty()) {
+            return true;
+        }
+        String query = "UPDATE slot SET currentBookings = GREATEST(currentBookings - ?, 0) WHERE slotID = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+            for (Map.Entry<String, Integer> e : seatsBySlot.entrySet()) {
+                pstmt.setInt(1, e.getValue());
+                pstmt.setString(2, e.getKey());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            return true;
+        }
+    }
+
+    @Override
+    public void applySeatChanges(Connection conn) {
+        // no in-memory state
+    }
+
+    @Override
+    public void discardSeatChanges(Connection conn) {
+        // no in-memory state
+    }
+
     @Override
     public boolean deleteSlot(String slotId) {
         String query = "DELETE FROM slot WHERE slotID = ?";
@@ -165,7 +365,7 @@ public class SlotDAOImpl implements SlotDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error deleting slot: " + e.getMessage());
+            LOG.error("Error deleting slot op=deleteSlot table=slot", e);
             return false;
         }
     }
@@ -181,6 +381,10 @@ public class SlotDAOImpl implements SlotDAO {
         Timestamp startTimestamp = rs.getTimestamp("startTime");
         Timestamp endTimestamp = rs.getTimestamp("endTime");
         
+        Date slotDate = rs.getDate("slotDate");
+        if (slotDate != null) {
+            slot.setSlotDate(slotDate.toLocalDate());
+        }
         if (startTimestamp != null) {
             slot.setStartTime(startTimestamp.toLocalDateTime().toLocalTime());
         }
@@ -192,4 +396,23 @@ public class SlotDAOImpl implements SlotDAO {
         slot.setCurrentBookings(rs.getInt("currentBookings"));
         return slot;
     }
+
+    /**
+     * Binds a slot to the INSERT statement. Slots without a date are
+     * stored on today's date.
+     */
+    private static void setInsertParameters(PreparedStatement pstmt, Slot slot) throws SQLException {
+        LocalDate date = slot.getSlotDate() != null ? slot.getSlotDate() : LocalDate.now();
+        pstmt.setString(1, slot.getSlotId());
+        pstmt.setString(2, slot.getCenterId());
+        pstmt.setDate(3, Date.valueOf(date));
+        pstmt.setTimestamp(4, timestamp(date, slot.getStartTime()));
+        pstmt.setTimestamp(5, timestamp(date, slot.getEndTime()));
+        pstmt.setInt(6, slot.getMaxCapacity());
+        pstmt.setInt(7, slot.getCurrentBookings());
+    }
+
+    private static Timestamp timestamp(LocalDate date, LocalTime time) {
+        return Timestamp.valueOf(LocalDateTime.of(date, time));
+    }
 }
@@ -0,0 +1,166 @@
+package com.flipfit.dao;
+
+import com.flipfit.bean.Slot;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable index over one center's slot times for overlap checks.
+ *
+ * Intervals are kept in arrays sorted by start time, together with the
+ * running maximum of the end times. Two slots overlap when
+ * start &lt; otherEnd and end &gt; otherStart, so a candidate [start, end)
+ * overlaps something iff, among the intervals starting before end, the
+ * largest end is after start. That is one binary search plus one array
+ * read, O(log n), and stays correct even if the stored slots already
+ * overlap each other.
+ *
+ * Slots without a start or end time are ignored.
+ */
+public final class SlotIntervalIndex {
+
+    private static final SlotIntervalIndex EMPTY = new SlotIntervalIndex(new LocalTime[0], new LocalTime[0]);
+
+    private static final Comparator<Slot> BY_START = Comparator.comparing(Slot::getStartTime);
+
+    private final LocalTime[] starts;
+    private final LocalTime[] ends;
+    private final LocalTime[] maxEnd; // maxEnd[i] = latest of ends[0..i]
+
+    private SlotIntervalIndex(LocalTime[] starts, LocalTime[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnd = new LocalTime[ends.length];
+        for (int i = 0; i < ends.length; i++) {
+            maxEnd[i] = i == 0 || ends[i].isAfter(maxEnd[i - 1]) ? ends[i] : maxEnd[i - 1];
+        }
+    }
+
+    public static SlotIntervalIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds an index over the given slots in O(n log n).
+     */
+    public static SlotIntervalIndex of(Collection<Slot> slots) {
+        return EMPTY.plus(slots);
+    }
+
+    /**
+     * Returns a new index that also contains the given slots, e.g. a whole
+     * week's schedule. The added slots are sorted and merged with the
+     * existing arrays in one pass: O(n + m log m) rather than m separate
+     * insertions.
+     */
+    public SlotIntervalIndex plus(Collection<Slot> added) {
+        List<Slot> sorted = timed(added);
+        if (sorted.isEmpty()) {
+            return this;
+        }
+        sorted.sort(BY_START);
+
+        int n = starts.length;
+        int m = sorted.size();
+        LocalTime[] mergedStarts = new LocalTime[n + m];
+        LocalTime[] mergedEnds = new LocalTime[n + m];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < n + m; k++) {
+            if (j >= m || (i < n && !starts[i].isAfter(sorted.get(j).getStartTime()))) {
+                mergedStarts[k] = starts[i];
+                mergedEnds[k] = ends[i];
+                i++;
+            } else {
+                mergedStarts[k] = sorted.get(j).getStartTime();
+                mergedEnds[k] = sorted.get(j).getEndTime();
+                j++;
+            }
+        }
+        return new SlotIntervalIndex(mergedStarts, mergedEnds);
+    }
+
+    /**
+     * Checks whether [start, end) overlaps any indexed slot.
+     */
+    public boolean overlaps(LocalTime start, LocalTime end) {
+        if (start == null || end == null) {
+            return false;
+        }
+        int before = countStartingBefore(end);
+        return before > 0 && maxEnd[before - 1].isAfter(start);
+    }
+
+    /**
+     * Finds the slots of a batch that overlap either an indexed slot or
+     * another slot of the same batch, so a bulk import can be validated
+     * before anything is written. Runs in O(m log m + m log n).
+     *
+     * @param batch the slots to be inserted together
+     * @return the conflicting slots of the batch, in start-time order
+     */
+    public List<Slot> conflicts(Collection<Slot> batch) {
+        List<Slot> sorted = timed(batch);
+        sorted.sort(BY_START);
+
+        List<Slot> conflicting = new ArrayList<>();
+        LocalTime batchMaxEnd = null;
+        Slot batchMaxSlot = null;
+        boolean batchMaxReported = false;
+        for (Slot slot : sorted) {
+            boolean clash = overlaps(slot.getStartTime(), slot.getEndTime());
+            if (batchMaxEnd != null && batchMaxEnd.isAfter(slot.getStartTime())) {
+                clash = true;
+                // the earlier slot reaching furthest is the one this slot runs into
+                if (!batchMaxReported) {
+                    conflicting.add(batchMaxSlot);
+                    batchMaxReported = true;
+                }
+            }
+            if (clash) {
+                conflicting.add(slot);
+            }
+            if (batchMaxEnd == null || slot.getEndTime().isAfter(batchMaxEnd)) {
+                batchMaxEnd = slot.getEndTime();
+                batchMaxSlot = slot;
+                batchMaxReported = clash;
+            }
+        }
+        conflicting.sort(BY_START);
+        return conflicting;
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Number of intervals whose start is strictly before the given time.
+     */
+    private int countStartingBefore(LocalTime time) {
+        int lo = 0;
+        int hi = starts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid].isBefore(time)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static List<Slot> timed(Collection<Slot> slots) {
+        List<Slot> result = new ArrayList<>(slots.size());
+        for (Slot slot : slots) {
+            if (slot != null && slot.getStartTime() != null && slot.getEndTime() != null) {
+                result.add(slot);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,275 @@
+package com.flipfit.dao;
+
+import com.flipfit.bean.Slot;
+import com.flipfit.utils.DBUtils;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.PreparedBatch;
+import org.jdbi.v3.core.statement.Query;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class SlotJdbiDAO implements SlotDAO {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SlotJdbiDAO.class);
+
+    private final Jdbi jdbi;
+
+    public SlotJdbiDAO(Jdbi jdbi) {
+        this.jdbi = jdbi;
+    }
+
+    @Override
+    public boolean addSlot(Slot slot) {
+        String sql = "INSERT INTO slot (slotID, centerID, slotDate, startTime, endTime, maxCapacity, currentBookings) VALUES (:slotId, :centerId, :slotDate, :startTime, :endTime, :maxCapacity, :currentBookings)";
+        return jdbi.withHandle(handle -> handle.createUpdate(sql)
+                .bind("slotId", slot.getSlotId())
+                .bind("centerId", slot.getCenterId())
+                .bind("slotDate", Date.valueOf(dateOrToday(slot.getSlotDate())))
+                .bind("startTime", timestamp(slot.getSlotDate(), slot.getStartTime()))
+                .bind("endTime", timestamp(slot.getSlotDate(), slot.getEndTime()))
+                .bind("maxCapacity", slot.getMaxCapacity())
+                .bind("currentBookings", slot.getCurrentBookings())
+                .execute() > 0);
+    }
+
+    @Override
+    public boolean addSlots(List<Slot> slots) {
+        if (slots.isEmpty()) {
+            return true;
+        }
+        String sql = "INSERT INTO slot (slotID, centerID, slotDate, startTime, endTime, maxCapacity, currentBookings) VALUES (:slotId, :centerId, :slotDate, :startTime, :endTime, :maxCapacity, :currentBookings)";
+        return jdbi.inTransaction(handle -> {
+            PreparedBatch batch = handle.prepareBatch(sql);
+            for (Slot slot : slots) {
+                batch.bind("slotId", slot.getSlotId())
+                        .bind("centerId", slot.getCenterId())
+                        .bind("slotDate", Date.valueOf(dateOrToday(slot.getSlotDate())))
+                        .bind("startTime", timestamp(slot.getSlotDate(), slot.getStartTime()))
+                        .bind("endTime", timestamp(slot.getSlotDate(), slot.getEndTime()))
+                        .bind("maxCapacity", slot.getMaxCapacity())
+                        .bind("currentBookings", slot.getCurrentBookings())
+                        .add();
+            }
+            batch.execute();
+            return true;
+        });
+    }
+
+    @Override
+    public Slot getSlotById(String slotId) {
+        String sql = "SELECT * FROM slot WHERE slotID = :slotId";
+        Optional<Slot> opt = jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("slotId", slotId)
+                .map((rs, ctx) -> mapSlot(rs))
+                .findOne());
+        return opt.orElse(null);
+    }
+
+    @Override
+    public List<Slot> getSlotsByCenterId(String centerId) {
+        String sql = "SELECT * FROM slot WHERE centerID = :centerId";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("centerId", centerId)
+                .map((rs, ctx) -> mapSlot(rs))
+                .list());
+    }
+
+    @Override
+    public int countSlotsByCenterId(String centerId) {
+        String sql = "SELECT COUNT(*) FROM slot WHERE centerID = :centerId";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("centerId", centerId)
+                .mapTo(Integer.class)
+                .one());
+    }
+
+    @Override
+    public int countAvailableSlotsByCenterId(String centerId) {
+        String sql = "SELECT COUNT(*) FROM slot WHERE centerID = :centerId AND currentBookings < maxCapacity";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("centerId", centerId)
+                .mapTo(Integer.class)
+                .one());
+    }
+
+    @Override
+    public List<Slot> getAvailableSlotsByDate(String centerId, LocalDate date) {
+        String sql = "SELECT * FROM slot WHERE centerID = :centerId AND slotDate = :slotDate AND currentBookings < maxCapacity ORDER BY startTime";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("centerId", centerId)
+                .bind("slotDate", Date.valueOf(date))
+                .map((rs, ctx) -> mapSlot(rs))
+                .list());
+    }
+
+    @Override
+    public boolean hasOverlappingSlot(String centerId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        String sql = "SELECT 1 FROM slot WHERE centerID = :centerId AND slotDate = :slotDate AND startTime < :endTime AND endTime > :startTime LIMIT 1";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .bind("centerId", centerId)
+                .bind("slotDate", Date.valueOf(dateOrToday(date)))
+                .bind("startTime", timestamp(date, startTime))
+                .bind("endTime", timestamp(date, endTime))
+                .mapTo(Integer.class)
+                .findFirst()
+                .isPresent());
+    }
+
+    @Override
+    public List<Slot> getSlotsPage(String afterSlotId, int limit) {
+        String sql = afterSlotId == null
+                ? "SELECT * FROM slot ORDER BY slotID LIMIT :limit"
+                : "SELECT * FROM slot WHERE slotID > :after ORDER BY slotID LIMIT :limit";
+        return jdbi.withHandle(handle -> {
+            Query query = handle.createQuery(sql).bind("limit", limit);
+            if (afterSlotId != null) {
+                query.bind("after", afterSlotId);
+            }
+            return query.map((rs, ctx) -> mapSlot(rs)).list();
+        });
+    }
+
+    @Override
+    public void forEachSlot(Consumer<Slot> action) {
+        String sql = "SELECT * FROM slot ORDER BY slotID";
+        jdbi.useHandle(handle -> handle.createQuery(sql)
+                .setFetchSize(DBUtils.STREAM_FETCH_SIZE)
+                .map((rs, ctx) -> mapSlot(rs))
+                .forEach(action));
+    }
+
+    @Override
+    public List<Slot> getAllSlots() {
+        String sql = "SELECT * FROM slot";
+        return jdbi.withHandle(handle -> handle.createQuery(sql)
+                .map((rs, ctx) -> mapSlot(rs))
+                .list());
+    }
+
+    @Override
+    public boolean updateSlot(Slot slot) {
+        String sql = "UPDATE slot SET centerID = :centerId, slotDate = :slotDate, startTime = :startTime, endTime = :endTime, maxCapacity = :maxCapacity, currentBookings = :currentBookings WHERE slotID = :slotId";
+        return jdbi.withHandle(handle -> handle.createUpdate(sql)
+                .bind("centerId", slot.getCenterId())
+                .bind("slotDate", Date.valueOf(dateOrToday(slot.getSlotDate())))
+                .bind("startTime", timestamp(slot.getSlotDate(), slot.getStartTime()))
+                .bind("endTime", timestamp(slot.getSlotDate(), slot.getEndTime()))
+                .bind("maxCapacity", slot.getMaxCapacity())
+                .bind("currentBookings", slot.getCurrentBookings())
+                .bind("slotId", slot.getSlotId())
+                .execute() > 0);
+    }
+
+    @Override
+    public boolean updateSlotBookingCount(String slotId, int newBookingCount) {
+        String sql = "UPDATE slot SET currentBookings = :currentBookings WHERE slotID = :slotId";
+        return jdbi.withHandle(handle -> handle.createUpdate(sql)
+                .bind("currentBookings", newBookingCount)
+                .bind("slotId", slotId)
+                .execute() > 0);
+    }
+
+    @Override
+    public boolean updateSlotBookingCount(Connection conn, String slotId, int newBookingCount) {
+        String sql = "UPDATE slot SET currentBookings = ? WHERE slotID = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, newBookingCount);
+            pstmt.setString(2, slotId);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            LOG.error("Error updating slot booking count (transactional) op=updateSlotBookingCount table=slot", e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean reserveSeat(Connection conn, String slotId) throws SQLException {
+        String sql = "UPDATE slot SET currentBookings = currentBookings + 1 WHERE slotID = ? AND currentBookings < maxCapacity";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, slotId);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    @Override
+    public boolean releaseSeat(Connection conn, String slotId) throws SQLException {
+        String sql = "UPDATE slot SET currentBookings = currentBookings - 1 WHERE slotID = ? AND currentBookings > 0";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, slotId);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    @Override
+    public boolean releaseSeats(Connection conn, Map<String, Integer> seatsBySlot) throws SQLException {
+        if (seatsBySlot.isEmpty()) {
+            return true;
+        }
+        String sql = "UPDATE slot SET currentBookings = GREATEST(currentBookings - ?, 0) WHERE slotID = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (Map.Entry<String, Integer> e : seatsBySlot.entrySet()) {
+                pstmt.setInt(1, e.getValue());
+                pstmt.setString(2, e.getKey());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            return true;
+        }
+    }
+
+    @Override
+    public void applySeatChanges(Connection conn) {
+        // no in-memory state
+    }
+
+    @Override
+    public void discardSeatChanges(Connection conn) {
+        // no in-memory state
+    }
+
+    @Override
+    public boolean deleteSlot(String slotId) {
+        String sql = "DELETE FROM slot WHERE slotID = :slotId";
+        return jdbi.withHandle(handle -> handle.createUpdate(sql)
+                .bind("slotId", slotId)
+                .execute() > 0);
+    }
+
+    private static Slot mapSlot(ResultSet rs) throws SQLException {
+        Slot s = new Slot();
+        s.setSlotId(rs.getString("slotID"));
+        s.setCenterId(rs.getString("centerID"));
+        Timestamp start = rs.getTimestamp("startTime");
+        Timestamp end = rs.getTimestamp("endTime");
+        Date slotDate = rs.getDate("slotDate");
+        if (slotDate != null) s.setSlotDate(slotDate.toLocalDate());
+        if (start != null) s.setStartTime(start.toLocalDateTime().toLocalTime());
+        if (end != null) s.setEndTime(end.toLocalDateTime().toLocalTime());
+        s.setMaxCapacity(rs.getInt("maxCapacity"));
+        s.setCurrentBookings(rs.getInt("currentBookings"));
+        return s;
+    }
+
+    private static LocalDate dateOrToday(LocalDate date) {
+        return date != null ? date : LocalDate.now();
+    }
+
+    private static Timestamp timestamp(LocalDate date, LocalTime time) {
+        return Timestamp.valueOf(LocalDateTime.of(dateOrToday(date), time));
+    }
+}
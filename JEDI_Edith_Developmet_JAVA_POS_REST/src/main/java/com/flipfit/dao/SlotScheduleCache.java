@@ -0,0 +1,566 @@
+package com.flipfit.dao;
+
+import com.flipfit.bean.Slot;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Per-center slot schedule cache in front of a SlotDAO.
+ *
+ * Each center's slots are loaded once with getSlotsByCenterId and kept
+ * sorted by date and start time. Counts and availability are answered by
+ * walking the cached arrays, so they allocate nothing. Booking counts live in an
+ * AtomicIntegerArray and are adjusted in place whenever a seat
+ * reservation or release made through this DAO commits, instead of
+ * reloading the center.
+ * Overlap checks for new slots use one SlotIntervalIndex per date, built
+ * with the schedule, so they take O(log n) instead of scanning the center.
+ *
+ * addSlot/addSlots/updateSlot/deleteSlot write through and drop the affected
+ * center's schedule. Seat changes made inside a transaction are held per
+ * connection and only applied when the caller reports the commit through
+ * applySeatChanges; a rollback discards them, so the counts (and the
+ * ledger and booking versions fed from them) never show uncommitted
+ * work. The guarded UPDATEs in the database stay the source of truth for
+ * admitting bookings. A freshly loaded schedule is only installed if no
+ * slot write, and no seat change in one of its slots, was applied or
+ * still pending while it loaded; otherwise the load could have missed a
+ * change that is never applied to it, or include one that is applied on
+ * top.
+ *
+ * Every seat change and slot write also bumps a per-center booking
+ * version, so reports derived from a center's bookings can tell whether
+ * they are still current without re-reading anything. Successful
+ * updateSlot and deleteSlot calls are also passed to any registered
+ * SlotWriteListener.
+ */
+public class SlotScheduleCache implements SlotDAO {
+
+    private static final long DEFAULT_TTL_MILLIS = 60_000;
+    private static final int DEFAULT_MAX_CENTERS = 10_000;
+    private static final int SEAT_STRIPES = 1024;
+
+    private static SlotScheduleCache instance;
+
+    private final SlotDAO delegate;
+    private final long ttlMillis;
+    private final int maxCenters;
+
+    private final Map<String, CenterSchedule> schedules = new ConcurrentHashMap<>();
+    private final Map<String, String> centerBySlot = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong(); // bumped on every invalidation
+    private final Map<String, AtomicLong> bookingVersions = new ConcurrentHashMap<>();
+    private final AtomicLong unattributedChanges = new AtomicLong(); // seat changes in slots of uncached centers
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final List<SlotWriteListener> writeListeners = new CopyOnWriteArrayList<>();
+    // seat deltas per slot made on each open transaction; a connection is used by one thread at a time
+    private final Map<Connection, Map<String, Integer>> pendingSeats = new ConcurrentHashMap<>();
+    // orders installing a schedule against invalidations and applied seat changes
+    private final Object installLock = new Object();
+    // ticks once per applied seat change; seatStripes holds the last tick seen by each stripe of slot IDs
+    private final AtomicLong seatClock = new AtomicLong();
+    private final long[] seatStripes = new long[SEAT_STRIPES]; // guarded by installLock
+
+    public SlotScheduleCache(SlotDAO delegate, long ttlMillis, int maxCenters) {
+        this.delegate = delegate;
+        this.ttlMillis = ttlMillis;
+        this.maxCenters = maxCenters;
+    }
+
+    /**
+     * Process-wide cache over SlotDAOImpl, shared by the CLI menus and the
+     * default service constructors.
+     */
+    public static synchronized SlotScheduleCache getInstance() {
+        if (instance == null) {
+            instance = new SlotScheduleCache(new SlotDAOImpl(), DEFAULT_TTL_MILLIS, DEFAULT_MAX_CENTERS);
+        }
+        return instance;
+    }
+
+    /**
+     * Registers a listener for slot updates and deletions made through this cache.
+     */
+    public void addWriteListener(SlotWriteListener listener) {
+        writeListeners.add(listener);
+    }
+
+    @Override
+    public boolean addSlot(Slot slot) {
+        try {
+            return delegate.addSlot(slot);
+        } finally {
+            invalidateCenter(slot.getCenterId());
+        }
+    }
+
+    @Override
+    public boolean addSlots(List<Slot> slots) {
+        try {
+            return delegate.addSlots(slots);
+        } finally {
+            Set<String> centers = new HashSet<>();
+            for (Slot slot : slots) {
+                centers.add(slot.getCenterId());
+            }
+            for (String centerId : centers) {
+                invalidateCenter(centerId);
+            }
+        }
+    }
+
+    @Override
+    public Slot getSlotById(String slotId) {
+        String centerId = centerBySlot.get(slotId);
+        CenterSchedule schedule = centerId == null ? null : fresh(centerId);
+        if (schedule != null) {
+            Integer i = schedule.index.get(slotId);
+            if (i != null) {
+                hits.incrementAndGet();
+                return schedule.copy(i);
+            }
+        }
+        return delegate.getSlotById(slotId);
+    }
+
+    @Override
+    public List<Slot> getSlotsByCenterId(String centerId) {
+        CenterSchedule schedule = schedule(centerId);
+        List<Slot> slots = new ArrayList<>(schedule.size());
+        for (int i = 0; i < schedule.size(); i++) {
+            slots.add(schedule.copy(i));
+        }
+        return slots;
+    }
+
+    @Override
+    public int countSlotsByCenterId(String centerId) {
+        return schedule(centerId).size();
+    }
+
+    @Override
+    public int countAvailableSlotsByCenterId(String centerId) {
+        CenterSchedule schedule = schedule(centerId);
+        int available = 0;
+        for (int i = 0; i < schedule.size(); i++) {
+            if (schedule.booked.get(i) < schedule.capacity[i]) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    /**
+     * A day view is answered from the cached schedule when the center is
+     * already loaded; otherwise it goes to the DAO's indexed date query
+     * rather than loading the center's whole history.
+     */
+    @Override
+    public List<Slot> getAvailableSlotsByDate(String centerId, LocalDate date) {
+        CenterSchedule schedule = fresh(centerId);
+        if (schedule == null) {
+            return delegate.getAvailableSlotsByDate(centerId, date);
+        }
+        hits.incrementAndGet();
+        List<Slot> slots = new ArrayList<>();
+        for (int i = schedule.firstOnOrAfter(date); i < schedule.size() && date.equals(schedule.slots[i].getSlotDate()); i++) {
+            if (schedule.booked.get(i) < schedule.capacity[i]) {
+                slots.add(schedule.copy(i));
+            }
+        }
+        return slots;
+    }
+
+    @Override
+    public boolean hasOverlappingSlot(String centerId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        SlotIntervalIndex day = schedule(centerId).intervals.get(date != null ? date : LocalDate.now());
+        return day != null && day.overlaps(startTime, endTime);
+    }
+
+    @Override
+    public List<Slot> getAllSlots() {
+        return delegate.getAllSlots();
+    }
+
+    @Override
+    public List<Slot> getSlotsPage(String afterSlotId, int limit) {
+        return delegate.getSlotsPage(afterSlotId, limit);
+    }
+
+    @Override
+    public void forEachSlot(Consumer<Slot> action) {
+        delegate.forEachSlot(action);
+    }
+
+    @Override
+    public boolean updateSlot(Slot slot) {
+        String previousCenter = centerBySlot.get(slot.getSlotId());
+        try {
+            boolean ok = delegate.updateSlot(slot);
+            if (ok) {
+                for (SlotWriteListener listener : writeListeners) {
+                    listener.slotUpdated(slot);
+                }
+            }
+            return ok;
+        } finally {
+            invalidateCenter(previousCenter);
+            invalidateCenter(slot.getCenterId());
+        }
+    }
+
+    @Override
+    public boolean updateSlotBookingCount(String slotId, int newBookingCount) {
+        boolean ok = delegate.updateSlotBookingCount(slotId, newBookingCount);
+        if (ok) {
+            setBookings(slotId, newBookingCount);
+        }
+        return ok;
+    }
+
+    @Override
+    public boolean updateSlotBookingCount(Connection conn, String slotId, int newBookingCount) {
+        boolean ok = delegate.updateSlotBookingCount(conn, slotId, newBookingCount);
+        if (ok) {
+            setBookings(slotId, newBookingCount);
+        }
+        return ok;
+    }
+
+    @Override
+    public boolean reserveSeat(Connection conn, String slotId) throws SQLException {
+        boolean ok = delegate.reserveSeat(conn, slotId);
+        if (ok) {
+            stageSeatChange(conn, slotId, 1);
+        }
+        return ok;
+    }
+
+    @Override
+    public boolean releaseSeat(Connection conn, String slotId) throws SQLException {
+        boolean ok = delegate.releaseSeat(conn, slotId);
+        if (ok) {
+            stageSeatChange(conn, slotId, -1);
+        }
+        return ok;
+    }
+
+    @Override
+    public boolean releaseSeats(Connection conn, Map<String, Integer> seatsBySlot) throws SQLException {
+        boolean ok = delegate.releaseSeats(conn, seatsBySlot);
+        if (ok) {
+            for (Map.Entry<String, Integer> e : seatsBySlot.entrySet()) {
+                stageSeatChange(conn, e.getKey(), -e.getValue());
+            }
+        }
+        return ok;
+    }
+
+    @Override
+    public void applySeatChanges(Connection conn) {
+        Map<String, Integer> changes = pendingSeats.get(conn);
+        if (changes == null) {
+            return;
+        }
+        synchronized (installLock) {
+            for (Map.Entry<String, Integer> e : changes.entrySet()) {
+                adjustBookings(e.getKey(), e.getValue());
+            }
+            pendingSeats.remove(conn);
+        }
+    }
+
+    @Override
+    public void discardSeatChanges(Connection conn) {
+        pendingSeats.remove(conn);
+    }
+
+    @Override
+    public boolean deleteSlot(String slotId) {
+        String centerId = centerBySlot.get(slotId);
+        try {
+            boolean ok = delegate.deleteSlot(slotId);
+            if (ok) {
+                for (SlotWriteListener listener : writeListeners) {
+                    listener.slotDeleted(slotId);
+                }
+            }
+            return ok;
+        } finally {
+            if (centerId != null) {
+                invalidateCenter(centerId);
+            }
+            centerBySlot.remove(slotId);
+        }
+    }
+
+    /**
+     * Drops one center's schedule; the next read reloads it.
+     */
+    public void invalidateCenter(String centerId) {
+        if (centerId == null) {
+            return;
+        }
+        synchronized (installLock) {
+            generation.incrementAndGet();
+            bumpBookingVersion(centerId);
+            CenterSchedule removed = schedules.remove(centerId);
+            if (removed != null) {
+                evictions.incrementAndGet();
+                for (String slotId : removed.index.keySet()) {
+                    centerBySlot.remove(slotId, centerId);
+                }
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (installLock) {
+            generation.incrementAndGet();
+            unattributedChanges.incrementAndGet();
+            evictions.addAndGet(schedules.size());
+            schedules.clear();
+            centerBySlot.clear();
+        }
+    }
+
+    /**
+     * Changes whenever a seat is reserved or released, or a slot is written,
+     * in the given center. A seat change in a slot whose center is not
+     * cached cannot be attributed and changes the version of every center.
+     *
+     * @param centerId the center ID
+     * @return a value that is equal across two calls only if nothing changed in between
+     */
+    public long getBookingVersion(String centerId) {
+        AtomicLong version = bookingVersions.get(centerId);
+        return unattributedChanges.get() + (version == null ? 0 : version.get());
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the cached schedule if present and not expired.
+     */
+    private CenterSchedule fresh(String centerId) {
+        CenterSchedule schedule = schedules.get(centerId);
+        if (schedule == null || schedule.isExpired(ttlMillis)) {
+            return null;
+        }
+        return schedule;
+    }
+
+    /**
+     * Gets the schedule for a center, loading it on a miss.
+     */
+    private CenterSchedule schedule(String centerId) {
+        CenterSchedule schedule = fresh(centerId);
+        if (schedule != null) {
+            hits.incrementAndGet();
+            return schedule;
+        }
+        misses.incrementAndGet();
+        long loadedGeneration = generation.get();
+        long loadedSeatClock = seatClock.get();
+        schedule = new CenterSchedule(delegate.getSlotsByCenterId(centerId));
+        synchronized (installLock) {
+            // a slot write or seat change that overlapped the load must not be hidden behind this schedule
+            if (generation.get() != loadedGeneration || seatsChangedSince(schedule, loadedSeatClock)) {
+                return schedule;
+            }
+            if (!schedules.containsKey(centerId) && schedules.size() >= maxCenters) {
+                evictOne();
+            }
+            schedules.put(centerId, schedule);
+            for (String slotId : schedule.index.keySet()) {
+                centerBySlot.put(slotId, centerId);
+            }
+        }
+        return schedule;
+    }
+
+    /**
+     * Whether a seat change in one of the schedule's slots was applied after the
+     * given clock value, or is staged on a transaction that has not finished.
+     * Called with installLock held.
+     */
+    private boolean seatsChangedSince(CenterSchedule schedule, long clock) {
+        for (String slotId : schedule.index.keySet()) {
+            if (seatStripes[stripe(slotId)] > clock) {
+                return true;
+            }
+        }
+        for (Map<String, Integer> pending : pendingSeats.values()) {
+            for (String slotId : pending.keySet()) {
+                if (schedule.index.containsKey(slotId)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int stripe(String slotId) {
+        return (slotId.hashCode() & 0x7fffffff) % SEAT_STRIPES;
+    }
+
+    private void evictOne() {
+        Iterator<String> it = schedules.keySet().iterator();
+        if (it.hasNext()) {
+            invalidateCenter(it.next());
+        }
+    }
+
+    private void bumpBookingVersion(String centerId) {
+        bookingVersions.computeIfAbsent(centerId, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    private void recordSeatChange(String slotId) {
+        String centerId = centerBySlot.get(slotId);
+        if (centerId == null) {
+            unattributedChanges.incrementAndGet();
+        } else {
+            bumpBookingVersion(centerId);
+        }
+    }
+
+    private void stageSeatChange(Connection conn, String slotId, int delta) {
+        // concurrent, since loads scan the staged slots of other transactions
+        pendingSeats.computeIfAbsent(conn, k -> new ConcurrentHashMap<>()).merge(slotId, delta, Integer::sum);
+    }
+
+    // called with installLock held
+    private void adjustBookings(String slotId, int delta) {
+        recordSeatChange(slotId);
+        seatStripes[stripe(slotId)] = seatClock.incrementAndGet();
+        CenterSchedule schedule = scheduleOf(slotId);
+        if (schedule != null) {
+            int i = schedule.index.get(slotId);
+            schedule.booked.updateAndGet(i, n -> Math.max(0, Math.min(schedule.capacity[i], n + delta)));
+        }
+    }
+
+    private void setBookings(String slotId, int bookings) {
+        synchronized (installLock) {
+            recordSeatChange(slotId);
+            seatStripes[stripe(slotId)] = seatClock.incrementAndGet();
+            CenterSchedule schedule = scheduleOf(slotId);
+            if (schedule != null) {
+                schedule.booked.set(schedule.index.get(slotId), bookings);
+            }
+        }
+    }
+
+    private CenterSchedule scheduleOf(String slotId) {
+        String centerId = centerBySlot.get(slotId);
+        if (centerId == null) {
+            return null;
+        }
+        CenterSchedule schedule = schedules.get(centerId);
+        return schedule != null && schedule.index.containsKey(slotId) ? schedule : null;
+    }
+
+    /**
+     * One center's slots sorted by date and start time. Everything except the
+     * booking counts is fixed once built.
+     */
+    private static final class CenterSchedule {
+        private final long loadedAt = System.currentTimeMillis();
+        private final Slot[] slots;
+        private final int[] capacity;
+        private final AtomicIntegerArray booked;
+        private final Map<String, Integer> index;
+        private final Map<LocalDate, SlotIntervalIndex> intervals;
+
+        CenterSchedule(List<Slot> loaded) {
+            List<Slot> sorted = new ArrayList<>(loaded);
+            sorted.sort(Comparator.comparing(Slot::getSlotDate, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+                    .thenComparing(Slot::getStartTime, Comparator.nullsLast(Comparator.naturalOrder())));
+            this.slots = sorted.toArray(new Slot[0]);
+            Map<LocalDate, List<Slot>> byDate = new HashMap<>();
+            for (Slot slot : sorted) {
+                LocalDate date = slot.getSlotDate() != null ? slot.getSlotDate() : LocalDate.now();
+                byDate.computeIfAbsent(date, d -> new ArrayList<>()).add(slot);
+            }
+            this.intervals = new HashMap<>();
+            for (Map.Entry<LocalDate, List<Slot>> day : byDate.entrySet()) {
+                intervals.put(day.getKey(), SlotIntervalIndex.of(day.getValue()));
+            }
+            this.capacity = new int[slots.length];
+            this.booked = new AtomicIntegerArray(slots.length);
+            Map<String, Integer> ids = new HashMap<>();
+            for (int i = 0; i < slots.length; i++) {
+                capacity[i] = slots[i].getMaxCapacity();
+                booked.set(i, slots[i].getCurrentBookings());
+                ids.put(slots[i].getSlotId(), i);
+            }
+            this.index = ids;
+        }
+
+        int size() {
+            return slots.length;
+        }
+
+        /**
+         * Index of the first slot dated on or after the given date (slots without a date sort first).
+         */
+        int firstOnOrAfter(LocalDate date) {
+            int lo = 0;
+            int hi = slots.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                LocalDate d = slots[mid].getSlotDate();
+                if (d == null || d.isBefore(date)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        Slot copy(int i) {
+            Slot s = slots[i];
+            Slot c = new Slot();
+            c.setSlotId(s.getSlotId());
+            c.setCenterId(s.getCenterId());
+            c.setSlotDate(s.getSlotDate());
+            c.setStartTime(s.getStartTime());
+            c.setEndTime(s.getEndTime());
+            c.setMaxCapacity(capacity[i]);
+            c.setCurrentBookings(booked.get(i));
+            return c;
+        }
+
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt > ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.flipfit.dao;
+
+import com.flipfit.bean.Slot;
+
+/**
+ * Told about slot rows written through SlotScheduleCache, so state kept
+ * outside the DAO layer (the seat ledger) follows capacity edits and
+ * deletions instead of waiting for its next reload.
+ */
+public interface SlotWriteListener {
+
+    /**
+     * The slot row was overwritten with these values.
+     * @param slot the slot as written
+     */
+    void slotUpdated(Slot slot);
+
+    /**
+     * The slot row was deleted.
+     * @param slotId the slot ID
+     */
+    void slotDeleted(String slotId);
+}
@@ -2,6 +2,7 @@ package com.flipfit.dao;
 
 import com.flipfit.bean.User;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Data Access Object interface for User entity.
@@ -50,6 +51,21 @@ public interface UserDAO {
      */
     List<User> getAllUsers();
     
+    /**
+     * Retrieves one page of users in userID order (keyset pagination).
+     * @param afterUserId the last ID of the previous page, or null for the first page
+     * @param limit the maximum number of rows to return
+     * @return up to limit users with an ID greater than afterUserId
+     */
+    List<User> getUsersPage(String afterUserId, int limit);
+    
+    /**
+     * Streams every user to the action in userID order, reading the
+     * result set in fetch-size chunks instead of building a list.
+     * @param action called once per row
+     */
+    void forEachUser(Consumer<User> action);
+    
     /**
      * Deletes a user by their ID.
      * @param userId the user ID to delete
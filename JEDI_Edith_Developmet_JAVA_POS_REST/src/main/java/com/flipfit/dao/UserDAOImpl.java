@@ -3,18 +3,25 @@ package com.flipfit.dao;
 import com.flipfit.bean.User;
 import com.flipfit.bean.Role;
 import com.flipfit.utils.DBConnection;
+import com.flipfit.utils.DBUtils;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Implementation of UserDAO using JDBC and MySQL database.
  */
 public class UserDAOImpl implements UserDAO {
 
+    private static final Logger LOG = LoggerFactory.getLogger(UserDAOImpl.class);
+
     @Override
     public boolean registerUser(User user) {
         String query = "INSERT INTO user (userID, name, email, password, phoneNumber, city, role) " +
@@ -33,11 +40,11 @@ public class UserDAOImpl implements UserDAO {
             
             int rowsAffected = pstmt.executeUpdate();
 
-            System.out.println("log2 " + rowsAffected );
+            LOG.debug("Inserted op=registerUser table=user rows={}", rowsAffected);
 
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error registering user: " + e.getMessage());
+            LOG.error("Error registering user op=registerUser table=user", e);
             return false;
         }
     }
@@ -55,7 +62,7 @@ public class UserDAOImpl implements UserDAO {
             
             return rs.next();
         } catch (SQLException e) {
-            System.err.println("[DAO] Error validating user: " + e.getMessage());
+            LOG.error("Error validating user op=isUserValid table=user", e);
             return false;
         }
     }
@@ -74,7 +81,7 @@ public class UserDAOImpl implements UserDAO {
                 return mapResultSetToUser(rs);
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting user profile: " + e.getMessage());
+            LOG.error("Error getting user profile op=getUserProfile table=user", e);
         }
         return null;
     }
@@ -98,7 +105,7 @@ public class UserDAOImpl implements UserDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error updating user: " + e.getMessage());
+            LOG.error("Error updating user op=updateUser table=user", e);
             return false;
         }
     }
@@ -117,11 +124,55 @@ public class UserDAOImpl implements UserDAO {
                 return mapResultSetToUser(rs);
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting user by ID: " + e.getMessage());
+            LOG.error("Error getting user by ID op=getUserById table=user", e);
         }
         return null;
     }
 
+    @Override
+    public List<User> getUsersPage(String afterUserId, int limit) {
+        String query = afterUserId == null
+                ? "SELECT * FROM user ORDER BY userID LIMIT ?"
+                : "SELECT * FROM user WHERE userID > ? ORDER BY userID LIMIT ?";
+        List<User> users = new ArrayList<>();
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            
+            int i = 1;
+            if (afterUserId != null) {
+                pstmt.setString(i++, afterUserId);
+            }
+            pstmt.setInt(i, limit);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                users.add(mapResultSetToUser(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error getting user page op=getUsersPage table=user", e);
+        }
+        return users;
+    }
+
+    @Override
+    public void forEachUser(Consumer<User> action) {
+        String query = "SELECT * FROM user ORDER BY userID";
+        
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            
+            pstmt.setFetchSize(DBUtils.STREAM_FETCH_SIZE);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                action.accept(mapResultSetToUser(rs));
+            }
+        } catch (SQLException e) {
+            LOG.error("Error streaming users op=forEachUser table=user", e);
+        }
+    }
+
     @Override
     public List<User> getAllUsers() {
         String query = "SELECT * FROM user";
@@ -136,7 +187,7 @@ public class UserDAOImpl implements UserDAO {
                 users.add(mapResultSetToUser(rs));
             }
         } catch (SQLException e) {
-            System.err.println("[DAO] Error getting all users: " + e.getMessage());
+            LOG.error("Error getting all users op=getAllUsers table=user", e);
         }
         return users;
     }
@@ -152,7 +203,7 @@ public class UserDAOImpl implements UserDAO {
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("[DAO] Error deleting user: " + e.getMessage());
+            LOG.error("Error deleting user op=deleteUser table=user", e);
             return false;
         }
     }
@@ -2,12 +2,17 @@ package com.flipfit.dao;
 
 import com.flipfit.bean.Role;
 import com.flipfit.bean.User;
+import com.flipfit.utils.DBUtils;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.statement.Query;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class UserJdbiDAO implements UserDAO {
     private final Jdbi jdbi;
@@ -81,32 +86,39 @@ public class UserJdbiDAO implements UserDAO {
         String sql = "SELECT * FROM user WHERE userID = :userId";
         Optional<User> opt = jdbi.withHandle(handle -> handle.createQuery(sql)
                 .bind("userId", userId)
-                .map((rs, ctx) -> new User(
-                        rs.getString("userID"),
-                        rs.getString("name"),
-                        rs.getString("email"),
-                        rs.getString("password"),
-                        rs.getString("role") != null ? Role.valueOf(rs.getString("role")) : null,
-                        rs.getString("phoneNumber"),
-                        rs.getString("city")
-                ))
+                .map((rs, ctx) -> mapUser(rs))
                 .findOne());
         return opt.orElse(null);
     }
 
+    @Override
+    public List<User> getUsersPage(String afterUserId, int limit) {
+        String sql = afterUserId == null
+                ? "SELECT * FROM user ORDER BY userID LIMIT :limit"
+                : "SELECT * FROM user WHERE userID > :after ORDER BY userID LIMIT :limit";
+        return jdbi.withHandle(handle -> {
+            Query query = handle.createQuery(sql).bind("limit", limit);
+            if (afterUserId != null) {
+                query.bind("after", afterUserId);
+            }
+            return query.map((rs, ctx) -> mapUser(rs)).list();
+        });
+    }
+
+    @Override
+    public void forEachUser(Consumer<User> action) {
+        String sql = "SELECT * FROM user ORDER BY userID";
+        jdbi.useHandle(handle -> handle.createQuery(sql)
+                .setFetchSize(DBUtils.STREAM_FETCH_SIZE)
+                .map((rs, ctx) -> mapUser(rs))
+                .forEach(action));
+    }
+
     @Override
     public List<User> getAllUsers() {
         String sql = "SELECT * FROM user";
         return jdbi.withHandle(handle -> handle.createQuery(sql)
-                .map((rs, ctx) -> new User(
-                        rs.getString("userID"),
-                        rs.getString("name"),
-                        rs.getString("email"),
-                        rs.getString("password"),
-                        rs.getString("role") != null ? Role.valueOf(rs.getString("role")) : null,
-                        rs.getString("phoneNumber"),
-                        rs.getString("city")
-                ))
+                .map((rs, ctx) -> mapUser(rs))
                 .list());
     }
 
@@ -117,4 +129,15 @@ public class UserJdbiDAO implements UserDAO {
                 .bind("userId", userId)
                 .execute() > 0);
     }
+
+    private static User mapUser(ResultSet rs) throws SQLException {
+        return new User(
+                rs.getString("userID"),
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getString("password"),
+                rs.getString("role") != null ? Role.valueOf(rs.getString("role")) : null,
+                rs.getString("phoneNumber"),
+                rs.getString("city"));
+    }
 }
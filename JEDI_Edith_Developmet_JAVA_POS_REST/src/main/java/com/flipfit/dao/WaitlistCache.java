@@ -0,0 +1,198 @@
+package com.flipfit.dao;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * In-process copy of the waitlist table, one FIFO queue per slot.
+ *
+ * Enqueue, dequeue, duplicate checks and position lookups are all O(1).
+ * Each slot's queue has its own lock, so activity on one slot never
+ * blocks another. The DAOs use it write-through: the database write
+ * runs inside the slot's lock and the queue only changes if that write
+ * succeeds, so the cache and the table cannot drift apart.
+ *
+ * Positions are assigned by the database, so they stay unique when
+ * several processes share the table. They only grow, and users only ever
+ * leave from the head, so a user's place in line is their position minus
+ * the head's position; users queued by other processes count too.
+ *
+ * A slot's queue is dropped from the map as soon as it empties, so slots
+ * whose waitlists have cleared cost nothing. A queue is marked removed
+ * under its own lock before it leaves the map, and an enqueue that finds
+ * a removed queue retries against whatever the map holds now.
+ */
+public class WaitlistCache {
+
+    private final Map<String, SlotQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a user to the back of a slot's queue.
+     * @param slotId the slot ID
+     * @param userId the user ID
+     * @param persist writes the row at the tail, returns the position stored or -1 if nothing was written
+     * @return true if the user was added, false if already waiting or the write failed
+     */
+    public boolean enqueue(String slotId, String userId, IntSupplier persist) {
+        while (true) {
+            SlotQueue queue = queues.computeIfAbsent(slotId, k -> new SlotQueue());
+            synchronized (queue) {
+                if (queue.removed) {
+                    continue; // emptied and dropped after we looked it up
+                }
+                if (queue.positions.containsKey(userId)) {
+                    return false;
+                }
+                int position = persist.getAsInt();
+                if (position < 0) {
+                    dropIfEmpty(slotId, queue);
+                    return false;
+                }
+                queue.order.addLast(userId);
+                queue.positions.put(userId, position);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the user at the head of a slot's queue.
+     * @param slotId the slot ID
+     * @param persist deletes the row for the given user, returns true on success
+     * @return the user ID, or null if nobody is waiting or the delete failed
+     */
+    public String dequeue(String slotId, Predicate<String> persist) {
+        SlotQueue queue = queues.get(slotId);
+        if (queue == null) {
+            return null;
+        }
+        synchronized (queue) {
+            String head = queue.order.peekFirst();
+            if (head == null || !persist.test(head)) {
+                return null;
+            }
+            queue.order.pollFirst();
+            queue.positions.remove(head);
+            dropIfEmpty(slotId, queue);
+            return head;
+        }
+    }
+
+    /**
+     * Offers up to max users from the head of a slot's queue and removes
+     * the ones the callback reports as taken. The slot stays locked while
+     * the callback runs, so nobody else can dequeue the same users.
+     * @param slotId the slot ID
+     * @param max the most users to offer
+     * @param persist removes a prefix of the offered users from the table, returns its length
+     * @return the users taken off the queue, in FIFO order
+     */
+    public List<String> dequeueBatch(String slotId, int max, ToIntFunction<List<String>> persist) {
+        SlotQueue queue = queues.get(slotId);
+        if (queue == null || max <= 0) {
+            return new ArrayList<>();
+        }
+        synchronized (queue) {
+            List<String> candidates = new ArrayList<>(Math.min(max, queue.order.size()));
+            Iterator<String> it = queue.order.iterator();
+            while (it.hasNext() && candidates.size() < max) {
+                candidates.add(it.next());
+            }
+            if (candidates.isEmpty()) {
+                return candidates;
+            }
+            int taken = Math.max(0, Math.min(persist.applyAsInt(candidates), candidates.size()));
+            for (int i = 0; i < taken; i++) {
+                queue.positions.remove(queue.order.pollFirst());
+            }
+            dropIfEmpty(slotId, queue);
+            return new ArrayList<>(candidates.subList(0, taken));
+        }
+    }
+
+    /**
+     * Gets a user's place in line (1 = next to be promoted).
+     * @return the place in line, or -1 if the user is not waiting
+     */
+    public int getPosition(String slotId, String userId) {
+        SlotQueue queue = queues.get(slotId);
+        if (queue == null) {
+            return -1;
+        }
+        synchronized (queue) {
+            Integer position = queue.positions.get(userId);
+            String head = queue.order.peekFirst();
+            if (position == null || head == null) {
+                return -1;
+            }
+            return position - queue.positions.get(head) + 1;
+        }
+    }
+
+    public int size(String slotId) {
+        SlotQueue queue = queues.get(slotId);
+        if (queue == null) {
+            return 0;
+        }
+        synchronized (queue) {
+            return queue.order.size();
+        }
+    }
+
+    /**
+     * Snapshot of a slot's queue in FIFO order.
+     */
+    public List<String> getUsers(String slotId) {
+        SlotQueue queue = queues.get(slotId);
+        if (queue == null) {
+            return new ArrayList<>();
+        }
+        synchronized (queue) {
+            return new ArrayList<>(queue.order);
+        }
+    }
+
+    /**
+     * Replaces the cache with rows read from the table.
+     * Rows must be ordered by slotID, position.
+     * @param rows each entry is {slotId, userId, position}
+     */
+    public void rebuild(List<Object[]> rows) {
+        Map<String, SlotQueue> fresh = new HashMap<>();
+        for (Object[] row : rows) {
+            String slotId = (String) row[0];
+            String userId = (String) row[1];
+            int position = (Integer) row[2];
+            SlotQueue queue = fresh.computeIfAbsent(slotId, k -> new SlotQueue());
+            if (queue.positions.putIfAbsent(userId, position) == null) {
+                queue.order.addLast(userId);
+            }
+        }
+        queues.clear();
+        queues.putAll(fresh);
+    }
+
+    /**
+     * Drops an empty queue from the map. Called with the queue's lock held.
+     */
+    private void dropIfEmpty(String slotId, SlotQueue queue) {
+        if (queue.order.isEmpty()) {
+            queue.removed = true;
+            queues.remove(slotId, queue);
+        }
+    }
+
+    private static final class SlotQueue {
+        private final ArrayDeque<String> order = new ArrayDeque<>();
+        private final Map<String, Integer> positions = new HashMap<>();
+        private boolean removed; // guarded by the queue's lock
+    }
+}
@@ -1,9 +1,17 @@
 package com.flipfit.dao;
 
+import java.sql.Connection;
 import java.util.List;
+import java.util.function.ToIntFunction;
 
 public interface WaitlistDAO {
-    void addUserToWaitlist(String slotId, String userId);
+    boolean addUserToWaitlist(String slotId, String userId); // false if already waiting
     String getNextUser(String slotId); // Retrieves and removes the first user
     List<String> getAllWaitlistedUsers(String slotId);
-}
\ No newline at end of file
+    int getPosition(String slotId, String userId); // 1-based place in line, -1 if not waiting
+    int getWaitlistSize(String slotId);
+    int rebuildCache(); // Reloads the in-memory queues from the table, returns rows loaded
+    // Offers up to max head users to the promoter, which returns how many it took; those leave the queue
+    List<String> promoteUsers(String slotId, int max, ToIntFunction<List<String>> promoter);
+    boolean removeUser(Connection conn, String slotId, String userId); // Transactional delete for promoters
+}
@@ -1,30 +1,211 @@
 package com.flipfit.dao;
 
+import com.flipfit.utils.DBConnection;
+import com.flipfit.utils.DBUtils;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.function.ToIntFunction;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of WaitlistDAO using JDBC and MySQL database.
+ * Reads are served from a shared in-memory WaitlistCache that is written
+ * through to the waitlist table and loaded from it on first use.
+ * Positions are derived from the table when a row is inserted, not from
+ * the cache, so processes sharing the table never hand out the same one.
+ */
 public class WaitlistDAOImpl implements WaitlistDAO {
-    // Key: SlotId, Value: List of UserIds (FIFO Queue)
-    private static Map<String, List<String>> waitlistMap = new HashMap<>();
+
+    private static final Logger LOG = LoggerFactory.getLogger(WaitlistDAOImpl.class);
+
+    // Takes the next position for the slot in the same statement; the NOT EXISTS
+    // makes a user who is already waiting insert nothing instead of failing
+    private static final String INSERT_AT_TAIL =
+            "INSERT INTO waitlist (waitlistID, slotID, userID, position, createdAt) "
+            + "SELECT ?, ?, ?, tail.nextPosition, ? FROM "
+            + "(SELECT COALESCE(MAX(position), 0) + 1 AS nextPosition FROM waitlist WHERE slotID = ?) tail "
+            + "WHERE NOT EXISTS (SELECT 1 FROM waitlist WHERE slotID = ? AND userID = ?)";
+    private static final String LOCK_SLOT = "SELECT slotID FROM slot WHERE slotID = ? FOR UPDATE";
+    private static final String SELECT_POSITION = "SELECT position FROM waitlist WHERE slotID = ? AND userID = ?";
+    private static final int INSERT_ATTEMPTS = 3;
+
+    private static final WaitlistCache cache = new WaitlistCache();
+    private static volatile boolean loaded;
 
     @Override
-    public void addUserToWaitlist(String slotId, String userId) {
-        waitlistMap.computeIfAbsent(slotId, k -> new ArrayList<>()).add(userId);
+    public boolean addUserToWaitlist(String slotId, String userId) {
+        ensureLoaded();
+        return cache.enqueue(slotId, userId, () -> insertRow(slotId, userId));
     }
 
     @Override
     public String getNextUser(String slotId) {
-        List<String> queue = waitlistMap.get(slotId);
-        if (queue != null && !queue.isEmpty()) {
-            return queue.remove(0); // Removes the first person (FIFO)
-        }
-        return null;
+        ensureLoaded();
+        return cache.dequeue(slotId, userId -> deleteRow(slotId, userId));
     }
 
     @Override
     public List<String> getAllWaitlistedUsers(String slotId) {
-        return waitlistMap.getOrDefault(slotId, new ArrayList<>());
+        ensureLoaded();
+        return cache.getUsers(slotId);
+    }
+
+    @Override
+    public int getPosition(String slotId, String userId) {
+        ensureLoaded();
+        return cache.getPosition(slotId, userId);
+    }
+
+    @Override
+    public int getWaitlistSize(String slotId) {
+        ensureLoaded();
+        return cache.size(slotId);
+    }
+
+    @Override
+    public List<String> promoteUsers(String slotId, int max, ToIntFunction<List<String>> promoter) {
+        ensureLoaded();
+        return cache.dequeueBatch(slotId, max, promoter);
+    }
+
+    @Override
+    public boolean removeUser(Connection conn, String slotId, String userId) {
+        String query = "DELETE FROM waitlist WHERE slotID = ? AND userID = ?";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setString(1, slotId);
+            pstmt.setString(2, userId);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            LOG.error("Error removing from waitlist (transactional) op=removeUser table=waitlist", e);
+            return false;
+        }
+    }
+
+    @Override
+    public int rebuildCache() {
+        String query = "SELECT slotID, userID, position FROM waitlist ORDER BY slotID, position";
+        List<Object[]> rows = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                rows.add(new Object[] { rs.getString("slotID"), rs.getString("userID"), rs.getInt("position") });
+            }
+        } catch (SQLException e) {
+            LOG.error("Error loading waitlist op=rebuildCache table=waitlist", e);
+            return -1;
+        }
+        synchronized (WaitlistDAOImpl.class) {
+            cache.rebuild(rows);
+            loaded = true;
+        }
+        return rows.size();
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (WaitlistDAOImpl.class) {
+                if (!loaded) {
+                    rebuildCache();
+                }
+            }
+        }
+    }
+
+    private int insertRow(String slotId, String userId) {
+        try (Connection conn = DBConnection.getConnection()) {
+            return insertAtTail(conn, slotId, userId);
+        } catch (SQLException e) {
+            LOG.error("Error adding to waitlist op=insertRow table=waitlist", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Appends a user to a slot's waitlist, taking the next position in SQL.
+     * The slot row is locked first, so inserts for one slot run one at a
+     * time across every process sharing the table. If the slot row is
+     * missing nothing is locked; a clash on the unique (slotID, position)
+     * key is then retried. Shared with WaitlistJdbiDAO.
+     * @param conn the connection to use; its auto-commit setting is restored
+     * @return the position stored, or -1 if the user is already waiting
+     */
+    static int insertAtTail(Connection conn, String slotId, String userId) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    int position = insertAndReadPosition(conn, slotId, userId);
+                    conn.commit();
+                    return position;
+                } catch (SQLException e) {
+                    conn.rollback();
+                    if (attempt >= INSERT_ATTEMPTS || !isPositionRace(e)) {
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static int insertAndReadPosition(Connection conn, String slotId, String userId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(LOCK_SLOT)) {
+            pstmt.setString(1, slotId);
+            pstmt.executeQuery().close();
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(INSERT_AT_TAIL)) {
+            pstmt.setString(1, DBUtils.generateWaitlistId());
+            pstmt.setString(2, slotId);
+            pstmt.setString(3, userId);
+            pstmt.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+            pstmt.setString(5, slotId);
+            pstmt.setString(6, slotId);
+            pstmt.setString(7, userId);
+            if (pstmt.executeUpdate() == 0) {
+                return -1;
+            }
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(SELECT_POSITION)) {
+            pstmt.setString(1, slotId);
+            pstmt.setString(2, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : -1;
+            }
+        }
+    }
+
+    // 23xxx: integrity constraint violation, 40001: deadlock / serialization failure
+    private static boolean isPositionRace(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && (state.startsWith("23") || state.equals("40001"));
+    }
+
+    private boolean deleteRow(String slotId, String userId) {
+        String query = "DELETE FROM waitlist WHERE slotID = ? AND userID = ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+
+            pstmt.setString(1, slotId);
+            pstmt.setString(2, userId);
+            pstmt.executeUpdate(); // a row already removed elsewhere still leaves the queue
+            return true;
+        } catch (SQLException e) {
+            LOG.error("Error removing from waitlist op=deleteRow table=waitlist", e);
+            return false;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package com.flipfit.dao;
+
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.JdbiException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Jdbi version of WaitlistDAOImpl. Positions come from the same SQL, and
+ * database errors are logged and reported the same way (false, null or
+ * -1) rather than thrown.
+ */
+public class WaitlistJdbiDAO implements WaitlistDAO {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WaitlistJdbiDAO.class);
+
+    private final Jdbi jdbi;
+    private final WaitlistCache cache = new WaitlistCache();
+
+    public WaitlistJdbiDAO(Jdbi jdbi) {
+        this.jdbi = jdbi;
+    }
+
+    @Override
+    public boolean addUserToWaitlist(String slotId, String userId) {
+        return cache.enqueue(slotId, userId, () -> {
+            try {
+                return jdbi.withHandle(handle -> WaitlistDAOImpl.insertAtTail(handle.getConnection(), slotId, userId));
+            } catch (JdbiException | SQLException e) {
+                LOG.error("Error adding to waitlist op=addUserToWaitlist table=waitlist", e);
+                return -1;
+            }
+        });
+    }
+
+    @Override
+    public String getNextUser(String slotId) {
+        String sql = "DELETE FROM waitlist WHERE slotID = :slotId AND userID = :userId";
+        return cache.dequeue(slotId, userId -> {
+            try {
+                jdbi.useHandle(handle -> handle.createUpdate(sql)
+                        .bind("slotId", slotId)
+                        .bind("userId", userId)
+                        .execute()); // a row already removed elsewhere still leaves the queue
+                return true;
+            } catch (JdbiException e) {
+                LOG.error("Error removing from waitlist op=getNextUser table=waitlist", e);
+                return false;
+            }
+        });
+    }
+
+    @Override
+    public List<String> getAllWaitlistedUsers(String slotId) {
+        return cache.getUsers(slotId);
+    }
+
+    @Override
+    public int getPosition(String slotId, String userId) {
+        return cache.getPosition(slotId, userId);
+    }
+
+    @Override
+    public int getWaitlistSize(String slotId) {
+        return cache.size(slotId);
+    }
+
+    @Override
+    public List<String> promoteUsers(String slotId, int max, ToIntFunction<List<String>> promoter) {
+        return cache.dequeueBatch(slotId, max, promoter);
+    }
+
+    @Override
+    public boolean removeUser(Connection conn, String slotId, String userId) {
+        String sql = "DELETE FROM waitlist WHERE slotID = ? AND userID = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, slotId);
+            pstmt.setString(2, userId);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            LOG.error("Error removing from waitlist (transactional) op=removeUser table=waitlist", e);
+            return false;
+        }
+    }
+
+    @Override
+    public int rebuildCache() {
+        String sql = "SELECT slotID, userID, position FROM waitlist ORDER BY slotID, position";
+        List<Object[]> rows;
+        try {
+            rows = jdbi.withHandle(handle -> handle.createQuery(sql)
+                    .map((rs, ctx) -> new Object[] { rs.getString("slotID"), rs.getString("userID"), rs.getInt("position") })
+                    .list());
+        } catch (JdbiException e) {
+            LOG.error("Error loading waitlist op=rebuildCache table=waitlist", e);
+            return -1;
+        }
+        cache.rebuild(rows);
+        return rows.size();
+    }
+}
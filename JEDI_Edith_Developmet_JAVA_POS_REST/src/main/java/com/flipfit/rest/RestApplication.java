@@ -1,24 +1,106 @@
 package com.flipfit.rest;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.Application;
+import io.dropwizard.db.ManagedDataSource;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import io.dropwizard.jdbi3.JdbiFactory;
+import io.dropwizard.lifecycle.Managed;
+import org.apache.tomcat.jdbc.pool.DataSourceProxy;
 import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.SqlStatements;
 
 import com.flipfit.rest.resources.PingResource;
+import com.flipfit.rest.tasks.SqlProfileTask;
 import com.flipfit.rest.resources.UserResource;
 import com.flipfit.rest.resources.BookingResource;
 import com.flipfit.rest.resources.GymCenterResource;
+import com.flipfit.rest.resources.SlotResource;
+import com.flipfit.rest.resources.SlotListingResource;
+import com.flipfit.rest.resources.AdminExportResource;
+import com.flipfit.rest.resources.AnalyticsResource;
+import com.flipfit.rest.resources.OwnerReportResource;
+import com.flipfit.dao.BookingDAO;
+import com.flipfit.dao.GymCenterDAO;
+import com.flipfit.dao.GymCustomerDAO;
+import com.flipfit.dao.GymOwnerDAO;
+import com.flipfit.dao.SlotDAO;
+import com.flipfit.dao.UserDAO;
+import com.flipfit.dao.WaitlistDAO;
 import com.flipfit.dao.UserJdbiDAO;
 import com.flipfit.dao.GymCustomerJdbiDAO;
 import com.flipfit.dao.GymOwnerJdbiDAO;
-import com.flipfit.dao.BookingDAOImpl;
-import com.flipfit.dao.GymCenterDAOImpl;
+import com.flipfit.dao.BookingJdbiDAO;
+import com.flipfit.dao.SlotJdbiDAO;
+import com.flipfit.dao.SlotScheduleCache;
+import com.flipfit.dao.GymCenterCache;
+import com.flipfit.dao.GymCenterJdbiDAO;
+import com.flipfit.dao.WaitlistJdbiDAO;
+import com.flipfit.dao.NotificationOutboxDAOImpl;
+import com.flipfit.dao.BookingExportDAOImpl;
+import com.flipfit.dao.AnalyticsDAOImpl;
+import com.flipfit.business.AccountService;
 import com.flipfit.business.AccountServiceImpl;
+import com.flipfit.business.AnalyticsService;
+import com.flipfit.business.UtilisationReportService;
+import com.flipfit.business.BookingService;
+import com.flipfit.business.BookingServiceImpl;
+import com.flipfit.business.BookingExportService;
+import com.flipfit.business.FileNotificationSink;
+import com.flipfit.business.NotificationDispatcher;
+import com.flipfit.business.NotificationOutboxRelay;
+import com.flipfit.business.SlotCapacityLedger;
+import com.flipfit.business.WaitlistPromotionPipeline;
+import com.flipfit.business.GymService;
+import com.flipfit.business.GymServiceImpl;
+import com.flipfit.utils.DBConnection;
+import com.flipfit.utils.MetricsProxy;
+import com.flipfit.utils.ProfilingSqlLogger;
+import com.flipfit.utils.SqlProfiler;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 public class RestApplication extends Application<RestConfiguration> {
 
+    // How often the in-memory seat ledger is re-synced with the slot table
+    private static final long LEDGER_RECONCILE_SECONDS = 60;
+
+    // Gym center snapshot lifetime, and the table size above which it is not cached
+    private static final long CENTER_CACHE_TTL_MILLIS = 60_000;
+    private static final int CENTER_CACHE_MAX_ENTRIES = 50_000;
+
+    // Per-center slot schedules: lifetime and how many centers are kept
+    private static final long SLOT_SCHEDULE_TTL_MILLIS = 60_000;
+    private static final int SLOT_SCHEDULE_MAX_CENTERS = 10_000;
+
+    // Waitlist promotion workers, and how many slots may queue for them before cancels run promotions inline
+    private static final int PROMOTION_WORKERS = 4;
+    private static final int PROMOTION_QUEUE_CAPACITY = 256;
+
+    // Notification queue size, per-customer coalescing window and delivery retries
+    private static final String NOTIFICATION_OUTBOX_FILE = "notifications-outbox.log";
+    private static final int NOTIFICATION_QUEUE_CAPACITY = 10_000;
+    private static final long NOTIFICATION_COALESCE_MILLIS = 200;
+    private static final int NOTIFICATION_BATCH_SIZE = 500;
+    private static final int NOTIFICATION_MAX_ATTEMPTS = 5;
+    private static final long NOTIFICATION_RETRY_BACKOFF_MILLIS = 100;
+
+    // Outbox rows relayed per transaction, the poll interval when the outbox is empty, and how
+    // long a batch waits for the dispatcher before undelivered rows are left for the next poll
+    private static final int OUTBOX_BATCH_SIZE = 200;
+    private static final long OUTBOX_POLL_MILLIS = 500;
+    private static final long OUTBOX_DELIVERY_TIMEOUT_MILLIS = 30_000;
+
+    // How often the analytics rollup tables are brought up to date
+    private static final long ANALYTICS_REFRESH_SECONDS = 60;
+
+    // Name prefixes of the per-method timers and error counters around DAOs and services
+    private static final String DAO_METRICS = "flipfit.dao";
+    private static final String SERVICE_METRICS = "flipfit.service";
+
     public static void main(String[] args) throws Exception {
         new RestApplication().run(args);
     }
@@ -35,25 +117,138 @@ public class RestApplication extends Application<RestConfiguration> {
 
     @Override
     public void run(RestConfiguration configuration, Environment environment) throws Exception {
-        // Set up Jdbi
+        // Set up the managed pool and Jdbi on top of it
+        final ManagedDataSource dataSource = configuration.getDataSourceFactory().build(environment.metrics(), "mysql");
         final JdbiFactory factory = new JdbiFactory();
-        final Jdbi jdbi = factory.build(environment, configuration.getDataSourceFactory(), "mysql");
+        final Jdbi jdbi = factory.build(environment, configuration.getDataSourceFactory(), dataSource, "mysql");
+
+        // Anything still going through DBConnection (transactional service paths) uses the same pool
+        if (dataSource instanceof DataSourceProxy) {
+            DBConnection.useDataSource((DataSourceProxy) dataSource);
+        }
+
+        // Both paths feed the SQL profiler; the top statements are at POST /tasks/sql-profile on the admin port
+        final SqlProfiler sqlProfiler = SqlProfiler.getInstance();
+        sqlProfiler.setSlowQueryThresholdMillis(configuration.getSlowQueryThresholdMillis());
+        jdbi.setSqlLogger(new ProfilingSqlLogger(sqlProfiler, jdbi.getConfig(SqlStatements.class).getSqlLogger()));
+        environment.admin().addTask(new SqlProfileTask(sqlProfiler));
 
-        // Create Jdbi-backed DAOs
-        final UserJdbiDAO userDao = new UserJdbiDAO(jdbi);
-        final GymCustomerJdbiDAO customerDao = new GymCustomerJdbiDAO(jdbi);
-        final GymOwnerJdbiDAO ownerDao = new GymOwnerJdbiDAO(jdbi);
+        // Create Jdbi-backed DAOs; each is timed per method, see /metrics on the admin connector
+        final MetricRegistry metrics = environment.metrics();
+        final UserDAO userDao = MetricsProxy.wrap(UserDAO.class, new UserJdbiDAO(jdbi), metrics, DAO_METRICS);
+        final GymCustomerDAO customerDao = MetricsProxy.wrap(GymCustomerDAO.class, new GymCustomerJdbiDAO(jdbi), metrics, DAO_METRICS);
+        final GymOwnerDAO ownerDao = MetricsProxy.wrap(GymOwnerDAO.class, new GymOwnerJdbiDAO(jdbi), metrics, DAO_METRICS);
+        final BookingDAO bookingDao = MetricsProxy.wrap(BookingDAO.class, new BookingJdbiDAO(jdbi), metrics, DAO_METRICS);
+        final SlotScheduleCache slotCache = new SlotScheduleCache(new SlotJdbiDAO(jdbi),
+                SLOT_SCHEDULE_TTL_MILLIS, SLOT_SCHEDULE_MAX_CENTERS);
+        environment.metrics().register("flipfit.slots.schedule.hits", (Gauge<Long>) slotCache::getHitCount);
+        environment.metrics().register("flipfit.slots.schedule.misses", (Gauge<Long>) slotCache::getMissCount);
+        environment.metrics().register("flipfit.slots.schedule.evictions", (Gauge<Long>) slotCache::getEvictionCount);
+        final SlotDAO slotDao = MetricsProxy.wrap(SlotDAO.class, slotCache, metrics, DAO_METRICS);
+        final GymCenterCache centerCache = new GymCenterCache(new GymCenterJdbiDAO(jdbi),
+                CENTER_CACHE_TTL_MILLIS, CENTER_CACHE_MAX_ENTRIES);
+        environment.metrics().register("flipfit.centers.cache.hits", (Gauge<Long>) centerCache::getHitCount);
+        environment.metrics().register("flipfit.centers.cache.misses", (Gauge<Long>) centerCache::getMissCount);
+        environment.metrics().register("flipfit.centers.cache.evictions", (Gauge<Long>) centerCache::getEvictionCount);
+        final GymCenterDAO centerDao = MetricsProxy.wrap(GymCenterDAO.class, centerCache, metrics, DAO_METRICS);
+        final WaitlistDAO waitlistDao = MetricsProxy.wrap(WaitlistDAO.class, new WaitlistJdbiDAO(jdbi), metrics, DAO_METRICS);
 
-        // Create AccountService with injected DAOs
-        final AccountServiceImpl accountService = new AccountServiceImpl(userDao, customerDao, ownerDao, null);
+        // Notifications leave the request thread and are delivered in batches
+        final NotificationDispatcher notifier = new NotificationDispatcher(
+                new FileNotificationSink(Paths.get(NOTIFICATION_OUTBOX_FILE)), NOTIFICATION_QUEUE_CAPACITY,
+                NOTIFICATION_COALESCE_MILLIS, NOTIFICATION_BATCH_SIZE, NOTIFICATION_MAX_ATTEMPTS,
+                NOTIFICATION_RETRY_BACKOFF_MILLIS);
+        environment.metrics().register("flipfit.notifications.queueDepth", (Gauge<Integer>) notifier::getQueueDepth);
+        environment.metrics().register("flipfit.notifications.dropped", (Gauge<Long>) notifier::getDroppedCount);
+        environment.metrics().register("flipfit.notifications.delivered", (Gauge<Long>) notifier::getDeliveredCount);
+        environment.metrics().register("flipfit.notifications.deliveryLatencyMillis", notifier.getDeliveryLatency());
+        // registered first so it is stopped last, after everything that sends notifications
+        environment.lifecycle().manage(new Managed() {
+            @Override
+            public void start() {
+                notifier.start();
+            }
+
+            @Override
+            public void stop() throws Exception {
+                notifier.stop(10, TimeUnit.SECONDS);
+            }
+        });
+
+        // Create services with injected DAOs, timed the same way as the DAOs
+        final GymService gymService = MetricsProxy.wrap(GymService.class,
+                new GymServiceImpl(ownerDao, centerDao, slotDao), metrics, SERVICE_METRICS);
+        final AccountService accountService = MetricsProxy.wrap(AccountService.class,
+                new AccountServiceImpl(userDao, customerDao, ownerDao, gymService), metrics, SERVICE_METRICS);
+        final BookingServiceImpl bookingService = new BookingServiceImpl(bookingDao, slotDao, notifier);
+
+        // Booking notifications commit with the booking; the relay feeds them to the dispatcher
+        // and marks them sent only once it reports them delivered
+        final NotificationOutboxDAOImpl outboxDao = new NotificationOutboxDAOImpl();
+        final NotificationOutboxRelay outboxRelay = new NotificationOutboxRelay(outboxDao, notifier, OUTBOX_BATCH_SIZE,
+                OUTBOX_DELIVERY_TIMEOUT_MILLIS);
+        bookingService.setNotificationOutbox(outboxDao);
+        environment.metrics().register("flipfit.notifications.outboxRelayed", (Gauge<Long>) outboxRelay::getRelayedCount);
+        environment.metrics().register("flipfit.notifications.outboxUndelivered", (Gauge<Long>) outboxRelay::getFailedCount);
+
+        // Cancellations feed freed seats to the waitlist; promotion notices use the same outbox
+        final WaitlistPromotionPipeline promotionPipeline = new WaitlistPromotionPipeline(
+                waitlistDao, slotDao, bookingDao, notifier, PROMOTION_WORKERS, PROMOTION_QUEUE_CAPACITY);
+        promotionPipeline.setNotificationOutbox(outboxDao);
+        bookingService.setPromotionPipeline(promotionPipeline);
+        environment.metrics().register("flipfit.waitlist.promotionLatencyMillis", promotionPipeline.getPromotionLatency());
+        environment.metrics().register("flipfit.waitlist.pendingSlots", (Gauge<Integer>) promotionPipeline::getPendingSlots);
+        environment.metrics().register("flipfit.waitlist.promotedUsers", (Gauge<Long>) promotionPipeline::getPromotedUsers);
+
+        // Ledger exports stream from a database cursor; throughput is kept per export
+        final BookingExportService exportService = new BookingExportService(new BookingExportDAOImpl());
+        environment.metrics().register("flipfit.export.rowsPerSecond", exportService.getRowsPerSecond());
+        environment.metrics().register("flipfit.export.rows", (Gauge<Long>) exportService::getExportedRows);
+
+        // Admin analytics are served from rollup tables refreshed in the background
+        final AnalyticsService analyticsService = new AnalyticsService(new AnalyticsDAOImpl());
+        environment.metrics().register("flipfit.analytics.refreshMillis", (Gauge<Long>) analyticsService::getLastRefreshMillis);
+
+        // Owner heatmaps are rebuilt only after a booking change in one of the owner's centers
+        final UtilisationReportService reportService = new UtilisationReportService(centerDao, slotCache, waitlistDao);
+        environment.metrics().register("flipfit.reports.utilisation.hits", (Gauge<Long>) reportService::getHitCount);
+        environment.metrics().register("flipfit.reports.utilisation.misses", (Gauge<Long>) reportService::getMissCount);
+
+        // Load seat counts into the ledger and the waitlist queues once the server starts;
+        // capacity edits and deletions made through the slot cache reach the ledger straight away
+        final SlotCapacityLedger ledger = SlotCapacityLedger.getInstance();
+        slotCache.addWriteListener(ledger);
+        environment.lifecycle().manage(new Managed() {
+            @Override
+            public void start() {
+                ledger.reconcile(slotDao);
+                waitlistDao.rebuildCache();
+                ledger.startReconciler(slotDao, LEDGER_RECONCILE_SECONDS, TimeUnit.SECONDS);
+                outboxRelay.start(OUTBOX_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                analyticsService.start(ANALYTICS_REFRESH_SECONDS, TimeUnit.SECONDS);
+            }
+
+            @Override
+            public void stop() throws Exception {
+                ledger.stopReconciler();
+                promotionPipeline.shutdown(10, TimeUnit.SECONDS);
+                outboxRelay.stop();
+                analyticsService.stop();
+            }
+        });
 
         // Register resources
         environment.jersey().register(new PingResource());
         environment.jersey().register(new UserResource(accountService));
-
-        // Register booking and center resources using legacy JDBC DAO implementations (they use DBConnection)
-        environment.jersey().register(new BookingResource(new BookingDAOImpl()));
-        environment.jersey().register(new GymCenterResource(new GymCenterDAOImpl()));
+        // the booking service is wrapped only here; the setters above need the implementation
+        environment.jersey().register(new BookingResource(bookingDao,
+                MetricsProxy.wrap(BookingService.class, bookingService, metrics, SERVICE_METRICS), environment.getObjectMapper()));
+        environment.jersey().register(new GymCenterResource(centerDao, environment.getObjectMapper()));
+        environment.jersey().register(new SlotResource(gymService));
+        environment.jersey().register(new SlotListingResource(slotDao, environment.getObjectMapper()));
+        environment.jersey().register(new AdminExportResource(exportService));
+        environment.jersey().register(new AnalyticsResource(analyticsService));
+        environment.jersey().register(new OwnerReportResource(reportService));
 
         // TODO: register additional DAOs/services
     }
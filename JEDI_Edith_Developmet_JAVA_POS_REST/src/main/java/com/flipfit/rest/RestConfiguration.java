@@ -13,6 +13,9 @@ public class RestConfiguration extends Configuration {
     @NotNull
     private DataSourceFactory database = new DataSourceFactory();
 
+    // Statements taking at least this long are logged by the SQL profiler (0 = off)
+    private long slowQueryThresholdMillis = 500;
+
     @JsonProperty("database")
     public DataSourceFactory getDataSourceFactory() {
         return database;
@@ -22,4 +25,14 @@ public class RestConfiguration extends Configuration {
     public void setDataSourceFactory(DataSourceFactory factory) {
         this.database = factory;
     }
+
+    @JsonProperty
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdMillis;
+    }
+
+    @JsonProperty
+    public void setSlowQueryThresholdMillis(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
 }
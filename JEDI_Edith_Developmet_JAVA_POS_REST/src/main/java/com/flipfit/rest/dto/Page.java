@@ -0,0 +1,25 @@
+package com.flipfit.rest.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. Send nextCursor back as the
+ * "after" parameter to get the following page; it is null on the last page.
+ */
+public class Page<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    public Page() {}
+
+    public Page(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,55 @@
+package com.flipfit.rest.resources;
+
+import com.flipfit.bean.BookingExportFilter;
+import com.flipfit.bean.BookingStatus;
+import com.flipfit.business.BookingExportService;
+
+import javax.ws.rs.*;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+@Path("/admin/exports")
+public class AdminExportResource {
+
+    private final BookingExportService exportService;
+
+    public AdminExportResource(BookingExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // Gzipped booking ledger, streamed from a database cursor as it is read
+    // e.g. /admin/exports/bookings?format=jsonl&from=2025-01-01&to=2025-01-31&status=CONFIRMED&details=true
+    @GET
+    @Path("/bookings")
+    @Produces("application/gzip")
+    public Response exportBookings(@QueryParam("format") @DefaultValue("csv") String format,
+                                   @QueryParam("from") String from,
+                                   @QueryParam("to") String to,
+                                   @QueryParam("centerId") String centerId,
+                                   @QueryParam("status") String status,
+                                   @QueryParam("details") @DefaultValue("false") boolean details) {
+        BookingExportService.Format exportFormat;
+        BookingExportFilter filter = new BookingExportFilter();
+        try {
+            exportFormat = BookingExportService.Format.valueOf(format.toUpperCase());
+            filter.setFrom(from == null ? null : LocalDate.parse(from));
+            filter.setTo(to == null ? null : LocalDate.parse(to));
+            filter.setStatus(status == null ? null : BookingStatus.valueOf(status.toUpperCase()));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type("text/plain")
+                    .entity("Invalid export parameters: " + e.getMessage())
+                    .build();
+        }
+        filter.setCenterId(centerId);
+        filter.setIncludeDetails(details);
+
+        StreamingOutput body = out -> exportService.exportBookings(filter, exportFormat, out);
+        return Response.ok(body)
+                .header("Content-Disposition",
+                        "attachment; filename=\"bookings." + exportFormat.getExtension() + ".gz\"")
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.flipfit.rest.resources;
+
+import com.flipfit.bean.AnalyticsSummary;
+import com.flipfit.business.AnalyticsService;
+
+import javax.ws.rs.*;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+@Path("/analytics")
+@Produces(MediaType.APPLICATION_JSON)
+public class AnalyticsResource {
+
+    // Range used when from/to are omitted: the last 30 days, today included
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsResource(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GET
+    @Path("/summary")
+    public Response getSummary() {
+        AnalyticsSummary summary = analyticsService.getSummary();
+        if (summary == null) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE).entity("Analytics not available yet").build();
+        }
+        return Response.ok(summary).build();
+    }
+
+    // e.g. /analytics/centers/daily?from=2025-01-01&to=2025-01-31&centerId=GYM1
+    @GET
+    @Path("/centers/daily")
+    public Response getCenterStats(@QueryParam("from") String from,
+                                   @QueryParam("to") String to,
+                                   @QueryParam("centerId") String centerId) {
+        try {
+            LocalDate end = to == null ? LocalDate.now() : LocalDate.parse(to);
+            LocalDate start = from == null ? end.minusDays(DEFAULT_RANGE_DAYS - 1) : LocalDate.parse(from);
+            return Response.ok(analyticsService.getCenterStats(start, end, centerId)).build();
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+    }
+
+    @GET
+    @Path("/customers/growth")
+    public Response getCustomerGrowth(@QueryParam("from") String from, @QueryParam("to") String to) {
+        try {
+            LocalDate end = to == null ? LocalDate.now() : LocalDate.parse(to);
+            LocalDate start = from == null ? end.minusDays(DEFAULT_RANGE_DAYS - 1) : LocalDate.parse(from);
+            return Response.ok(analyticsService.getCustomerGrowth(start, end)).build();
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+    }
+}
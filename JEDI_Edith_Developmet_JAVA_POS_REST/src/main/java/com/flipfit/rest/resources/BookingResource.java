@@ -1,14 +1,19 @@
 package com.flipfit.rest.resources;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flipfit.bean.Booking;
+import com.flipfit.bean.BookingStatus;
+import com.flipfit.business.BookingService;
 import com.flipfit.dao.BookingDAO;
+import com.flipfit.exception.BookingFailedException;
+import com.flipfit.exception.SlotFullException;
+import com.flipfit.exception.SlotNotFoundException;
+import com.flipfit.rest.dto.Page;
 
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.List;
-import java.util.UUID;
-import java.util.Date;
 
 @Path("/bookings")
 @Produces(MediaType.APPLICATION_JSON)
@@ -16,26 +21,60 @@ import java.util.Date;
 public class BookingResource {
 
     private final BookingDAO bookingDao;
+    private final BookingService bookingService;
+    private final ObjectMapper mapper;
 
-    public BookingResource(BookingDAO bookingDao) {
+    public BookingResource(BookingDAO bookingDao, BookingService bookingService, ObjectMapper mapper) {
         this.bookingDao = bookingDao;
+        this.bookingService = bookingService;
+        this.mapper = mapper;
     }
 
+    // Seats are claimed atomically by the service; a full slot comes back as 409
     @POST
     public Response createBooking(Booking booking) {
-        if (booking.getBookingId() == null || booking.getBookingId().isEmpty()) {
-            booking.setBookingId(UUID.randomUUID().toString());
+        if (booking.getUserId() == null || booking.getSlotId() == null) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("userId and slotId are required").build();
         }
-        if (booking.getBookingDate() == null) {
-            booking.setBookingDate(new Date());
+        try {
+            Booking created = bookingService.reserveAndBook(booking.getUserId(), booking.getSlotId());
+            return Response.status(Response.Status.CREATED).entity(created).build();
+        } catch (SlotNotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND).entity(e.getMessage()).build();
+        } catch (SlotFullException e) {
+            return Response.status(Response.Status.CONFLICT).entity(e.getMessage()).build();
+        } catch (BookingFailedException e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity("Failed to create booking").build();
         }
-        if (booking.getStatus() == null) {
-            // default to CONFIRMED if not set
-            try { booking.setStatus(com.flipfit.bean.BookingStatus.CONFIRMED); } catch (Exception ignored) {}
+    }
+
+    // Keyset pagination: pass the returned nextCursor as ?after= to get the next page
+    @GET
+    public Response getBookings(@QueryParam("status") String status, @QueryParam("after") String after,
+                                @QueryParam("limit") Integer limit) {
+        BookingStatus filter;
+        try {
+            filter = status == null ? null : BookingStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("Unknown status " + status).build();
+        }
+        int size = Listings.pageSize(limit);
+        List<Booking> list = bookingDao.getBookingsPage(filter, after, size);
+        Page<Booking> page = Listings.page(list, size, Booking::getBookingId);
+        return Response.ok(page).build();
+    }
+
+    // Whole table as one JSON array, written while the result set is read
+    @GET
+    @Path("/stream")
+    public Response streamBookings(@QueryParam("status") String status) {
+        BookingStatus filter;
+        try {
+            filter = status == null ? null : BookingStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("Unknown status " + status).build();
         }
-        boolean ok = bookingDao.createBooking(booking);
-        if (ok) return Response.status(Response.Status.CREATED).entity(booking).build();
-        return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity("Failed to create booking").build();
+        return Response.ok(Listings.<Booking>jsonArray(mapper, sink -> bookingDao.forEachBooking(filter, sink))).build();
     }
 
     @GET
@@ -53,11 +92,12 @@ public class BookingResource {
         return Response.ok(list).build();
     }
 
+    // Cancels through the service, so the seat goes back to the slot, the ledger and the waitlist
     @DELETE
     @Path("/{id}")
-    public Response deleteBooking(@PathParam("id") String id) {
-        boolean ok = bookingDao.deleteBooking(id);
+    public Response cancelBooking(@PathParam("id") String id) {
+        boolean ok = bookingService.cancelBooking(id);
         if (ok) return Response.noContent().build();
-        return Response.status(Response.Status.NOT_FOUND).entity("Booking not found").build();
+        return Response.status(Response.Status.NOT_FOUND).entity("Booking not found or already cancelled").build();
     }
 }
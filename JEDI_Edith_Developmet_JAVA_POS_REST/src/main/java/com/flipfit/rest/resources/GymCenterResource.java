@@ -1,7 +1,9 @@
 package com.flipfit.rest.resources;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flipfit.bean.GymCenter;
 import com.flipfit.dao.GymCenterDAO;
+import com.flipfit.rest.dto.Page;
 
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
@@ -15,9 +17,11 @@ import java.util.UUID;
 public class GymCenterResource {
 
     private final GymCenterDAO centerDao;
+    private final ObjectMapper mapper;
 
-    public GymCenterResource(GymCenterDAO centerDao) {
+    public GymCenterResource(GymCenterDAO centerDao, ObjectMapper mapper) {
         this.centerDao = centerDao;
+        this.mapper = mapper;
     }
 
     @POST
@@ -38,10 +42,20 @@ public class GymCenterResource {
         return Response.ok(c).build();
     }
 
+    // Keyset pagination: pass the returned nextCursor as ?after= to get the next page
     @GET
-    public Response getAllCenters() {
-        List<GymCenter> list = centerDao.getAllGymCenters();
-        return Response.ok(list).build();
+    public Response getCenters(@QueryParam("after") String after, @QueryParam("limit") Integer limit) {
+        int size = Listings.pageSize(limit);
+        List<GymCenter> list = centerDao.getGymCentersPage(after, size);
+        Page<GymCenter> page = Listings.page(list, size, GymCenter::getCenterId);
+        return Response.ok(page).build();
+    }
+
+    // Whole table as one JSON array, written while the result set is read
+    @GET
+    @Path("/stream")
+    public Response streamCenters() {
+        return Response.ok(Listings.<GymCenter>jsonArray(mapper, centerDao::forEachGymCenter)).build();
     }
 
     @PUT
@@ -0,0 +1,66 @@
+package com.flipfit.rest.resources;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipfit.rest.dto.Page;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Shared helpers for the paged and streaming listing endpoints.
+ */
+final class Listings {
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private Listings() {
+    }
+
+    /**
+     * Clamps the requested page size to 1..MAX_PAGE_SIZE, DEFAULT_PAGE_SIZE if not given.
+     */
+    static int pageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Wraps a page of rows; a full page means there may be more, so its last key becomes the cursor.
+     */
+    static <T> Page<T> page(List<T> items, int limit, Function<T, String> key) {
+        String next = items.size() == limit ? key.apply(items.get(items.size() - 1)) : null;
+        return new Page<>(items, next);
+    }
+
+    /**
+     * Writes rows as a JSON array while the source produces them, so the
+     * response never holds more than the generator's buffer.
+     *
+     * @param source called with a sink that serialises each row it is given
+     */
+    static <T> StreamingOutput jsonArray(ObjectMapper mapper, Consumer<Consumer<T>> source) {
+        return out -> {
+            try (JsonGenerator json = mapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                source.accept(row -> {
+                    try {
+                        json.writeObject(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
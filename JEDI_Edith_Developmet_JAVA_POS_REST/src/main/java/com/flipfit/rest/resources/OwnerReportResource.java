@@ -0,0 +1,29 @@
+package com.flipfit.rest.resources;
+
+import com.flipfit.business.UtilisationReportService;
+
+import javax.ws.rs.*;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+@Path("/owners/{ownerId}/reports")
+@Produces(MediaType.APPLICATION_JSON)
+public class OwnerReportResource {
+
+    private final UtilisationReportService reportService;
+
+    public OwnerReportResource(UtilisationReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    // Per-center weekday x hour heatmap of seat utilisation and waitlist pressure
+    @GET
+    @Path("/utilisation")
+    public Response getUtilisation(@PathParam("ownerId") String ownerId) {
+        try {
+            return Response.ok(reportService.getReport(ownerId)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.flipfit.rest.resources;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipfit.bean.Slot;
+import com.flipfit.dao.SlotDAO;
+import com.flipfit.rest.dto.Page;
+
+import javax.ws.rs.*;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.List;
+
+@Path("/slots")
+@Produces(MediaType.APPLICATION_JSON)
+public class SlotListingResource {
+
+    private final SlotDAO slotDao;
+    private final ObjectMapper mapper;
+
+    public SlotListingResource(SlotDAO slotDao, ObjectMapper mapper) {
+        this.slotDao = slotDao;
+        this.mapper = mapper;
+    }
+
+    // Keyset pagination: pass the returned nextCursor as ?after= to get the next page
+    @GET
+    public Response getSlots(@QueryParam("after") String after, @QueryParam("limit") Integer limit) {
+        int size = Listings.pageSize(limit);
+        List<Slot> list = slotDao.getSlotsPage(after, size);
+        Page<Slot> page = Listings.page(list, size, Slot::getSlotId);
+        return Response.ok(page).build();
+    }
+
+    // Whole table as one JSON array, written while the result set is read
+    @GET
+    @Path("/stream")
+    public Response streamSlots() {
+        return Response.ok(Listings.<Slot>jsonArray(mapper, slotDao::forEachSlot)).build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.flipfit.rest.resources;
+
+import com.flipfit.bean.Slot;
+import com.flipfit.bean.SlotGenerationResult;
+import com.flipfit.bean.SlotRecurrence;
+import com.flipfit.business.GymService;
+import com.flipfit.exception.GymNotFoundException;
+import com.flipfit.exception.InvalidSlotException;
+
+import javax.ws.rs.*;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.List;
+
+@Path("/centers/{centerId}/slots")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class SlotResource {
+
+    private final GymService gymService;
+
+    public SlotResource(GymService gymService) {
+        this.gymService = gymService;
+    }
+
+    // Day view: slots with free seats on one date, e.g. ?date=2025-01-31
+    @GET
+    public Response getAvailableSlots(@PathParam("centerId") String centerId, @QueryParam("date") String date) {
+        try {
+            List<Slot> list = gymService.getAvailableSlots(centerId, date);
+            return Response.ok(list).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+    }
+
+    // Generates a whole recurring schedule in one batch; overlaps reject the batch with 409
+    @POST
+    @Path("/recurring")
+    public Response addRecurringSlots(@PathParam("centerId") String centerId, SlotRecurrence rule) {
+        try {
+            SlotGenerationResult result = gymService.addRecurringSlots(centerId, rule);
+            return Response.status(Response.Status.CREATED).entity(result).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        } catch (GymNotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND).entity(e.getMessage()).build();
+        } catch (InvalidSlotException e) {
+            return Response.status(Response.Status.CONFLICT).entity(e.getMessage()).build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity("Failed to add slots").build();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.flipfit.rest.tasks;
+
+import com.flipfit.utils.DBConnection;
+import com.flipfit.utils.PoolStats;
+import com.flipfit.utils.SqlProfiler;
+import io.dropwizard.servlets.tasks.Task;
+
+import java.io.PrintWriter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin task printing the most expensive SQL statements.
+ *
+ *   curl -X POST 'http://localhost:8081/tasks/sql-profile?top=20&sort=total'
+ *
+ * sort is one of total (default), max, mean, count or rows; reset=true
+ * clears the numbers after printing them.
+ */
+public class SqlProfileTask extends Task {
+
+    private static final int DEFAULT_TOP = 20;
+
+    private final SqlProfiler profiler;
+
+    public SqlProfileTask(SqlProfiler profiler) {
+        super("sql-profile");
+        this.profiler = profiler;
+    }
+
+    @Override
+    public void execute(Map<String, List<String>> parameters, PrintWriter output) {
+        int top = parameters.containsKey("top") ? Integer.parseInt(first(parameters, "top")) : DEFAULT_TOP;
+        Comparator<SqlProfiler.StatementStats> order = orderBy(parameters.containsKey("sort") ? first(parameters, "sort") : "total");
+
+        PoolStats pool = DBConnection.getPoolStats();
+        output.printf("%d statement templates, %d slow (threshold %d ms)%n", profiler.getTemplateCount(),
+                profiler.getSlowStatementCount(), profiler.getSlowQueryThresholdMillis());
+        output.printf("connection acquire: %d acquires, median %.0f us, p95 %.0f us, p99 %.0f us, max %d us%n%n",
+                pool.getTotalAcquires(), pool.getAcquireMedianMicros(), pool.getAcquireP95Micros(),
+                pool.getAcquireP99Micros(), pool.getAcquireMaxMicros());
+        output.printf("%10s %8s %12s %10s %10s %10s  %s%n", "count", "failed", "total ms", "mean ms", "max ms", "rows", "statement");
+        for (SqlProfiler.StatementStats s : profiler.top(top, order)) {
+            output.printf("%10d %8d %12.1f %10.2f %10.1f %10d  %s%n", s.getExecutions(), s.getFailures(),
+                    millis(s.getTotalNanos()), millis(s.getMeanNanos()), millis(s.getMaxNanos()), s.getRows(), s.getTemplate());
+        }
+
+        if (Boolean.parseBoolean(first(parameters, "reset"))) {
+            profiler.reset();
+            output.println();
+            output.println("Profile reset.");
+        }
+        output.flush();
+    }
+
+    private static Comparator<SqlProfiler.StatementStats> orderBy(String sort) {
+        switch (sort.toLowerCase()) {
+            case "total":
+                return Comparator.comparingLong(SqlProfiler.StatementStats::getTotalNanos);
+            case "max":
+                return Comparator.comparingLong(SqlProfiler.StatementStats::getMaxNanos);
+            case "mean":
+                return Comparator.comparingLong(SqlProfiler.StatementStats::getMeanNanos);
+            case "count":
+                return Comparator.comparingLong(SqlProfiler.StatementStats::getExecutions);
+            case "rows":
+                return Comparator.comparingLong(SqlProfiler.StatementStats::getRows);
+            default:
+                throw new IllegalArgumentException("Unknown sort '" + sort + "', use total, max, mean, count or rows");
+        }
+    }
+
+    private static String first(Map<String, List<String>> parameters, String name) {
+        List<String> values = parameters.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -1,11 +1,21 @@
 package com.flipfit.utils;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.SlidingTimeWindowArrayReservoir;
+import com.codahale.metrics.Snapshot;
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.apache.tomcat.jdbc.pool.DataSourceProxy;
+import org.apache.tomcat.jdbc.pool.PoolProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is our main database connection class.
@@ -14,6 +24,15 @@ import java.util.Properties;
  * connecting to MySQL, and making sure we don't leave connections
  * hanging around.
  * 
+ * Connections come out of a bounded pool (tomcat-jdbc, the same pool
+ * Dropwizard uses) that is configured from the db.pool.* keys in
+ * db.properties. Closing a pooled connection hands it back to the pool
+ * instead of tearing down the TCP session, so the usual
+ * try-with-resources pattern in the DAOs stays exactly the same.
+ * 
+ * Every connection handed out is wrapped by SqlProfiler, which times
+ * each statement and logs the ones slower than db.profiler.slowQueryMillis.
+ * 
  * How to use it:
  *   Connection conn = DBConnection.getConnection();
  *   // do your database stuff here
@@ -26,12 +45,23 @@ import java.util.Properties;
  */
 public class DBConnection {
     
+    private static final Logger LOG = LoggerFactory.getLogger(DBConnection.class);
+    
     // These are our fallback values in case db.properties is missing
     private static final String DEFAULT_DRIVER = "com.mysql.cj.jdbc.Driver";
-    private static final String DEFAULT_URL = "jdbc:mysql://localhost:3306/flipfit_schema";
+    private static final String DEFAULT_URL = "jdbc:mysql://localhost:3306/flipfit_schema?rewriteBatchedStatements=true&useCursorFetch=true&cachePrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048";
     private static final String DEFAULT_USERNAME = "root";
     private static final String DEFAULT_PASSWORD = "Deep.ishan.20";
     
+    // Pool defaults, used when a db.pool.* key is missing
+    private static final int DEFAULT_POOL_MIN_SIZE = 5;
+    private static final int DEFAULT_POOL_MAX_SIZE = 20;
+    private static final int DEFAULT_POOL_TIMEOUT_MS = 30000;
+    private static final int DEFAULT_POOL_IDLE_TIMEOUT_MS = 600000;
+    private static final int DEFAULT_POOL_LEAK_DETECTION_MS = 60000;
+    private static final String DEFAULT_VALIDATION_QUERY = "SELECT 1";
+    private static final int DEFAULT_SLOW_QUERY_MS = 500;
+    
     // Where we look for the config file
     private static final String PROPERTIES_FILE = "db.properties";
     
@@ -39,13 +69,23 @@ public class DBConnection {
     private static Properties properties = null;
     private static boolean driverLoaded = false;
     
-    // For apps that just need one connection
+    // The shared pool, built on first use (or handed to us by useDataSource)
+    private static volatile DataSourceProxy pool = null;
+    private static boolean externalPool = false;
+    
+    // How long callers wait to get a connection out of the pool (microseconds)
+    private static final Histogram acquireLatency =
+            new Histogram(new SlidingTimeWindowArrayReservoir(5, TimeUnit.MINUTES));
+    
+    // For apps that just need one connection (borrowed from the pool)
     private static Connection singletonConnection = null;
     
     // Load everything when the class is first used
     static {
         loadProperties();
         loadDriver();
+        SqlProfiler.getInstance().setSlowQueryThresholdMillis(
+                getIntProperty("db.profiler.slowQueryMillis", DEFAULT_SLOW_QUERY_MS));
     }
     
     /**
@@ -61,7 +101,7 @@ public class DBConnection {
             
             if (input != null) {
                 properties.load(input);
-                System.out.println("[DB] Found and loaded " + PROPERTIES_FILE);
+                LOG.info("Loaded database config file={}", PROPERTIES_FILE);
             } else {
                 // Maybe it's in the same package as this class?
                 try (InputStream packageInput = DBConnection.class
@@ -69,15 +109,15 @@ public class DBConnection {
                     
                     if (packageInput != null) {
                         properties.load(packageInput);
-                        System.out.println("[DB] Loaded config from package folder");
+                        LOG.info("Loaded database config from package folder file={}", PROPERTIES_FILE);
                     } else {
-                        System.out.println("[DB] Couldn't find " + PROPERTIES_FILE + ", using defaults");
+                        LOG.warn("Database config not found, using defaults file={}", PROPERTIES_FILE);
                         setDefaultProperties();
                     }
                 }
             }
         } catch (IOException e) {
-            System.err.println("[DB] Error reading config: " + e.getMessage());
+            LOG.error("Error reading database config file={}", PROPERTIES_FILE, e);
             setDefaultProperties();
         }
     }
@@ -104,30 +144,95 @@ public class DBConnection {
         try {
             Class.forName(driver);
             driverLoaded = true;
-            System.out.println("[DB] MySQL driver loaded successfully!");
+            LOG.info("JDBC driver loaded driver={}", driver);
         } catch (ClassNotFoundException e) {
-            System.err.println("[DB] MySQL driver not found!");
-            System.err.println("[DB] You need to add mysql-connector-java to your project.");
-            System.err.println("[DB] Grab it from: https://dev.mysql.com/downloads/connector/j/");
+            LOG.error("JDBC driver not found driver={}; add mysql-connector-java to the classpath "
+                    + "(https://dev.mysql.com/downloads/connector/j/)", driver);
         }
     }
     
     /**
-     * Gives you a fresh new database connection.
-     * Don't forget to close it when you're done!
+     * Builds the connection pool from the db.pool.* settings.
+     * Called lazily the first time someone asks for a connection.
+     */
+    private static synchronized DataSourceProxy getPool() {
+        if (pool != null) {
+            return pool;
+        }
+        
+        int minSize = getIntProperty("db.pool.minSize", DEFAULT_POOL_MIN_SIZE);
+        int maxSize = Math.max(minSize, getIntProperty("db.pool.maxSize", DEFAULT_POOL_MAX_SIZE));
+        int leakDetectionMs = getIntProperty("db.pool.leakDetectionThreshold", DEFAULT_POOL_LEAK_DETECTION_MS);
+        
+        PoolProperties config = new PoolProperties();
+        config.setDriverClassName(properties.getProperty("db.driver", DEFAULT_DRIVER));
+        config.setUrl(properties.getProperty("db.url", DEFAULT_URL));
+        config.setUsername(properties.getProperty("db.username", DEFAULT_USERNAME));
+        config.setPassword(properties.getProperty("db.password", DEFAULT_PASSWORD));
+        
+        // Sizing
+        config.setInitialSize(minSize);
+        config.setMinIdle(minSize);
+        config.setMaxIdle(maxSize);
+        config.setMaxActive(maxSize);
+        
+        // How long getConnection() blocks when every connection is in use
+        config.setMaxWait(getIntProperty("db.pool.timeout", DEFAULT_POOL_TIMEOUT_MS));
+        
+        // Idle connections above minSize get closed after this long
+        config.setMinEvictableIdleTimeMillis(getIntProperty("db.pool.idleTimeout", DEFAULT_POOL_IDLE_TIMEOUT_MS));
+        config.setTimeBetweenEvictionRunsMillis(30000);
+        
+        // Make sure we never hand out a dead connection
+        config.setValidationQuery(properties.getProperty("db.pool.validationQuery", DEFAULT_VALIDATION_QUERY));
+        config.setValidationQueryTimeout(5);
+        config.setValidationInterval(30000);
+        config.setTestOnBorrow(true);
+        config.setTestWhileIdle(true);
+        
+        // Leak detection: log (with stack trace) any connection held longer than the threshold
+        if (leakDetectionMs > 0) {
+            config.setSuspectTimeout(Math.max(1, leakDetectionMs / 1000));
+            config.setLogAbandoned(true);
+        }
+        
+        config.setJmxEnabled(false);
+        config.setName("flipfit-jdbc");
+        
+        pool = new DataSource(config);
+        LOG.info("Connection pool ready minSize={} maxSize={}", minSize, maxSize);
+        return pool;
+    }
+    
+    private static int getIntProperty(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LOG.warn("Ignoring bad database setting key={} value={}", key, value);
+            return defaultValue;
+        }
+    }
+    
+    /**
+     * Gives you a database connection from the pool.
+     * Don't forget to close it when you're done - that returns it to the pool.
      */
     public static Connection getConnection() throws SQLException {
         if (!driverLoaded) {
             loadDriver();
         }
         
-        String url = properties.getProperty("db.url", DEFAULT_URL);
-        String username = properties.getProperty("db.username", DEFAULT_USERNAME);
-        String password = properties.getProperty("db.password", DEFAULT_PASSWORD);
-        
-        Connection connection = DriverManager.getConnection(url, username, password);
-        System.out.println("[DB] Connected successfully!");
-        return connection;
+        DataSourceProxy dataSource = pool != null ? pool : getPool();
+        long start = System.nanoTime();
+        try {
+            return SqlProfiler.getInstance().wrap(dataSource.getConnection());
+        } finally {
+            acquireLatency.update(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
     }
     
     /**
@@ -138,15 +243,17 @@ public class DBConnection {
         if (!driverLoaded) {
             loadDriver();
         }
-        return DriverManager.getConnection(url, username, password);
+        return SqlProfiler.getInstance().wrap(DriverManager.getConnection(url, username, password));
     }
     
     /**
      * Returns the same connection every time.
      * Great for simple apps where you don't need multiple connections.
-     * Creates a new one if the old one was closed.
+     * The connection is borrowed from the pool and held until
+     * closeSingletonConnection() is called; a new one is borrowed if
+     * the old one was closed.
      */
-    public static Connection getSingletonConnection() throws SQLException {
+    public static synchronized Connection getSingletonConnection() throws SQLException {
         if (singletonConnection == null || singletonConnection.isClosed()) {
             singletonConnection = getConnection();
         }
@@ -162,10 +269,10 @@ public class DBConnection {
             try {
                 if (!connection.isClosed()) {
                     connection.close();
-                    System.out.println("[DB] Connection closed");
+                    LOG.debug("Connection closed");
                 }
             } catch (SQLException e) {
-                System.err.println("[DB] Problem closing connection: " + e.getMessage());
+                LOG.warn("Problem closing connection", e);
             }
         }
     }
@@ -174,11 +281,63 @@ public class DBConnection {
      * Closes our singleton connection.
      * Call this before your app shuts down.
      */
-    public static void closeSingletonConnection() {
+    public static synchronized void closeSingletonConnection() {
         closeConnection(singletonConnection);
         singletonConnection = null;
     }
     
+    /**
+     * Closes the pool and every connection in it.
+     * Call this when the app shuts down.
+     */
+    public static synchronized void shutdownPool() {
+        closeSingletonConnection();
+        if (pool != null) {
+            if (!externalPool) {
+                pool.close(true);
+                LOG.info("Connection pool closed");
+            }
+            pool = null;
+            externalPool = false;
+        }
+    }
+    
+    /**
+     * Makes getConnection() hand out connections from a pool someone
+     * else owns, e.g. the Dropwizard-managed pool in RestApplication.
+     * That way legacy JDBC code and the transactional service paths
+     * share one pool with the Jdbi DAOs. The owner stays responsible
+     * for closing it.
+     */
+    public static synchronized void useDataSource(DataSourceProxy dataSource) {
+        shutdownPool();
+        pool = dataSource;
+        externalPool = true;
+        LOG.info("Using externally managed connection pool");
+    }
+    
+    /**
+     * Returns a snapshot of the pool: connections in use, idle,
+     * threads waiting, and how long getConnection() has been taking.
+     */
+    public static PoolStats getPoolStats() {
+        DataSourceProxy dataSource = pool;
+        Snapshot latency = acquireLatency.getSnapshot();
+        if (dataSource == null) {
+            return new PoolStats(0, 0, 0, 0, acquireLatency.getCount(), latency);
+        }
+        return new PoolStats(dataSource.getActive(), dataSource.getIdle(), dataSource.getWaitCount(),
+                dataSource.getMaxActive(), acquireLatency.getCount(), latency);
+    }
+    
+    /**
+     * The raw acquire-latency histogram (microseconds), for registering
+     * with a MetricRegistry.
+     */
+    public static Histogram getAcquireLatencyHistogram() {
+        return acquireLatency;
+    }
+    
     /**
      * Quick way to check if everything is working.
      * Returns true if we can connect to the database.
@@ -187,11 +346,11 @@ public class DBConnection {
         try (Connection conn = getConnection()) {
             boolean works = conn != null && conn.isValid(5);
             if (works) {
-                System.out.println("[DB] Connection test passed! We're good to go.");
+                LOG.info("Connection test passed");
             }
             return works;
         } catch (SQLException e) {
-            System.err.println("[DB] Connection test failed: " + e.getMessage());
+            LOG.error("Connection test failed", e);
             return false;
         }
     }
@@ -213,9 +372,11 @@ public class DBConnection {
     /**
      * Reloads the config file.
      * Useful if you changed db.properties while the app is running.
+     * The pool is rebuilt with the new settings on the next getConnection().
      */
     public static void reloadProperties() {
         loadProperties();
+        shutdownPool();
     }
     
     /**
@@ -234,6 +395,7 @@ public class DBConnection {
         if (testConnection()) {
             System.out.println();
             System.out.println("SUCCESS! Your database is ready to go!");
+            System.out.println(getPoolStats());
         } else {
             System.out.println();
             System.out.println("FAILED! Here's what you can try:");
@@ -242,5 +404,6 @@ public class DBConnection {
             System.out.println("  3. Run flipfit_schema.sql to create the database");
             System.out.println("  4. Make sure mysql-connector-java is in your classpath");
         }
+        shutdownPool();
     }
 }
@@ -6,6 +6,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * A handy collection of database helper methods.
  * 
@@ -21,6 +24,17 @@ import java.sql.Statement;
  */
 public class DBUtils {
     
+    private static final Logger LOG = LoggerFactory.getLogger(DBUtils.class);
+    
+    /**
+     * Rows fetched per round trip when streaming a big result set.
+     * Only honoured with useCursorFetch=true on the JDBC URL; without it
+     * MySQL sends the whole result at once. That flag switches the driver
+     * to server-side prepared statements, which is why the URL also sets
+     * cachePrepStmts.
+     */
+    public static final int STREAM_FETCH_SIZE = 500;
+    
     /**
      * Closes a ResultSet without throwing errors everywhere.
      * Safe to call even if rs is null.
@@ -30,7 +44,7 @@ public class DBUtils {
             try {
                 rs.close();
             } catch (SQLException e) {
-                System.err.println("[DBUtils] Couldn't close ResultSet: " + e.getMessage());
+                LOG.warn("Couldn't close ResultSet", e);
             }
         }
     }
@@ -43,7 +57,7 @@ public class DBUtils {
             try {
                 stmt.close();
             } catch (SQLException e) {
-                System.err.println("[DBUtils] Couldn't close Statement: " + e.getMessage());
+                LOG.warn("Couldn't close Statement", e);
             }
         }
     }
@@ -57,7 +71,7 @@ public class DBUtils {
             try {
                 pstmt.close();
             } catch (SQLException e) {
-                System.err.println("[DBUtils] Couldn't close PreparedStatement: " + e.getMessage());
+                LOG.warn("Couldn't close PreparedStatement", e);
             }
         }
     }
@@ -184,6 +198,17 @@ public class DBUtils {
                     .replace("\\", "\\\\");
     }
     
+    /**
+     * Builds "?, ?, ?" for an IN (...) list with the given number of values.
+     */
+    public static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+    
     /**
      * Checks if a table exists in the database.
      * Handy before running CREATE TABLE or for debugging.
@@ -196,7 +221,7 @@ public class DBUtils {
                 return rs.next();
             }
         } catch (SQLException e) {
-            System.err.println("[DBUtils] Error checking if table exists: " + e.getMessage());
+            LOG.error("Error checking if table exists op=tableExists table={}", tableName, e);
             return false;
         }
     }
@@ -213,7 +238,7 @@ public class DBUtils {
                 return rs.getInt(1);
             }
         } catch (SQLException e) {
-            System.err.println("[DBUtils] Couldn't count rows: " + e.getMessage());
+            LOG.error("Couldn't count rows op=getRowCount table={}", tableName, e);
         }
         return -1;
     }
@@ -247,10 +272,10 @@ public class DBUtils {
             if (conn != null && !conn.getAutoCommit()) {
                 conn.rollback();
                 conn.setAutoCommit(true);
-                System.out.println("[DBUtils] Transaction rolled back");
+                LOG.debug("Transaction rolled back");
             }
         } catch (SQLException e) {
-            System.err.println("[DBUtils] Rollback failed: " + e.getMessage());
+            LOG.error("Rollback failed", e);
         }
     }
 }
@@ -0,0 +1,101 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SlidingTimeWindowArrayReservoir;
+import com.codahale.metrics.Timer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorates any interface implementation with Dropwizard metrics, so DAOs
+ * and services are instrumented without touching their code.
+ *
+ * Every interface method gets a Timer named prefix.Interface.method (call
+ * count, rates and latency percentiles over the last five minutes) and a
+ * Counter with an ".errors" suffix for calls that threw. Overloaded methods
+ * get their parameter types appended to the name. Object methods such as
+ * toString are passed through untimed.
+ *
+ * Only calls made through the returned proxy are measured; calls an
+ * implementation makes on itself are not.
+ *
+ * @author Flipfit Team
+ */
+public final class MetricsProxy implements InvocationHandler {
+
+    private final Object target;
+    private final Map<Method, Timer> timers = new HashMap<>();
+    private final Map<Method, Counter> errors = new HashMap<>();
+
+    private MetricsProxy(Class<?> type, Object target, MetricRegistry registry, String prefix) {
+        this.target = target;
+        Map<String, Integer> overloads = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            overloads.merge(method.getName(), 1, Integer::sum);
+        }
+        for (Method method : type.getMethods()) {
+            String name = MetricRegistry.name(prefix, type.getSimpleName(), metricName(method, overloads.get(method.getName()) > 1));
+            timers.put(method, registry.timer(name,
+                    () -> new Timer(new SlidingTimeWindowArrayReservoir(5, TimeUnit.MINUTES))));
+            errors.put(method, registry.counter(name + ".errors"));
+        }
+    }
+
+    /**
+     * Returns target wrapped in a proxy that implements type and records a
+     * timer and an error counter per method in registry.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T wrap(Class<T> type, T target, MetricRegistry registry, String prefix) {
+        if (!type.isInterface()) {
+            throw new IllegalArgumentException(type.getName() + " is not an interface");
+        }
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                new MetricsProxy(type, target, registry, prefix));
+    }
+
+    private static String metricName(Method method, boolean overloaded) {
+        if (!overloaded) {
+            return method.getName();
+        }
+        StringBuilder name = new StringBuilder(method.getName()).append('[');
+        Class<?>[] params = method.getParameterTypes();
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) name.append(',');
+            name.append(params[i].getSimpleName());
+        }
+        return name.append(']').toString();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            return call(method, args);
+        }
+        Timer.Context context = timer.time();
+        try {
+            return call(method, args);
+        } catch (Throwable t) {
+            errors.get(method).inc();
+            throw t;
+        } finally {
+            context.stop();
+        }
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.flipfit.utils;
+
+import com.codahale.metrics.Snapshot;
+
+/**
+ * A point-in-time view of the DBConnection pool.
+ *
+ * Get one with DBConnection.getPoolStats(). Latency numbers are
+ * how long callers waited inside getConnection(), in microseconds.
+ *
+ * @author Flipfit Team
+ */
+public class PoolStats {
+
+    private final int active;
+    private final int idle;
+    private final int waiting;
+    private final int maxSize;
+    private final long totalAcquires;
+    private final double acquireMedianMicros;
+    private final double acquireP95Micros;
+    private final double acquireP99Micros;
+    private final long acquireMaxMicros;
+
+    public PoolStats(int active, int idle, int waiting, int maxSize, long totalAcquires, Snapshot acquireLatency) {
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.maxSize = maxSize;
+        this.totalAcquires = totalAcquires;
+        this.acquireMedianMicros = acquireLatency.getMedian();
+        this.acquireP95Micros = acquireLatency.get95thPercentile();
+        this.acquireP99Micros = acquireLatency.get99thPercentile();
+        this.acquireMaxMicros = acquireLatency.getMax();
+    }
+
+    /** Connections currently handed out. */
+    public int getActive() {
+        return active;
+    }
+
+    /** Connections sitting in the pool ready to go. */
+    public int getIdle() {
+        return idle;
+    }
+
+    /** Threads blocked waiting for a connection. */
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getTotalAcquires() {
+        return totalAcquires;
+    }
+
+    public double getAcquireMedianMicros() {
+        return acquireMedianMicros;
+    }
+
+    public double getAcquireP95Micros() {
+        return acquireP95Micros;
+    }
+
+    public double getAcquireP99Micros() {
+        return acquireP99Micros;
+    }
+
+    public long getAcquireMaxMicros() {
+        return acquireMaxMicros;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[DB] Pool: active=%d idle=%d waiting=%d max=%d | acquires=%d p50=%.0fus p95=%.0fus p99=%.0fus max=%dus",
+                active, idle, waiting, maxSize, totalAcquires,
+                acquireMedianMicros, acquireP95Micros, acquireP99Micros, acquireMaxMicros);
+    }
+}
@@ -0,0 +1,63 @@
+package com.flipfit.utils;
+
+import org.jdbi.v3.core.statement.SqlLogger;
+import org.jdbi.v3.core.statement.StatementContext;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Jdbi SqlLogger that feeds every statement into the SqlProfiler, then
+ * hands it on to the logger that was installed before (Dropwizard's
+ * per-statement timers), so those keep working.
+ *
+ * Jdbi does not report how many rows a query returned, so rows are only
+ * counted for statements that go through DBConnection.
+ *
+ * @author Flipfit Team
+ */
+public class ProfilingSqlLogger implements SqlLogger {
+
+    private final SqlProfiler profiler;
+    private final SqlLogger delegate;
+
+    public ProfilingSqlLogger(SqlProfiler profiler, SqlLogger delegate) {
+        this.profiler = profiler;
+        this.delegate = delegate != null ? delegate : SqlLogger.NOP_SQL_LOGGER;
+    }
+
+    @Override
+    public void logBeforeExecution(StatementContext context) {
+        delegate.logBeforeExecution(context);
+    }
+
+    @Override
+    public void logAfterExecution(StatementContext context) {
+        profiler.record(sqlOf(context), elapsedNanos(context), 0, false);
+        delegate.logAfterExecution(context);
+    }
+
+    @Override
+    public void logException(StatementContext context, SQLException ex) {
+        profiler.record(sqlOf(context), elapsedNanos(context), 0, true);
+        delegate.logException(context, ex);
+    }
+
+    // The SQL as sent to the driver, with ? in place of the named parameters
+    private static String sqlOf(StatementContext context) {
+        if (context.getParsedSql() != null) {
+            return context.getParsedSql().getSql();
+        }
+        return context.getRenderedSql();
+    }
+
+    private static long elapsedNanos(StatementContext context) {
+        Instant start = context.getExecutionMoment();
+        Instant end = context.getCompletionMoment() != null ? context.getCompletionMoment() : context.getExceptionMoment();
+        if (start == null || end == null) {
+            return 0;
+        }
+        return Duration.between(start, end).toNanos();
+    }
+}
@@ -0,0 +1,345 @@
+package com.flipfit.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-statement profile of the SQL we run.
+ *
+ * Statements are grouped by template: the SQL with string and number
+ * literals replaced by ? and whitespace collapsed, so the same query with
+ * different values lands in one entry. For each template we keep the
+ * execution count, failures, total and max time, and rows read (or
+ * updated).
+ *
+ * Anything slower than the slow-query threshold is logged at WARN with
+ * its template only; with this logger at DEBUG every statement is logged. Bound parameters are never logged, and literals are
+ * already replaced, so customer data does not end up in the log.
+ *
+ * DBConnection hands out connections wrapped by wrap(), so every DAOImpl
+ * statement is recorded; the Jdbi DAOs are recorded through
+ * ProfilingSqlLogger.
+ *
+ * @author Flipfit Team
+ */
+public class SqlProfiler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqlProfiler.class);
+
+    private static final SqlProfiler INSTANCE = new SqlProfiler();
+
+    // Distinct templates we keep; anything past this is counted under OTHER
+    private static final int MAX_TEMPLATES = 2_000;
+    private static final String OTHER = "(other statements)";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final String[] EXECUTE_METHODS = {
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch"};
+
+    // Template -> stats, and raw SQL -> the same stats so repeat statements skip the normalizing
+    private final Map<String, StatementStats> byTemplate = new ConcurrentHashMap<>();
+    private final Map<String, StatementStats> bySql = new ConcurrentHashMap<>();
+
+    private volatile long slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(500);
+    private final AtomicLong slowStatements = new AtomicLong();
+
+    public static SqlProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Statements taking at least this long are logged; 0 turns the log off.
+     */
+    public void setSlowQueryThresholdMillis(long millis) {
+        slowQueryNanos = millis <= 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryNanos == Long.MAX_VALUE ? 0 : TimeUnit.NANOSECONDS.toMillis(slowQueryNanos);
+    }
+
+    public long getSlowStatementCount() {
+        return slowStatements.get();
+    }
+
+    /**
+     * Returns the stats entry for a statement, creating it on first use.
+     */
+    public StatementStats forStatement(String sql) {
+        if (sql == null) {
+            sql = OTHER;
+        }
+        StatementStats stats = bySql.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        String template = templateOf(sql);
+        if (byTemplate.size() >= MAX_TEMPLATES && !byTemplate.containsKey(template)) {
+            template = OTHER;
+        }
+        stats = byTemplate.computeIfAbsent(template, StatementStats::new);
+        if (bySql.size() < MAX_TEMPLATES * 4) {
+            bySql.putIfAbsent(sql, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Records one finished statement.
+     */
+    public void record(String sql, long nanos, long rows, boolean failed) {
+        StatementStats stats = forStatement(sql);
+        stats.record(nanos, failed);
+        stats.addRows(rows);
+        logIfSlow(stats, nanos, failed);
+    }
+
+    static String templateOf(String sql) {
+        String template = STRING_LITERAL.matcher(sql).replaceAll("?");
+        template = NUMBER_LITERAL.matcher(template).replaceAll("?");
+        template = IN_LIST.matcher(template).replaceAll("IN (?, ...)");
+        return WHITESPACE.matcher(template).replaceAll(" ").trim();
+    }
+
+    private void logIfSlow(StatementStats stats, long nanos, boolean failed) {
+        if (nanos >= slowQueryNanos) {
+            slowStatements.incrementAndGet();
+            LOG.warn("Slow statement latencyMs={} failed={} sql={}", TimeUnit.NANOSECONDS.toMillis(nanos), failed, stats.getTemplate());
+        } else if (LOG.isDebugEnabled()) {
+            LOG.debug("Statement latencyMicros={} failed={} sql={}", TimeUnit.NANOSECONDS.toMicros(nanos), failed, stats.getTemplate());
+        }
+    }
+
+    /**
+     * The n entries that rank highest by the given order, e.g. by total time.
+     */
+    public List<StatementStats> top(int n, Comparator<StatementStats> order) {
+        List<StatementStats> all = new ArrayList<>(byTemplate.values());
+        all.sort(order.reversed());
+        return all.subList(0, Math.min(n, all.size()));
+    }
+
+    public int getTemplateCount() {
+        return byTemplate.size();
+    }
+
+    public void reset() {
+        bySql.clear();
+        byTemplate.clear();
+        slowStatements.set(0);
+    }
+
+    /**
+     * Wraps a connection so every statement it creates is timed and its
+     * rows counted. Closing the wrapper closes (returns) the real connection.
+     */
+    public Connection wrap(Connection connection) {
+        if (connection == null || isWrapped(connection)) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    // The pool's own connections are proxies too, so look at the handler rather than the class
+    private static boolean isWrapped(Connection connection) {
+        return Proxy.isProxyClass(connection.getClass())
+                && Proxy.getInvocationHandler(connection) instanceof ConnectionHandler;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isExecute(String name) {
+        for (String m : EXECUTE_METHODS) {
+            if (m.equals(name)) return true;
+        }
+        return false;
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlProfiler.invoke(target, method, args);
+            if (result instanceof Statement) {
+                // prepareStatement/prepareCall carry their SQL; createStatement gets it per execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[] {method.getReturnType()}, new StatementHandler((Statement) result, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private String batchSql;
+        private StatementStats lastExecuted;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("addBatch".equals(name) && args != null && args.length == 1 && batchSql == null) {
+                batchSql = (String) args[0];
+            }
+            if (!isExecute(name)) {
+                Object result = SqlProfiler.invoke(target, method, args);
+                if (result instanceof ResultSet && "getResultSet".equals(name) && lastExecuted != null) {
+                    return countRows(result, lastExecuted);
+                }
+                return result;
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0]
+                    : preparedSql != null ? preparedSql : batchSql;
+            if (name.endsWith("Batch")) {
+                batchSql = null;
+            }
+            StatementStats stats = forStatement(sql);
+            lastExecuted = stats;
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = SqlProfiler.invoke(target, method, args);
+                failed = false;
+                return countRows(result, stats);
+            } finally {
+                long nanos = System.nanoTime() - start;
+                stats.record(nanos, failed);
+                logIfSlow(stats, nanos, failed);
+            }
+        }
+
+        private Object countRows(Object result, StatementStats stats) {
+            if (result instanceof ResultSet) {
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[] {ResultSet.class}, new ResultSetHandler((ResultSet) result, stats));
+            }
+            if (result instanceof Integer || result instanceof Long) {
+                stats.addRows(Math.max(0, ((Number) result).longValue()));
+            } else if (result instanceof int[]) {
+                for (int n : (int[]) result) stats.addRows(Math.max(0, n));
+            } else if (result instanceof long[]) {
+                for (long n : (long[]) result) stats.addRows(Math.max(0, n));
+            }
+            return result;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final StatementStats stats;
+
+        ResultSetHandler(ResultSet target, StatementStats stats) {
+            this.target = target;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlProfiler.invoke(target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                stats.addRows(1);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Counters for one statement template. Times are in nanoseconds.
+     */
+    public static final class StatementStats {
+        private final String template;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder rows = new LongAdder();
+
+        StatementStats(String template) {
+            this.template = template;
+        }
+
+        void record(long nanos, boolean failed) {
+            executions.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        void addRows(long n) {
+            if (n > 0) {
+                rows.add(n);
+            }
+        }
+
+        public String getTemplate() {
+            return template;
+        }
+
+        public long getExecutions() {
+            return executions.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getMeanNanos() {
+            long n = getExecutions();
+            return n == 0 ? 0 : getTotalNanos() / n;
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+    }
+}
@@ -31,8 +31,10 @@ CREATE TABLE `booking` (
   `bookingDate` datetime DEFAULT NULL,
   `status` enum('CONFIRMED','CANCELLED','PENDING','WAITLISTED') NOT NULL,
   PRIMARY KEY (`bookingID`),
-  KEY `userID` (`userID`),
+  KEY `userID` (`userID`,`status`,`slotID`),
   KEY `slotID` (`slotID`),
+  KEY `status` (`status`),
+  KEY `bookingDate` (`bookingDate`),
   CONSTRAINT `booking_ibfk_1` FOREIGN KEY (`userID`) REFERENCES `user` (`userID`),
   CONSTRAINT `booking_ibfk_2` FOREIGN KEY (`slotID`) REFERENCES `slot` (`slotID`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -47,6 +49,60 @@ LOCK TABLES `booking` WRITE;
 /*!40000 ALTER TABLE `booking` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `center_daily_stats`
+--
+
+DROP TABLE IF EXISTS `center_daily_stats`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `center_daily_stats` (
+  `centerID` varchar(45) NOT NULL,
+  `statDate` date NOT NULL,
+  `slots` int NOT NULL,
+  `seatCapacity` int NOT NULL,
+  `seatsBooked` int NOT NULL,
+  `bookings` int NOT NULL,
+  `cancellations` int NOT NULL,
+  `waitlisted` int NOT NULL,
+  `refreshedAt` datetime NOT NULL,
+  PRIMARY KEY (`centerID`,`statDate`),
+  KEY `statDate` (`statDate`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `center_daily_stats`
+--
+
+LOCK TABLES `center_daily_stats` WRITE;
+/*!40000 ALTER TABLE `center_daily_stats` DISABLE KEYS */;
+/*!40000 ALTER TABLE `center_daily_stats` ENABLE KEYS */;
+UNLOCK TABLES;
+
+--
+-- Table structure for table `customer_daily_stats`
+--
+
+DROP TABLE IF EXISTS `customer_daily_stats`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `customer_daily_stats` (
+  `statDate` date NOT NULL,
+  `newCustomers` int NOT NULL,
+  PRIMARY KEY (`statDate`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `customer_daily_stats`
+--
+
+LOCK TABLES `customer_daily_stats` WRITE;
+/*!40000 ALTER TABLE `customer_daily_stats` DISABLE KEYS */;
+/*!40000 ALTER TABLE `customer_daily_stats` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `gym_center`
 --
@@ -64,6 +120,8 @@ CREATE TABLE `gym_center` (
   `isActive` varchar(45) NOT NULL,
   PRIMARY KEY (`centerID`),
   KEY `ownerID` (`ownerID`),
+  KEY `city_active` (`cityID`,`isActive`),
+  KEY `isActive` (`isActive`),
   CONSTRAINT `gym_center_ibfk_1` FOREIGN KEY (`ownerID`) REFERENCES `gym_owner` (`userID`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
@@ -91,6 +149,7 @@ CREATE TABLE `gym_customer` (
   `userID` varchar(45) NOT NULL,
   PRIMARY KEY (`id`),
   KEY `userID` (`userID`),
+  KEY `registrationDate` (`registrationDate`),
   CONSTRAINT `gym_customer_ibfk_1` FOREIGN KEY (`userID`) REFERENCES `user` (`userID`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
@@ -133,6 +192,33 @@ LOCK TABLES `gym_owner` WRITE;
 /*!40000 ALTER TABLE `gym_owner` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `notification_outbox`
+--
+
+DROP TABLE IF EXISTS `notification_outbox`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `notification_outbox` (
+  `outboxID` bigint NOT NULL AUTO_INCREMENT,
+  `customerID` varchar(45) NOT NULL,
+  `message` varchar(1000) NOT NULL,
+  `createdAt` datetime NOT NULL,
+  `sentAt` datetime DEFAULT NULL,
+  PRIMARY KEY (`outboxID`),
+  KEY `pending` (`sentAt`,`outboxID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `notification_outbox`
+--
+
+LOCK TABLES `notification_outbox` WRITE;
+/*!40000 ALTER TABLE `notification_outbox` DISABLE KEYS */;
+/*!40000 ALTER TABLE `notification_outbox` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `slot`
 --
@@ -141,13 +227,17 @@ DROP TABLE IF EXISTS `slot`;
 /*!40101 SET @saved_cs_client     = @@character_set_client */;
 /*!50503 SET character_set_client = utf8mb4 */;
 CREATE TABLE `slot` (
-  `slotID` varchar(16) NOT NULL,
+  `slotID` varchar(45) NOT NULL,
   `centerID` varchar(45) NOT NULL,
+  `slotDate` date NOT NULL,
   `startTime` datetime NOT NULL,
   `endTime` datetime NOT NULL,
   `maxCapacity` int NOT NULL,
   `currentBookings` int NOT NULL,
-  PRIMARY KEY (`slotID`)
+  PRIMARY KEY (`slotID`),
+  KEY `center_date_start` (`centerID`,`slotDate`,`startTime`),
+  KEY `slotDate` (`slotDate`),
+  KEY `start_end` (`startTime`,`endTime`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
@@ -189,6 +279,34 @@ LOCK TABLES `user` WRITE;
 /*!40000 ALTER TABLE `user` DISABLE KEYS */;
 /*!40000 ALTER TABLE `user` ENABLE KEYS */;
 UNLOCK TABLES;
+
+--
+-- Table structure for table `waitlist`
+--
+
+DROP TABLE IF EXISTS `waitlist`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `waitlist` (
+  `waitlistID` varchar(45) NOT NULL,
+  `slotID` varchar(45) NOT NULL,
+  `userID` varchar(45) NOT NULL,
+  `position` int NOT NULL,
+  `createdAt` datetime NOT NULL,
+  PRIMARY KEY (`waitlistID`),
+  UNIQUE KEY `slot_position` (`slotID`,`position`),
+  UNIQUE KEY `slot_user` (`slotID`,`userID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `waitlist`
+--
+
+LOCK TABLES `waitlist` WRITE;
+/*!40000 ALTER TABLE `waitlist` DISABLE KEYS */;
+/*!40000 ALTER TABLE `waitlist` ENABLE KEYS */;
+UNLOCK TABLES;
 /*!40103 SET TIME_ZONE=@OLD_TIME_ZONE */;
 
 /*!40101 SET SQL_MODE=@OLD_SQL_MODE */;
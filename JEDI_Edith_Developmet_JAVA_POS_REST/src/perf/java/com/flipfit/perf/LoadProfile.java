@@ -0,0 +1,142 @@
+package com.flipfit.perf;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from -Dperf.* system properties.
+ *
+ * perf.mix weights the operations, e.g. "login=15,centers=30,book=20,cancel=10,bookings=25";
+ * operations left out of the mix are not sent.
+ */
+public class LoadProfile {
+
+    private static final String DEFAULT_MIX = "login=15,centers=30,book=20,cancel=10,bookings=25";
+
+    private final double requestsPerSecond;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final int users;
+    private final int centers;
+    private final int slotsPerCenter;
+    private final int slotCapacity;
+    private final int bookings;
+    private final int maxInFlight;
+    private final int timeoutMillis;
+    private final long seed;
+    private final String outputDir;
+    private final Map<Operation, Integer> mix;
+
+    private LoadProfile() {
+        this.requestsPerSecond = Double.parseDouble(System.getProperty("perf.rps", "200"));
+        this.warmupSeconds = Integer.getInteger("perf.warmupSeconds", 10);
+        this.durationSeconds = Integer.getInteger("perf.durationSeconds", 60);
+        this.users = Integer.getInteger("perf.users", 2_000);
+        this.centers = Integer.getInteger("perf.centers", 200);
+        this.slotsPerCenter = Integer.getInteger("perf.slotsPerCenter", 34);
+        this.slotCapacity = Integer.getInteger("perf.slotCapacity", 500);
+        this.bookings = Integer.getInteger("perf.bookings", 2_000);
+        this.maxInFlight = Integer.getInteger("perf.maxInFlight", 2_000);
+        this.timeoutMillis = Integer.getInteger("perf.timeoutMillis", 5_000);
+        this.seed = Long.getLong("perf.seed", 42L);
+        this.outputDir = System.getProperty("perf.outputDir", "target/perf");
+        this.mix = parseMix(System.getProperty("perf.mix", DEFAULT_MIX));
+
+        if (requestsPerSecond <= 0 || durationSeconds <= 0 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("perf.rps and perf.durationSeconds must be positive");
+        }
+        if (users <= 0 || centers <= 0 || slotsPerCenter <= 0 || slotCapacity <= 0) {
+            throw new IllegalArgumentException("perf.users, perf.centers, perf.slotsPerCenter and perf.slotCapacity must be positive");
+        }
+        if (bookings > (long) centers * slotsPerCenter * slotCapacity) {
+            throw new IllegalArgumentException("perf.bookings does not fit in the seeded slots");
+        }
+    }
+
+    public static LoadProfile fromSystemProperties() {
+        return new LoadProfile();
+    }
+
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("perf.mix entries look like name=weight, got '" + part + "'");
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in perf.mix: " + part);
+            }
+            if (weight > 0) {
+                weights.put(Operation.fromKey(kv[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("perf.mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getCenters() {
+        return centers;
+    }
+
+    public int getSlotsPerCenter() {
+        return slotsPerCenter;
+    }
+
+    public int getSlots() {
+        return centers * slotsPerCenter;
+    }
+
+    public int getSlotCapacity() {
+        return slotCapacity;
+    }
+
+    public int getBookings() {
+        return bookings;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getOutputDir() {
+        return outputDir;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.0f req/s for %ds after %ds warmup; %d users, %d centers x %d slots (%d seats each), %d bookings; mix %s",
+                requestsPerSecond, durationSeconds, warmupSeconds, users, centers, slotsPerCenter, slotCapacity, bookings, mix);
+    }
+}
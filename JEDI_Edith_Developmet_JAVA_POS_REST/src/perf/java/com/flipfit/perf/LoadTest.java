@@ -0,0 +1,301 @@
+package com.flipfit.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flipfit.rest.RestApplication;
+import com.flipfit.rest.RestConfiguration;
+import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
+import io.dropwizard.testing.ConfigOverride;
+import io.dropwizard.testing.DropwizardTestSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load test for the REST API.
+ *
+ * Starts RestApplication on a seeded in-memory database and sends the
+ * configured request mix at a fixed rate. Requests are scheduled on a clock
+ * rather than after the previous response, and latency is measured from the
+ * scheduled send time, so a slow server shows up as higher latency instead of
+ * as fewer requests. Only requests scheduled after the warmup are counted.
+ *
+ * Run with: mvn -Pperf compile exec:java [-Dperf.rps=500] [-Dperf.durationSeconds=60]
+ * See LoadProfile for the other -Dperf.* settings.
+ */
+public class LoadTest {
+
+    private final LoadProfile profile;
+    private final HttpClient client;
+    private final ExecutorService httpExecutor;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final SplittableRandom random;
+    private final String baseUrl;
+
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    // Bookings the cancel traffic can cancel: seeded ones first, then those created during the run
+    private final ConcurrentLinkedQueue<String> cancellable;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    LoadTest(LoadProfile profile, int port, List<String> seededBookings) {
+        this.profile = profile;
+        this.baseUrl = "http://localhost:" + port;
+        this.random = new SplittableRandom(profile.getSeed());
+        this.cancellable = new ConcurrentLinkedQueue<>(seededBookings);
+        this.httpExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofMillis(profile.getTimeoutMillis()))
+                .build();
+
+        Map<Operation, Integer> mix = profile.getMix();
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+            stats.put(operations[i], new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        System.out.println("Load profile: " + profile);
+
+        long seedStart = System.nanoTime();
+        List<String> bookings = new PerfFixtures(profile).seed();
+        System.out.printf("Seeded database in %d ms%n", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+        DropwizardTestSupport<RestConfiguration> app = new DropwizardTestSupport<>(RestApplication.class,
+                "perf-config.yml", new ResourceConfigurationSourceProvider(),
+                ConfigOverride.config("database.url", PerfFixtures.URL));
+        app.before();
+        try {
+            LoadTest test = new LoadTest(profile, app.getLocalPort(), bookings);
+            try {
+                test.run();
+                test.report(System.out);
+                test.writeHistograms();
+            } finally {
+                test.httpExecutor.shutdownNow();
+            }
+        } finally {
+            app.after();
+        }
+    }
+
+    void run() throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / profile.getRequestsPerSecond());
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(profile.getWarmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(profile.getDurationSeconds());
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * interval;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(pickOperation(), scheduled, scheduled >= measureFrom);
+        }
+
+        // let the last requests finish; they time out (and count as failed) after perf.timeoutMillis
+        long drainUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(profile.getTimeoutMillis() + 1_000L);
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Operation pickOperation() {
+        int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void send(Operation op, long scheduled, boolean measured) {
+        EndpointStats s = stats.get(op);
+        HttpRequest request = buildRequest(op);
+        if (request == null) {
+            if (measured) s.skipped.increment();
+            return;
+        }
+        // past this many outstanding requests the server is not keeping up; don't queue more in the client
+        if (inFlight.get() >= profile.getMaxInFlight()) {
+            if (measured) s.dropped.increment();
+            return;
+        }
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            inFlight.decrementAndGet();
+            if (measured) {
+                s.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled));
+                if (error != null) {
+                    s.failed.increment();
+                    if (s.firstFailure.compareAndSet(null, error)) {
+                        System.err.println("[PERF] " + op.getEndpoint() + " failed: " + error);
+                    }
+                } else if (!isExpectedStatus(op, response.statusCode())) {
+                    s.non2xx.increment();
+                }
+            }
+            if (error == null && op == Operation.CREATE_BOOKING && response.statusCode() == 201) {
+                rememberBooking(response.body());
+            }
+        });
+    }
+
+    private HttpRequest buildRequest(Operation op) {
+        int user = random.nextInt(profile.getUsers());
+        switch (op) {
+            case LOGIN:
+                return post("/users/login", String.format("{\"email\":\"%s\",\"password\":\"%s\"}",
+                        PerfFixtures.email(user), PerfFixtures.PASSWORD));
+            case LIST_CENTERS:
+                return get("/centers?limit=20&after=" + PerfFixtures.centerId(random.nextInt(profile.getCenters())));
+            case CREATE_BOOKING:
+                return post("/bookings", String.format("{\"userId\":\"%s\",\"slotId\":\"%s\"}",
+                        PerfFixtures.userId(user), PerfFixtures.slotId(random.nextInt(profile.getSlots()))));
+            case CANCEL_BOOKING:
+                // DELETE cancels through BookingService: the booking is marked CANCELLED, the seat
+                // is released and the slot's waitlist is promoted, rather than the row being removed
+                String bookingId = cancellable.poll();
+                return bookingId == null ? null : request("/bookings/" + bookingId).DELETE().build();
+            case USER_BOOKINGS:
+                return get("/bookings/user/" + PerfFixtures.userId(user));
+            default:
+                throw new IllegalStateException("Unhandled operation " + op);
+        }
+    }
+
+    // A cancel answers 204, or 404 when the service found nothing left to cancel; both are
+    // normal outcomes of the service-backed DELETE, so only other statuses count as non2xx
+    private static boolean isExpectedStatus(Operation op, int status) {
+        if (op == Operation.CANCEL_BOOKING) {
+            return status == 204 || status == 404;
+        }
+        return status / 100 == 2;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofMillis(profile.getTimeoutMillis()))
+                .header("Accept", "application/json");
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private void rememberBooking(String body) {
+        try {
+            JsonNode id = mapper.readTree(body).get("bookingId");
+            if (id != null) {
+                cancellable.add(id.asText());
+            }
+        } catch (IOException e) {
+            System.err.println("[PERF] Unreadable booking response: " + e.getMessage());
+        }
+    }
+
+    void report(PrintStream out) {
+        double seconds = profile.getDurationSeconds();
+        out.println();
+        out.printf("%-30s %9s %9s %7s %7s %7s %9s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "req/s",
+                "non2xx", "failed", "dropped", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms", "skipped");
+        Histogram all = new Histogram(3);
+        for (Map.Entry<Operation, EndpointStats> e : stats.entrySet()) {
+            EndpointStats s = e.getValue();
+            Histogram h = s.snapshot();
+            all.add(h);
+            printRow(out, e.getKey().getEndpoint(), h, seconds, s.non2xx.sum(), s.failed.sum(), s.dropped.sum(), s.skipped.sum());
+        }
+        long non2xx = stats.values().stream().mapToLong(s -> s.non2xx.sum()).sum();
+        long failed = stats.values().stream().mapToLong(s -> s.failed.sum()).sum();
+        long dropped = stats.values().stream().mapToLong(s -> s.dropped.sum()).sum();
+        long skipped = stats.values().stream().mapToLong(s -> s.skipped.sum()).sum();
+        printRow(out, "all", all, seconds, non2xx, failed, dropped, skipped);
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram h, double seconds,
+                                 long non2xx, long failed, long dropped, long skipped) {
+        out.printf("%-30s %9d %9.1f %7d %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %9d%n", name, h.getTotalCount(),
+                h.getTotalCount() / seconds, non2xx, failed, dropped,
+                millis(h, 50.0), millis(h, 95.0), millis(h, 99.0), millis(h, 99.9),
+                h.getTotalCount() == 0 ? 0.0 : h.getMaxValue() / 1000.0, skipped);
+    }
+
+    private static double millis(Histogram h, double percentile) {
+        return h.getTotalCount() == 0 ? 0.0 : h.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    // One .hgrm per endpoint (values in ms), loadable in the HdrHistogram plotter
+    void writeHistograms() throws IOException {
+        Path dir = Paths.get(profile.getOutputDir());
+        Files.createDirectories(dir);
+        for (Map.Entry<Operation, EndpointStats> e : stats.entrySet()) {
+            Path file = dir.resolve(e.getKey().getKey() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                e.getValue().snapshot().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.println("Latency distributions written to " + dir.toAbsolutePath());
+    }
+
+    // Latencies in microseconds; counts only cover requests scheduled after the warmup
+    private static final class EndpointStats {
+        private final Recorder latency = new Recorder(3);
+        private final LongAdder non2xx = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        private Histogram histogram;
+
+        // The recorder hands its values over once, so keep them for the report and the .hgrm file
+        private synchronized Histogram snapshot() {
+            if (histogram == null) {
+                histogram = latency.getIntervalHistogram();
+            }
+            return histogram;
+        }
+    }
+}
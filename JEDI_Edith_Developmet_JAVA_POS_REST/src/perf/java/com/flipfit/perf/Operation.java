@@ -0,0 +1,37 @@
+package com.flipfit.perf;
+
+/**
+ * The requests a load test can send, keyed by the name used in -Dperf.mix.
+ */
+public enum Operation {
+    LOGIN("login", "POST /users/login"),
+    LIST_CENTERS("centers", "GET /centers"),
+    CREATE_BOOKING("book", "POST /bookings"),
+    CANCEL_BOOKING("cancel", "DELETE /bookings/{id}"),
+    USER_BOOKINGS("bookings", "GET /bookings/user/{userId}");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation op : values()) {
+            if (op.key.equalsIgnoreCase(key)) {
+                return op;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "' in perf.mix");
+    }
+}
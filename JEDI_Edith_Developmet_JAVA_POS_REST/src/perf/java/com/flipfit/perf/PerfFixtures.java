@@ -0,0 +1,212 @@
+package com.flipfit.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the embedded database the load test runs against and fills it with
+ * customers, owners, centers, slots and confirmed bookings.
+ *
+ * IDs are derived from an index (userId(7), slotId(42), ...) so the traffic
+ * generator can address seeded rows without reading them back.
+ */
+public class PerfFixtures {
+
+    // Same database for the seeding connection and the server's pool; kept alive between connections
+    public static final String URL = "jdbc:h2:mem:flipfit_perf;MODE=MySQL;CASE_INSENSITIVE_IDENTIFIERS=TRUE;"
+            + "NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+
+    public static final String PASSWORD = "Perf12345";
+
+    private static final String[] CITIES = {"Bangalore", "Mumbai", "Delhi", "Hyderabad", "Chennai", "Pune"};
+    private static final int OWNERS = 50;
+    private static final int FIRST_HOUR = 5;
+    private static final int SLOTS_PER_DAY = 17;
+    private static final int BATCH_SIZE = 1_000;
+
+    private final LoadProfile profile;
+
+    public PerfFixtures(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    public static String userId(int i) {
+        return "PU" + i;
+    }
+
+    public static String email(int i) {
+        return "perf" + i + "@flipfit.test";
+    }
+
+    public static String centerId(int i) {
+        return "PC" + i;
+    }
+
+    public static String slotId(int i) {
+        return "PS" + i;
+    }
+
+    private static String ownerId(int i) {
+        return "PO" + i;
+    }
+
+    /**
+     * Creates the schema and loads the fixtures.
+     *
+     * @return IDs of the seeded bookings, for the cancel traffic to work through
+     */
+    public List<String> seed() throws SQLException, IOException {
+        try (Connection conn = DriverManager.getConnection(URL, "sa", "")) {
+            conn.setAutoCommit(false);
+            createSchema(conn);
+            insertUsers(conn);
+            insertCenters(conn);
+            int[] booked = new int[profile.getSlots()];
+            List<String> bookingIds = insertBookings(conn, booked);
+            insertSlots(conn, booked);
+            conn.commit();
+            return bookingIds;
+        }
+    }
+
+    private void createSchema(Connection conn) throws SQLException, IOException {
+        String ddl;
+        try (InputStream in = PerfFixtures.class.getResourceAsStream("/perf-schema.sql")) {
+            if (in == null) {
+                throw new IOException("perf-schema.sql not found on the classpath");
+            }
+            ddl = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : ddl.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!sql.isBlank()) {
+                    stmt.execute(sql);
+                }
+            }
+        }
+    }
+
+    private void insertUsers(Connection conn) throws SQLException {
+        String userSql = "INSERT INTO user (userID, name, email, password, phoneNumber, city, role) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String customerSql = "INSERT INTO gym_customer (registrationDate, isActive, userID) VALUES (?, 1, ?)";
+        String ownerSql = "INSERT INTO gym_owner (gstNumber, userID, panNumber, isVerified) VALUES (?, ?, ?, 1)";
+        Timestamp registered = Timestamp.valueOf(LocalDateTime.now().minusDays(30));
+        try (PreparedStatement users = conn.prepareStatement(userSql);
+             PreparedStatement customers = conn.prepareStatement(customerSql);
+             PreparedStatement owners = conn.prepareStatement(ownerSql)) {
+            for (int i = 0; i < profile.getUsers(); i++) {
+                bindUser(users, userId(i), "Perf Customer " + i, email(i), String.format("9%09d", i), "GYM_CUSTOMER");
+                customers.setTimestamp(1, registered);
+                customers.setString(2, userId(i));
+                customers.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    users.executeBatch();
+                    customers.executeBatch();
+                }
+            }
+            for (int i = 0; i < OWNERS; i++) {
+                bindUser(users, ownerId(i), "Perf Owner " + i, "owner" + i + "@flipfit.test", String.format("8%09d", i), "GYM_OWNER");
+                owners.setString(1, String.format("29PERF%05dF1Z5", i));
+                owners.setString(2, ownerId(i));
+                owners.setString(3, String.format("PERF%05dF", i));
+                owners.addBatch();
+            }
+            users.executeBatch();
+            customers.executeBatch();
+            owners.executeBatch();
+        }
+    }
+
+    private static void bindUser(PreparedStatement ps, String id, String name, String email, String phone, String role)
+            throws SQLException {
+        ps.setString(1, id);
+        ps.setString(2, name);
+        ps.setString(3, email);
+        ps.setString(4, PASSWORD);
+        ps.setString(5, phone);
+        ps.setString(6, CITIES[Math.floorMod(id.hashCode(), CITIES.length)]);
+        ps.setString(7, role);
+        ps.addBatch();
+    }
+
+    private void insertCenters(Connection conn) throws SQLException {
+        String sql = "INSERT INTO gym_center (centerID, name, address, cityID, ownerID, totalCapacity, isActive) VALUES (?, ?, ?, ?, ?, ?, 'true')";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < profile.getCenters(); i++) {
+                ps.setString(1, centerId(i));
+                ps.setString(2, "Perf Gym " + i);
+                ps.setString(3, i + " Load Street");
+                ps.setString(4, CITIES[i % CITIES.length]);
+                ps.setString(5, ownerId(i % OWNERS));
+                ps.setInt(6, profile.getSlotCapacity());
+                ps.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // Bookings go round-robin over users and slots; booked[] collects the per-slot counts
+    private List<String> insertBookings(Connection conn, int[] booked) throws SQLException {
+        String sql = "INSERT INTO booking (bookingID, userID, slotID, bookingDate, status) VALUES (?, ?, ?, ?, 'CONFIRMED')";
+        List<String> ids = new ArrayList<>(profile.getBookings());
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < profile.getBookings(); i++) {
+                int slot = i % booked.length;
+                String id = "PB" + i;
+                ps.setString(1, id);
+                ps.setString(2, userId(i % profile.getUsers()));
+                ps.setString(3, slotId(slot));
+                ps.setTimestamp(4, now);
+                ps.addBatch();
+                booked[slot]++;
+                ids.add(id);
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+        return ids;
+    }
+
+    // Hourly slots from 05:00 to 22:00 starting tomorrow, continuing on the following days
+    private void insertSlots(Connection conn, int[] booked) throws SQLException {
+        String sql = "INSERT INTO slot (slotID, centerID, slotDate, startTime, endTime, maxCapacity, currentBookings) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        int perCenter = profile.getSlotsPerCenter();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < booked.length; i++) {
+                int n = i % perCenter;
+                LocalDate day = firstDay.plusDays(n / SLOTS_PER_DAY);
+                LocalDateTime start = day.atTime(FIRST_HOUR + n % SLOTS_PER_DAY, 0);
+                ps.setString(1, slotId(i));
+                ps.setString(2, centerId(i / perCenter));
+                ps.setObject(3, day);
+                ps.setTimestamp(4, Timestamp.valueOf(start));
+                ps.setTimestamp(5, Timestamp.valueOf(start.plusHours(1)));
+                ps.setInt(6, profile.getSlotCapacity());
+                ps.setInt(7, booked[i]);
+                ps.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+}
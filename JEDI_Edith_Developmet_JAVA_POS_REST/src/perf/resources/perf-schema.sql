@@ -0,0 +1,109 @@
+-- flipfit_schema.sql in a form H2 (MODE=MySQL) accepts: no backticks, ENUM
+-- columns as varchar, and foreign keys left out so fixtures load in bulk.
+
+CREATE TABLE user (
+  userID varchar(16) NOT NULL PRIMARY KEY,
+  name varchar(45) NOT NULL,
+  email varchar(45) NOT NULL,
+  password varchar(45) NOT NULL,
+  phoneNumber varchar(45) NOT NULL,
+  city varchar(45) NOT NULL,
+  role varchar(16) NOT NULL
+);
+CREATE UNIQUE INDEX email_UNIQUE ON user (email);
+CREATE UNIQUE INDEX phoneNumber_UNIQUE ON user (phoneNumber);
+
+CREATE TABLE gym_customer (
+  id int NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  registrationDate datetime NOT NULL,
+  isActive tinyint NOT NULL,
+  userID varchar(45) NOT NULL
+);
+CREATE INDEX gym_customer_user ON gym_customer (userID);
+CREATE INDEX registrationDate ON gym_customer (registrationDate);
+
+CREATE TABLE gym_owner (
+  id int NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  gstNumber varchar(45) NOT NULL,
+  userID varchar(45) NOT NULL,
+  panNumber varchar(45) NOT NULL,
+  isVerified tinyint NOT NULL
+);
+CREATE UNIQUE INDEX panNumber_UNIQUE ON gym_owner (panNumber);
+CREATE INDEX gym_owner_user ON gym_owner (userID);
+
+CREATE TABLE gym_center (
+  centerID varchar(45) NOT NULL PRIMARY KEY,
+  name varchar(45) NOT NULL,
+  address varchar(45) NOT NULL,
+  cityID varchar(45) NOT NULL,
+  ownerID varchar(45) NOT NULL,
+  totalCapacity int NOT NULL,
+  isActive varchar(45) NOT NULL
+);
+CREATE INDEX gym_center_owner ON gym_center (ownerID);
+CREATE INDEX city_active ON gym_center (cityID, isActive);
+CREATE INDEX gym_center_active ON gym_center (isActive);
+
+CREATE TABLE slot (
+  slotID varchar(45) NOT NULL PRIMARY KEY,
+  centerID varchar(45) NOT NULL,
+  slotDate date NOT NULL,
+  startTime datetime NOT NULL,
+  endTime datetime NOT NULL,
+  maxCapacity int NOT NULL,
+  currentBookings int NOT NULL
+);
+CREATE INDEX center_date_start ON slot (centerID, slotDate, startTime);
+CREATE INDEX slotDate ON slot (slotDate);
+CREATE INDEX start_end ON slot (startTime, endTime);
+
+CREATE TABLE booking (
+  bookingID varchar(45) NOT NULL PRIMARY KEY,
+  userID varchar(45) NOT NULL,
+  slotID varchar(45) NOT NULL,
+  bookingDate datetime DEFAULT NULL,
+  status varchar(16) NOT NULL
+);
+CREATE INDEX booking_user ON booking (userID, status, slotID);
+CREATE INDEX booking_slot ON booking (slotID);
+CREATE INDEX booking_status ON booking (status);
+CREATE INDEX bookingDate ON booking (bookingDate);
+
+CREATE TABLE waitlist (
+  waitlistID varchar(45) NOT NULL PRIMARY KEY,
+  slotID varchar(45) NOT NULL,
+  userID varchar(45) NOT NULL,
+  position int NOT NULL,
+  createdAt datetime NOT NULL
+);
+CREATE UNIQUE INDEX slot_position ON waitlist (slotID, position);
+CREATE UNIQUE INDEX slot_user ON waitlist (slotID, userID);
+
+CREATE TABLE notification_outbox (
+  outboxID bigint NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  customerID varchar(45) NOT NULL,
+  message varchar(1000) NOT NULL,
+  createdAt datetime NOT NULL,
+  sentAt datetime DEFAULT NULL
+);
+CREATE INDEX pending ON notification_outbox (sentAt, outboxID);
+
+CREATE TABLE center_daily_stats (
+  centerID varchar(45) NOT NULL,
+  statDate date NOT NULL,
+  slots int NOT NULL,
+  seatCapacity int NOT NULL,
+  seatsBooked int NOT NULL,
+  bookings int NOT NULL,
+  cancellations int NOT NULL,
+  waitlisted int NOT NULL,
+  refreshedAt datetime NOT NULL,
+  PRIMARY KEY (centerID, statDate)
+);
+CREATE INDEX statDate ON center_daily_stats (statDate);
+
+CREATE TABLE customer_daily_stats (
+  statDate date NOT NULL PRIMARY KEY,
+  newCustomers int NOT NULL
+);
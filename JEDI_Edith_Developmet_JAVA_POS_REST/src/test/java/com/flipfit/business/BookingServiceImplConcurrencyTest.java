@@ -0,0 +1,202 @@
+package com.flipfit.business;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.Slot;
+import com.flipfit.dao.BookingDAOImpl;
+import com.flipfit.dao.SlotDAOImpl;
+import com.flipfit.exception.SlotFullException;
+import com.flipfit.utils.DBConnection;
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.apache.tomcat.jdbc.pool.PoolProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrent bookings and cancellations through BookingServiceImpl against
+ * an in-memory H2 database (MySQL mode), using the JDBC DAOs and the
+ * transactional paths unchanged.
+ */
+class BookingServiceImplConcurrencyTest {
+
+    private static final int THREADS = 32;
+    // booking attempts against one slot, far more than the pool has threads
+    private static final int ATTEMPTS = 5_000;
+
+    private DataSource dataSource;
+    private ExecutorService pool;
+    private BookingServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PoolProperties config = new PoolProperties();
+        config.setDriverClassName("org.h2.Driver");
+        config.setUrl("jdbc:h2:mem:booking-" + UUID.randomUUID()
+                + ";MODE=MySQL;CASE_INSENSITIVE_IDENTIFIERS=TRUE;LOCK_TIMEOUT=10000");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaxActive(THREADS + 4);
+        config.setMaxIdle(THREADS + 4);
+        config.setJmxEnabled(false);
+        dataSource = new DataSource(config);
+        runScript("/test-schema.sql");
+        DBConnection.useDataSource(dataSource);
+
+        pool = Executors.newFixedThreadPool(THREADS);
+        service = new BookingServiceImpl(new BookingDAOImpl(), new SlotDAOImpl(), (customerId, message) -> true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+        DBConnection.shutdownPool();
+        // the in-memory database goes away with its last connection
+        dataSource.close(true);
+    }
+
+    @Test
+    void concurrentBookingsFillSlotExactlyToCapacity() throws Exception {
+        // enough seats that a good share of the attempts go through the booking transaction
+        int capacity = 1_000;
+        String slotId = insertSlot(capacity);
+
+        List<Callable<Boolean>> bookers = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            String userId = "USR" + i;
+            bookers.add(() -> {
+                try {
+                    return service.reserveAndBook(userId, slotId) != null;
+                } catch (SlotFullException e) {
+                    return false;
+                }
+            });
+        }
+
+        long started = System.nanoTime();
+        List<Boolean> results = runTogether(bookers);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("reserveAndBook: %d attempts on %d threads in %.2f s (%.0f attempts/s)%n",
+                ATTEMPTS, THREADS, seconds, ATTEMPTS / seconds);
+
+        assertEquals(capacity, countTrue(results));
+        assertEquals(capacity, currentBookings(slotId));
+        assertEquals(capacity, confirmedBookings(slotId));
+        assertEquals(0, SlotCapacityLedger.getInstance().getRemainingSeats(slotId));
+    }
+
+    @Test
+    void concurrentCancelsOfOneBookingFreeOneSeat() throws Exception {
+        int capacity = 3;
+        String slotId = insertSlot(capacity);
+        Booking first = service.reserveAndBook("USR1", slotId);
+        assertNotNull(service.reserveAndBook("USR2", slotId));
+
+        List<Callable<Boolean>> cancellers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            cancellers.add(() -> service.cancelBooking(first.getBookingId()));
+        }
+
+        assertEquals(1, countTrue(runTogether(cancellers)));
+        assertEquals(1, currentBookings(slotId));
+        assertEquals(1, confirmedBookings(slotId));
+        assertEquals(2, SlotCapacityLedger.getInstance().getRemainingSeats(slotId));
+    }
+
+    /**
+     * Starts every task at the same moment and waits for all of them.
+     */
+    private List<Boolean> runTogether(List<Callable<Boolean>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (Callable<Boolean> task : tasks) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        List<Boolean> results = new ArrayList<>();
+        for (Future<Boolean> f : futures) {
+            results.add(f.get(30, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private static int countTrue(List<Boolean> results) {
+        int n = 0;
+        for (Boolean b : results) {
+            if (b) n++;
+        }
+        return n;
+    }
+
+    // a fresh slot ID per test, so the process-wide ledger has not seen it
+    private String insertSlot(int capacity) {
+        Slot slot = new Slot();
+        slot.setSlotId("SLT-" + UUID.randomUUID().toString().substring(0, 8));
+        slot.setCenterId("GYM1");
+        slot.setSlotDate(LocalDate.now().plusDays(1));
+        slot.setStartTime(LocalTime.of(7, 0));
+        slot.setEndTime(LocalTime.of(8, 0));
+        slot.setMaxCapacity(capacity);
+        slot.setCurrentBookings(0);
+        assertTrue(new SlotDAOImpl().addSlot(slot));
+        return slot.getSlotId();
+    }
+
+    private int currentBookings(String slotId) throws SQLException {
+        return queryInt("SELECT currentBookings FROM slot WHERE slotID = ?", slotId);
+    }
+
+    private int confirmedBookings(String slotId) throws SQLException {
+        return queryInt("SELECT COUNT(*) FROM booking WHERE slotID = ? AND status = 'CONFIRMED'", slotId);
+    }
+
+    private int queryInt(String sql, String arg) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, arg);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertTrue(rs.next());
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private void runScript(String resource) throws Exception {
+        String script;
+        try (InputStream in = getClass().getResourceAsStream(resource)) {
+            assertNotNull(in, "Missing " + resource + " on the test classpath");
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            for (String statement : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!statement.isBlank()) {
+                    stmt.execute(statement);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.flipfit.business;
+
+import com.flipfit.bean.Booking;
+import com.flipfit.bean.Slot;
+import com.flipfit.dao.BookingDAOImpl;
+import com.flipfit.dao.SlotDAOImpl;
+import com.flipfit.dao.WaitlistDAO;
+import com.flipfit.dao.WaitlistDAOImpl;
+import com.flipfit.utils.DBConnection;
+import org.apache.tomcat.jdbc.pool.DataSource;
+import org.apache.tomcat.jdbc.pool.PoolProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cancellations through BookingServiceImpl handing the freed seat to the
+ * slot's waitlist, against an in-memory H2 database (MySQL mode).
+ */
+class WaitlistPromotionPipelineTest {
+
+    private DataSource dataSource;
+    private BookingServiceImpl service;
+    private WaitlistDAO waitlistDAO;
+    private WaitlistPromotionPipeline pipeline;
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PoolProperties config = new PoolProperties();
+        config.setDriverClassName("org.h2.Driver");
+        config.setUrl("jdbc:h2:mem:promotion-" + UUID.randomUUID()
+                + ";MODE=MySQL;CASE_INSENSITIVE_IDENTIFIERS=TRUE;LOCK_TIMEOUT=10000");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setJmxEnabled(false);
+        dataSource = new DataSource(config);
+        runScript("/test-schema.sql");
+        DBConnection.useDataSource(dataSource);
+
+        INotificationProvider notifier = (customerId, message) -> sent.add(customerId + ": " + message);
+        waitlistDAO = new WaitlistDAOImpl();
+        waitlistDAO.rebuildCache();
+        service = new BookingServiceImpl(new BookingDAOImpl(), new SlotDAOImpl(), notifier);
+        pipeline = new WaitlistPromotionPipeline(waitlistDAO, new SlotDAOImpl(), new BookingDAOImpl(), notifier, 1, 8);
+        service.setPromotionPipeline(pipeline);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.shutdown(10, TimeUnit.SECONDS);
+        DBConnection.shutdownPool();
+        dataSource.close(true);
+    }
+
+    @Test
+    void cancellationPromotesTheHeadOfTheWaitlist() throws Exception {
+        String slotId = insertSlot(1);
+        Booking booked = service.reserveAndBook("USR1", slotId);
+        assertTrue(waitlistDAO.addUserToWaitlist(slotId, "USR2"));
+        assertTrue(waitlistDAO.addUserToWaitlist(slotId, "USR3"));
+
+        assertTrue(service.cancelBooking(booked.getBookingId()));
+        // lets the queued promotion finish
+        pipeline.shutdown(10, TimeUnit.SECONDS);
+
+        assertEquals(1, pipeline.getPromotedUsers());
+        assertEquals(1, queryInt("SELECT COUNT(*) FROM booking WHERE slotID = ? AND userID = 'USR2' AND status = 'CONFIRMED'", slotId));
+        assertEquals(1, queryInt("SELECT currentBookings FROM slot WHERE slotID = ?", slotId));
+        assertEquals(1, queryInt("SELECT COUNT(*) FROM waitlist WHERE slotID = ?", slotId));
+        assertEquals(1, waitlistDAO.getPosition(slotId, "USR3"));
+        assertEquals(0, SlotCapacityLedger.getInstance().getRemainingSeats(slotId));
+        assertTrue(sent.stream().anyMatch(m -> m.startsWith("USR2: ") && m.contains("PROMOTED")));
+    }
+
+    // a fresh slot ID per test, so the process-wide ledger and waitlist cache have not seen it
+    private String insertSlot(int capacity) {
+        Slot slot = new Slot();
+        slot.setSlotId("SLT-" + UUID.randomUUID().toString().substring(0, 8));
+        slot.setCenterId("GYM1");
+        slot.setSlotDate(LocalDate.now().plusDays(1));
+        slot.setStartTime(LocalTime.of(7, 0));
+        slot.setEndTime(LocalTime.of(8, 0));
+        slot.setMaxCapacity(capacity);
+        slot.setCurrentBookings(0);
+        assertTrue(new SlotDAOImpl().addSlot(slot));
+        return slot.getSlotId();
+    }
+
+    private int queryInt(String sql, String arg) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, arg);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertTrue(rs.next());
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private void runScript(String resource) throws Exception {
+        String script;
+        try (InputStream in = getClass().getResourceAsStream(resource)) {
+            assertNotNull(in, "Missing " + resource + " on the test classpath");
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            for (String statement : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                if (!statement.isBlank()) {
+                    stmt.execute(statement);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.flipfit.dao;
+
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Waitlist positions when several processes share the waitlist table.
+ * Each WaitlistJdbiDAO has its own cache, so two of them stand in for
+ * two server processes.
+ */
+class WaitlistJdbiDAOTest {
+
+    private static final String SLOT = "SLT1";
+
+    private Jdbi jdbi;
+    private Handle keepAlive;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbi = Jdbi.create("jdbc:h2:mem:waitlist-" + UUID.randomUUID()
+                + ";MODE=MySQL;CASE_INSENSITIVE_IDENTIFIERS=TRUE;LOCK_TIMEOUT=10000", "sa", "");
+        // the in-memory database lives as long as this handle
+        keepAlive = jdbi.open();
+        String script;
+        try (InputStream in = getClass().getResourceAsStream("/test-schema.sql")) {
+            assertNotNull(in, "Missing /test-schema.sql on the test classpath");
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        for (String statement : script.replaceAll("(?m)^--.*$", "").split(";")) {
+            if (!statement.isBlank()) {
+                keepAlive.execute(statement);
+            }
+        }
+        // a full slot, so users wait for it
+        keepAlive.execute("INSERT INTO slot VALUES ('" + SLOT + "', 'GYM1', CURRENT_DATE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 1, 1)");
+        pool = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+        keepAlive.close();
+    }
+
+    @Test
+    void processesSharingTheTableNeverReuseAPosition() throws Exception {
+        WaitlistDAO first = new WaitlistJdbiDAO(jdbi);
+        WaitlistDAO second = new WaitlistJdbiDAO(jdbi);
+        int users = 40;
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            WaitlistDAO dao = i % 2 == 0 ? first : second;
+            String userId = "USR" + i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                return dao.addUserToWaitlist(SLOT, userId);
+            }));
+        }
+        start.countDown();
+        for (Future<Boolean> f : futures) {
+            assertTrue(f.get(30, TimeUnit.SECONDS));
+        }
+
+        List<Integer> positions = jdbi.withHandle(handle -> handle
+                .createQuery("SELECT position FROM waitlist WHERE slotID = :slotId")
+                .bind("slotId", SLOT)
+                .mapTo(Integer.class)
+                .list());
+        assertEquals(users, positions.size());
+        assertEquals(users, new HashSet<>(positions).size());
+        assertEquals(users, first.getWaitlistSize(SLOT) + second.getWaitlistSize(SLOT));
+    }
+
+    @Test
+    void userAlreadyWaitingInAnotherProcessIsNotAddedTwice() {
+        WaitlistDAO first = new WaitlistJdbiDAO(jdbi);
+        WaitlistDAO second = new WaitlistJdbiDAO(jdbi);
+
+        assertTrue(first.addUserToWaitlist(SLOT, "USR1"));
+        assertFalse(second.addUserToWaitlist(SLOT, "USR1"));
+        assertTrue(second.addUserToWaitlist(SLOT, "USR2"));
+    }
+}
@@ -0,0 +1,33 @@
+-- The slot, booking and waitlist tables of flipfit_schema.sql, in a form H2
+-- (MODE=MySQL) accepts, for the tests.
+
+CREATE TABLE slot (
+  slotID varchar(45) NOT NULL PRIMARY KEY,
+  centerID varchar(45) NOT NULL,
+  slotDate date NOT NULL,
+  startTime datetime NOT NULL,
+  endTime datetime NOT NULL,
+  maxCapacity int NOT NULL,
+  currentBookings int NOT NULL
+);
+CREATE INDEX center_date_start ON slot (centerID, slotDate, startTime);
+
+CREATE TABLE booking (
+  bookingID varchar(45) NOT NULL PRIMARY KEY,
+  userID varchar(45) NOT NULL,
+  slotID varchar(45) NOT NULL,
+  bookingDate datetime DEFAULT NULL,
+  status varchar(16) NOT NULL
+);
+CREATE INDEX booking_user ON booking (userID, status, slotID);
+CREATE INDEX booking_slot ON booking (slotID);
+
+CREATE TABLE waitlist (
+  waitlistID varchar(45) NOT NULL PRIMARY KEY,
+  slotID varchar(45) NOT NULL,
+  userID varchar(45) NOT NULL,
+  position int NOT NULL,
+  createdAt datetime NOT NULL
+);
+CREATE UNIQUE INDEX slot_position ON waitlist (slotID, position);
+CREATE UNIQUE INDEX slot_user ON waitlist (slotID, userID);